@@ -0,0 +1,85 @@
+package com.ai.cre.benchmark;
+
+import java.io.File;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.ReasonerBackend;
+
+/**
+ * Shared setup of the benchmarks, i.e., loading of the ontologies provided in
+ * {@code resources/performance} and creation of the chosen reasoner
+ *
+ */
+public class BenchmarkOntologies {
+
+	/**
+	 * System property that may be used to specify the folder of the performance
+	 * ontologies if the benchmarks are not started from the project's root folder
+	 */
+	public static final String DIRECTORY_PROPERTY = "cre.performance.dir";
+
+	/**
+	 * File names of the ontologies in {@code resources/performance}, ordered by
+	 * size
+	 */
+	public static final String ONTOLOGY_1 = "1 - prepared_codinteraction-A.owl";
+	public static final String ONTOLOGY_2 = "2 - prepared_ore_ont_2608.owl";
+	public static final String ONTOLOGY_3 = "3 - prepared_ore_ont_4516.owl";
+	public static final String ONTOLOGY_4 = "4 - prepared_ore_ont_3313.owl";
+	public static final String ONTOLOGY_5 = "5 - prepared_hao-v2021-03-05.owl";
+	public static final String ONTOLOGY_6 = "6 - prepared_VO-v1.1.171.owl";
+
+	/**
+	 * The reasoners that can be used by the benchmarked {@link OntologyHandler}
+	 * and for classification
+	 */
+	public enum ReasonerChoice {
+		HERMIT, JFACT;
+
+		/**
+		 * Get the backend creating reasoners of this kind
+		 * 
+		 * @return A {@link ReasonerBackend}
+		 */
+		public ReasonerBackend getBackend() {
+			return this == HERMIT ? ReasonerBackend.HERMIT : ReasonerBackend.JFACT;
+		}
+	}
+
+	private BenchmarkOntologies() {
+	}
+
+	/**
+	 * Load one of the performance ontologies into a new ontology manager
+	 * 
+	 * @param fileName A {@link String} representing the name of a file in
+	 *                 {@code resources/performance}
+	 * @return An {@link OWLOntology}
+	 * @throws OWLOntologyCreationException if the ontology cannot be loaded
+	 */
+	public static OWLOntology load(String fileName) throws OWLOntologyCreationException {
+		File folder = new File(System.getProperty(DIRECTORY_PROPERTY, "resources/performance"));
+		return OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(new File(folder, fileName));
+	}
+
+	/**
+	 * Load one of the performance ontologies and create an
+	 * {@link OntologyHandler} for it based on the chosen reasoner
+	 * 
+	 * @param fileName A {@link String} representing the name of a file in
+	 *                 {@code resources/performance}
+	 * @param choice   A {@link ReasonerChoice}
+	 * @return An {@link OntologyHandler}
+	 * @throws OWLOntologyCreationException if the ontology cannot be loaded
+	 */
+	public static OntologyHandler createHandler(String fileName, ReasonerChoice choice)
+			throws OWLOntologyCreationException {
+		OWLOntology ontology = load(fileName);
+		return new OntologyHandler(ontology, choice.getBackend());
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.ai.cre.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import com.ai.cre.algo.PreparedOntology;
+import com.ai.cre.algo.RefExpRetrieval;
+import com.ai.cre.benchmark.BenchmarkOntologies.ReasonerChoice;
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.representation.ConceptReferringExpression;
+
+/**
+ * Benchmark of the construction of concept referring expressions (see
+ * {@code RefExpRetrieval.constructRefExpAnswers}) for the query TOP, where the
+ * query-independent structures are computed only once by
+ * {@link RefExpRetrieval#prepare} and thus are not part of the measurement
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ConstructionBenchmark {
+
+	@Param({ BenchmarkOntologies.ONTOLOGY_1, BenchmarkOntologies.ONTOLOGY_2, BenchmarkOntologies.ONTOLOGY_3,
+			BenchmarkOntologies.ONTOLOGY_4, BenchmarkOntologies.ONTOLOGY_5, BenchmarkOntologies.ONTOLOGY_6 })
+	public String ontology;
+
+	@Param({ "true", "false" })
+	public boolean sorting;
+
+	@Param({ "HERMIT", "JFACT" })
+	public ReasonerChoice reasoner;
+
+	private OntologyHandler handler;
+
+	private RefExpRetrieval retrieval;
+
+	private PreparedOntology prepared;
+
+	private OWLClassExpression query;
+
+	@Setup(Level.Trial)
+	public void setUp() throws OWLOntologyCreationException {
+		handler = BenchmarkOntologies.createHandler(ontology, reasoner);
+		retrieval = new RefExpRetrieval(sorting);
+		prepared = retrieval.prepare(handler);
+		query = handler.ontology.getOWLOntologyManager().getOWLDataFactory().getOWLThing();
+	}
+
+	@Setup(Level.Invocation)
+	public void clearCache() {
+		// measure the construction itself, not the lookup of cached entailments
+		handler.clearEntailmentCache();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		handler.dispose();
+	}
+
+	@Benchmark
+	public Collection<ConceptReferringExpression> construct() {
+		return retrieval.getInstanceReferringExpressions(prepared, query);
+	}
+
+}
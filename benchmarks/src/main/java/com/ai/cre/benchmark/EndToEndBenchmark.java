@@ -0,0 +1,71 @@
+package com.ai.cre.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import com.ai.cre.algo.RefExpRetrieval;
+import com.ai.cre.benchmark.BenchmarkOntologies.ReasonerChoice;
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.representation.ConceptReferringExpression;
+
+/**
+ * Benchmark of a complete run of the algorithm as done in
+ * {@link com.ai.cre.evaluation.RuntimeEvaluation}, i.e., creation of the
+ * reasoner, collection and sorting of the restrictions and construction of the
+ * referring expressions for the query TOP, on each ontology in
+ * {@code resources/performance}
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EndToEndBenchmark {
+
+	@Param({ BenchmarkOntologies.ONTOLOGY_1, BenchmarkOntologies.ONTOLOGY_2, BenchmarkOntologies.ONTOLOGY_3,
+			BenchmarkOntologies.ONTOLOGY_4, BenchmarkOntologies.ONTOLOGY_5, BenchmarkOntologies.ONTOLOGY_6 })
+	public String ontology;
+
+	@Param({ "true", "false" })
+	public boolean sorting;
+
+	@Param({ "HERMIT", "JFACT" })
+	public ReasonerChoice reasoner;
+
+	private OWLOntology loaded;
+
+	@Setup(Level.Trial)
+	public void setUp() throws OWLOntologyCreationException {
+		// parsing is not part of the measurement
+		loaded = BenchmarkOntologies.load(ontology);
+	}
+
+	@Benchmark
+	public Collection<ConceptReferringExpression> retrieve() {
+		OntologyHandler handler = new OntologyHandler(loaded, reasoner.getBackend());
+		try {
+			return new RefExpRetrieval(sorting).getInstanceReferringExpressions(handler,
+					loaded.getOWLOntologyManager().getOWLDataFactory().getOWLThing());
+		} finally {
+			handler.dispose();
+		}
+	}
+
+}
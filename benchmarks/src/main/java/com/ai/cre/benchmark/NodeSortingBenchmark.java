@@ -0,0 +1,99 @@
+package com.ai.cre.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import com.ai.cre.algo.NodeSorter;
+import com.ai.cre.benchmark.BenchmarkOntologies.ReasonerChoice;
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.RestrictionNodeCollection;
+import com.ai.cre.representation.ConceptNode;
+import com.ai.cre.representation.ConceptNodeSet;
+
+/**
+ * Benchmark comparing {@link NodeSorter#sortBySubsumptionUsingEnhancedTraversal}
+ * and {@link NodeSorter#sortBySubsumptionUsingClassification} on the
+ * restrictions of an ontology, i.e., the nodes sorted by
+ * {@link com.ai.cre.algo.RefExpRetrieval#getRestrictionNodes}
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NodeSortingBenchmark {
+
+	public enum SortingMethod {
+		ENHANCED_TRAVERSAL, CLASSIFICATION
+	}
+
+	@Param({ BenchmarkOntologies.ONTOLOGY_1, BenchmarkOntologies.ONTOLOGY_2, BenchmarkOntologies.ONTOLOGY_3,
+			BenchmarkOntologies.ONTOLOGY_4, BenchmarkOntologies.ONTOLOGY_5, BenchmarkOntologies.ONTOLOGY_6 })
+	public String ontology;
+
+	@Param({ "ENHANCED_TRAVERSAL", "CLASSIFICATION" })
+	public SortingMethod method;
+
+	@Param({ "HERMIT", "JFACT" })
+	public ReasonerChoice reasoner;
+
+	private OntologyHandler handler;
+
+	private RestrictionNodeCollection restNodeCol;
+
+	@Setup(Level.Trial)
+	public void setUp() throws OWLOntologyCreationException {
+		handler = BenchmarkOntologies.createHandler(ontology, reasoner);
+	}
+
+	@Setup(Level.Invocation)
+	public void createNodes() {
+		// sorting links the nodes, hence fresh (unsorted) nodes are needed for every
+		// run and cached subsumptions must not be reused
+		restNodeCol = handler.getPotentialRightSideRestrictionNodes();
+		handler.clearEntailmentCache();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		handler.dispose();
+	}
+
+	@Benchmark
+	public void sort(Blackhole blackhole) {
+		blackhole.consume(sort(new ConceptNodeSet<>(restNodeCol.exist_restrictions)));
+		for (ConceptNodeSet<OWLClassExpression> nodes : restNodeCol.univ_restrictions.values()) {
+			blackhole.consume(sort(new ConceptNodeSet<>(nodes)));
+		}
+	}
+
+	private <C extends OWLClassExpression> Set<ConceptNode<C>> sort(Set<ConceptNode<C>> nodes) {
+		if (nodes.size() < 2) {
+			return nodes;
+		}
+		if (method == SortingMethod.ENHANCED_TRAVERSAL) {
+			return NodeSorter.sortBySubsumptionUsingEnhancedTraversal(handler, nodes);
+		}
+		return NodeSorter.sortBySubsumptionUsingClassification(handler, nodes, reasoner == ReasonerChoice.HERMIT);
+	}
+
+}
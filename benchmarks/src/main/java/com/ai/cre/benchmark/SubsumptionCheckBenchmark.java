@@ -0,0 +1,94 @@
+package com.ai.cre.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import com.ai.cre.benchmark.BenchmarkOntologies.ReasonerChoice;
+import com.ai.cre.ontology.EntailmentCache.EvictionPolicy;
+import com.ai.cre.ontology.OntologyHandler;
+
+/**
+ * Benchmark of {@link OntologyHandler#checkIfSubClass} for a fixed sample of
+ * pairs of atomic concepts of the ontology, either answered by the reasoner
+ * alone or with the entailment cache enabled
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubsumptionCheckBenchmark {
+
+	/**
+	 * Number of concept pairs checked per benchmark invocation
+	 */
+	private static final int SAMPLE_SIZE = 256;
+
+	@Param({ BenchmarkOntologies.ONTOLOGY_1, BenchmarkOntologies.ONTOLOGY_2, BenchmarkOntologies.ONTOLOGY_3,
+			BenchmarkOntologies.ONTOLOGY_4, BenchmarkOntologies.ONTOLOGY_5, BenchmarkOntologies.ONTOLOGY_6 })
+	public String ontology;
+
+	@Param({ "HERMIT", "JFACT" })
+	public ReasonerChoice reasoner;
+
+	@Param({ "false", "true" })
+	public boolean cached;
+
+	private OntologyHandler handler;
+
+	private OWLClassExpression[] subs;
+
+	private OWLClassExpression[] supers;
+
+	@Setup(Level.Trial)
+	public void setUp() throws OWLOntologyCreationException {
+		handler = BenchmarkOntologies.createHandler(ontology, reasoner);
+		if (!cached) {
+			handler.setEntailmentCache(0, EvictionPolicy.LRU);
+		}
+		// use the same pairs for every run
+		List<OWLClass> classes = handler.ontology.classesInSignature().sorted().collect(Collectors.toList());
+		Random random = new Random(42);
+		subs = new OWLClassExpression[SAMPLE_SIZE];
+		supers = new OWLClassExpression[SAMPLE_SIZE];
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			subs[i] = classes.get(random.nextInt(classes.size()));
+			supers[i] = classes.get(random.nextInt(classes.size()));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		handler.dispose();
+	}
+
+	@Benchmark
+	public void checkIfSubClass(Blackhole blackhole) {
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			blackhole.consume(handler.checkIfSubClass(subs[i], supers[i]));
+		}
+	}
+
+}
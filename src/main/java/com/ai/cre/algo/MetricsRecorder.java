@@ -0,0 +1,136 @@
+package com.ai.cre.algo;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.ai.cre.evaluation.PhaseMetrics;
+import com.ai.cre.evaluation.RetrievalListener;
+import com.ai.cre.evaluation.RetrievalMetrics;
+import com.ai.cre.evaluation.RetrievalPhase;
+import com.ai.cre.ontology.EntailmentCache;
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.representation.ConceptReferringExpression;
+
+/**
+ * Records the {@link PhaseMetrics} of one run of {@link RefExpRetrieval} and
+ * reports them to a {@link RetrievalListener}. The instance {@link #DISABLED}
+ * is used if no listener is set, for which every method returns immediately.
+ *
+ */
+class MetricsRecorder {
+
+	/**
+	 * A recorder that does not record anything
+	 */
+	static final MetricsRecorder DISABLED = new MetricsRecorder(null, null);
+
+	private final RetrievalListener listener;
+
+	private final OntologyHandler ontologyHandler;
+
+	private final EnumMap<RetrievalPhase, PhaseMetrics> phases = new EnumMap<>(RetrievalPhase.class);
+
+	/**
+	 * state of the current phase when it was started
+	 */
+	private RetrievalPhase phase;
+	private long start;
+	private long startCalls;
+	private long startHits;
+
+	/**
+	 * counters updated by (possibly several) construction threads
+	 */
+	private final AtomicInteger maxDepth = new AtomicInteger();
+	private final LongAdder answers = new LongAdder();
+
+	/**
+	 * 
+	 * @param listener        A {@link RetrievalListener} receiving the metrics
+	 * @param ontologyHandler The {@link OntologyHandler} used for the run
+	 */
+	MetricsRecorder(RetrievalListener listener, OntologyHandler ontologyHandler) {
+		this.listener = listener;
+		this.ontologyHandler = ontologyHandler;
+	}
+
+	/**
+	 * Start measuring a phase
+	 * 
+	 * @param phase A {@link RetrievalPhase}
+	 */
+	void startPhase(RetrievalPhase phase) {
+		if (listener == null) {
+			return;
+		}
+		listener.phaseStarted(phase);
+		this.phase = phase;
+		maxDepth.set(0);
+		answers.reset();
+		startCalls = ontologyHandler.getReasonerCallCount();
+		startHits = getCacheHits();
+		start = System.nanoTime();
+	}
+
+	/**
+	 * Stop measuring the current phase and report its metrics
+	 */
+	void finishPhase() {
+		if (listener == null) {
+			return;
+		}
+		PhaseMetrics metrics = new PhaseMetrics(phase, System.nanoTime() - start,
+				ontologyHandler.getReasonerCallCount() - startCalls, getCacheHits() - startHits, maxDepth.get(),
+				answers.sum());
+		phases.merge(phase, metrics, PhaseMetrics::combine);
+		listener.phaseFinished(metrics);
+	}
+
+	/**
+	 * Report the metrics of all phases of the run
+	 */
+	void finishRun() {
+		if (listener == null) {
+			return;
+		}
+		listener.runFinished(new RetrievalMetrics(phases));
+	}
+
+	/**
+	 * Record the length of a (partial) referring expression that is processed
+	 * 
+	 * @param depth An {@code int} value
+	 */
+	void recordDepth(int depth) {
+		if (listener == null) {
+			return;
+		}
+		maxDepth.accumulateAndGet(depth, Math::max);
+	}
+
+	/**
+	 * Wrap a {@link Consumer} such that the referring expressions passed to it are
+	 * counted
+	 * 
+	 * @param sink A {@link Consumer} for {@link ConceptReferringExpression} objects
+	 * @return {@code sink} itself if nothing is recorded, else a counting
+	 *         {@link Consumer}
+	 */
+	Consumer<ConceptReferringExpression> counting(Consumer<ConceptReferringExpression> sink) {
+		if (listener == null) {
+			return sink;
+		}
+		return cre -> {
+			answers.increment();
+			sink.accept(cre);
+		};
+	}
+
+	private long getCacheHits() {
+		EntailmentCache cache = ontologyHandler.getEntailmentCache();
+		return cache == null ? 0 : cache.getHitCount();
+	}
+
+}
@@ -1,39 +1,38 @@
 package com.ai.cre.algo;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.semanticweb.HermiT.Configuration;
-import org.semanticweb.HermiT.Reasoner;
 import org.semanticweb.owlapi.apibinding.OWLManager;
-import org.semanticweb.owlapi.formats.*;
-import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.OWLProperty;
 import org.semanticweb.owlapi.reasoner.InferenceType;
 import org.semanticweb.owlapi.reasoner.Node;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 
+import com.ai.cre.ontology.AtomicConceptReplacer;
+import com.ai.cre.ontology.ConceptNodeSorter;
+import com.ai.cre.ontology.MostSpecificConceptSet;
 import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.ReasonerBackend;
+import com.ai.cre.ontology.ReasonerPhase;
+import com.ai.cre.ontology.RestrictionNodeCollection;
 import com.ai.cre.representation.ConceptNode;
 import com.ai.cre.representation.ConceptNodeSet;
 
-import uk.ac.manchester.cs.jfact.JFactFactory;
-
 /**
  * Providing methods to create a sorted subsumption hierarchy for concepts
  * represented by {@link ConceptNode} instances
@@ -41,9 +40,18 @@ import uk.ac.manchester.cs.jfact.JFactFactory;
  */
 public class NodeSorter {
 
-	static OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	// concurrent manager, since several sorts may create temporary ontologies at
+	// the same time
+	static OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
 	static OWLDataFactory factory = manager.getOWLDataFactory();
 
+	/**
+	 * Strategy applying {@link #sortBySubsumption}, e.g. for the nodes an
+	 * {@link OntologyHandler} creates itself (see
+	 * {@link OntologyHandler#setNodeSorter})
+	 */
+	public static final ConceptNodeSorter SUBSUMPTION_SORTER = NodeSorter::sortBySubsumption;
+
 	/**
 	 * Sort a set of concepts given as nodes w.r.t. their subsumption relations in a
 	 * given ontology, such that a sub-concept is placed underneath its
@@ -227,9 +235,10 @@ public class NodeSorter {
 	}
 
 	/**
-	 * Use classification performed by a reasoner (HermiT for sets < 1000, else
-	 * JFact) in order to sort a set of concepts given as nodes w.r.t. their
-	 * subsumption relations in a given ontology
+	 * Use classification performed by a reasoner (the backend chosen for
+	 * {@link ReasonerPhase#CLASSIFICATION} by {@code ontoHandler}, else HermiT
+	 * for sets < 1000 and JFact otherwise) in order to sort a set of concepts
+	 * given as nodes w.r.t. their subsumption relations in a given ontology
 	 * 
 	 * @param <C>         A subclass of {@link OWLClassExpression} defining the type
 	 *                    of concepts represented by the nodes
@@ -244,13 +253,8 @@ public class NodeSorter {
 	 */
 	public static <C extends OWLClassExpression> Set<ConceptNode<C>> sortBySubsumptionUsingClassification(
 			OntologyHandler ontoHandler, Set<ConceptNode<C>> nodes) {
-		// for smaller ontologies, HermiT reasoner is faster but for some,
-		// especially larger ontologies, JFact is quite a lot faster
-		boolean useHermit = true;
-		if (nodes.size() > 1000) {
-			useHermit = false;
-		}
-		return sortBySubsumptionUsingClassification(ontoHandler, nodes, useHermit);
+		return sortBySubsumptionUsingClassification(ontoHandler, nodes,
+				getClassificationBackend(ontoHandler, nodes.size()));
 	}
 
 	/**
@@ -272,166 +276,384 @@ public class NodeSorter {
 	 */
 	public static <C extends OWLClassExpression> Set<ConceptNode<C>> sortBySubsumptionUsingClassification(
 			OntologyHandler ontoHandler, Set<ConceptNode<C>> nodes, boolean useHermit) {
+		return sortBySubsumptionUsingClassification(ontoHandler, nodes,
+				useHermit ? ReasonerBackend.HERMIT : ReasonerBackend.JFACT);
+	}
+
+	/**
+	 * Use classification performed by a reasoner of the given backend in order to
+	 * sort a set of concepts given as nodes w.r.t. their subsumption relations in
+	 * a given ontology. If some axiom of the ontology cannot be translated by the
+	 * {@link AtomicConceptReplacer} or the TBox contains nominals (see
+	 * {@link AtomicConceptReplacer#isFullyReplaceable}), the classification could
+	 * miss subsumptions, hence the Enhanced Traversal Method is applied instead.
+	 * 
+	 * @param <C>         A subclass of {@link OWLClassExpression} defining the type
+	 *                    of concepts represented by the nodes
+	 * @param ontoHandler An {@link OntologyHandler} instance for an (Horn-ALC)
+	 *                    ontology that contains the concepts represented by the
+	 *                    related nodes
+	 * @param nodes       A {@link Set} of {@link ConceptNode} elements representing
+	 *                    concepts of type {@code C} that shall be sorted
+	 * @param backend     The {@link ReasonerBackend} used for classification
+	 * @return A {@link Set} of {@link ConceptNode} objects that represent the top
+	 *         nodes in the created subsumption order, i.e., they do not have any
+	 *         super-concepts among the other nodes
+	 */
+	public static <C extends OWLClassExpression> Set<ConceptNode<C>> sortBySubsumptionUsingClassification(
+			OntologyHandler ontoHandler, Set<ConceptNode<C>> nodes, ReasonerBackend backend) {
+		/*
+		 * general idea: replace old atomic concepts A by existential restrictions
+		 * ∃A.(TOP) such that only new atoms are considered for classification
+		 */
+		AtomicConceptReplacer replacer = new AtomicConceptReplacer(factory);
+		if (!replacer.isFullyReplaceable(ontoHandler.ontology)) {
+			return sortBySubsumptionUsingEnhancedTraversal(ontoHandler, nodes);
+		}
 		Set<ConceptNode<C>> sorted_nodes = new ConceptNodeSet<>();
+		OWLOntology new_ontology = null;
+		OWLReasoner reasoner = null;
 		try {
-			// create copy of ontology
-			OWLOntology new_ontology = manager.createOntology();
-			manager.addAxioms(new_ontology, ontoHandler.ontology.axioms());
+			new_ontology = createClassificationOntology(ontoHandler, replacer);
 
 			// hash map to link new atoms to its associated node
-			HashMap<String, ConceptNode<C>> atom_node_map = new HashMap<>();
-			int count = 0;
+			HashMap<OWLClass, ConceptNode<C>> atom_node_map = new HashMap<>();
 			for (ConceptNode<C> n : nodes) {
-				// create new atomic concept
-				String atom_string = "ATOMIC" + count;
-				OWLClass atom = factory.getOWLClass(atom_string);
-				// check if concept name is already taken
-				while (new_ontology.containsClassInSignature(atom.getIRI())) {
-					atom_string = "ATOMIC-" + new Random().nextInt();
-					atom = factory.getOWLClass(atom_string);
-				}
-
-				// add equivalent axiom for new atomic concept and node's concept
-				manager.addAxiom(new_ontology, factory.getOWLEquivalentClassesAxiom(atom, n.getConcept()));
-				// save connection between new atom and concept
-				atom_node_map.put(atom_string, n);
-				count++;
+				atom_node_map.put(addAtom(ontoHandler, new_ontology, replacer, n.getConcept(), atom_node_map.size()), n);
 			}
 
-			/*
-			 * general idea: replace old atomic concepts by complex ones such that only new
-			 * atoms are considered for classification
-			 */
-			// save extended ontology to file
-			String saved_ontology_path = "extended_tmp.owl";
-			IRI iri = IRI.create(new File(saved_ontology_path).getAbsoluteFile().toURI());
-			manager.saveOntology(new_ontology, new FunctionalSyntaxDocumentFormat(), iri);
-
-			// replace every old atomic concept A by a new existential restriction ∃A.(TOP)
-			// such that A is not considered for classification
-			HashMap<String, String> old_atom_string_map = new HashMap<>();
-			for (OWLClass old_atom : ontoHandler.ontology.classesInSignature().collect(Collectors.toSet())) {
-				String old_string = "<" + old_atom.getIRI().getIRIString() + ">";
-				old_atom_string_map.put(old_string, "ObjectSomeValuesFrom(" + old_string + " owl:Thing)");
-			}
+			// perform classification
+			reasoner = classify(new_ontology, backend);
+			sorted_nodes = getDirectSubNodes(factory.getOWLThing(), atom_node_map, reasoner, ontoHandler,
+					new HashMap<>());
 
-			Path path = Paths.get(saved_ontology_path);
-			List<String> old_lines = Files.readAllLines(path);
-			List<String> new_lines = new LinkedList<>();
-			for (String line : old_lines) {
-				if (line.startsWith("Declaration(Class(<")) {
-					String atom_string = line.substring(line.indexOf("<"), line.indexOf(">") + 1);
-					String new_string = old_atom_string_map.get(atom_string);
-					if (new_string != null) {
-						// define old atom as new role
-						line = line.replace("Declaration(Class(" + atom_string,
-								"Declaration(ObjectProperty(" + atom_string);
-					}
-					new_lines.add(line);
-
-				} else if (line.startsWith("Sub") || line.startsWith("Equ")) {
-					// get all atomic concepts (and roles)
-					Set<String> atomic_concepts = new HashSet<>();
-					int start = line.indexOf("<");
-					int end = line.indexOf(">", start) + 1;
-					while (end < line.length() && start != -1) {
-						atomic_concepts.add(line.substring(start, end));
-						start = line.indexOf("<", end + 1);
-						end = line.indexOf(">", start) + 1;
-					}
+		} catch (Exception e) {
+			e.printStackTrace();
+		} finally {
+			dispose(new_ontology, reasoner);
+		}
 
-					// replace old atomic concepts if present
-					for (String atom : atomic_concepts) {
-						String new_string = old_atom_string_map.get(atom);
-						if (new_string != null) {
-							line = line.replace(atom, new_string);
-						}
-					}
-					new_lines.add(line);
+		if (sorted_nodes.isEmpty()) {
+			return nodes;
+		} else {
+			return sorted_nodes;
+		}
+	}
+
+	/**
+	 * Sort the existential restrictions as well as the inner concepts of the
+	 * universal restrictions for every role of a {@link RestrictionNodeCollection}
+	 * by means of a single classification (performed by the backend chosen for
+	 * {@link ReasonerPhase#CLASSIFICATION} by {@code ontoHandler}, else by HermiT
+	 * for less than 1000 nodes and by JFact otherwise), instead of one
+	 * classification for each of these collections
+	 * 
+	 * @param ontoHandler An {@link OntologyHandler} instance for an (Horn-ALC)
+	 *                    ontology that contains the concepts represented by the
+	 *                    related nodes
+	 * @param restNodeCol A {@link RestrictionNodeCollection} whose collections are
+	 *                    replaced by the top nodes of their sorted hierarchies
+	 */
+	public static void sortAllBySubsumptionUsingClassification(OntologyHandler ontoHandler,
+			RestrictionNodeCollection restNodeCol) {
+		int size = restNodeCol.exist_restrictions.size();
+		for (ConceptNodeSet<OWLClassExpression> nodes : restNodeCol.univ_restrictions.values()) {
+			size += nodes.size();
+		}
+		sortAllBySubsumptionUsingClassification(ontoHandler, restNodeCol,
+				getClassificationBackend(ontoHandler, size));
+	}
+
+	/**
+	 * Sort the existential restrictions as well as the inner concepts of the
+	 * universal restrictions for every role of a {@link RestrictionNodeCollection}
+	 * by means of a single classification: a new atomic concept is introduced for
+	 * every node of every collection, the extended ontology is classified once and
+	 * the resulting taxonomy is split into the separate hierarchies afterwards
+	 * 
+	 * @param ontoHandler An {@link OntologyHandler} instance for an (Horn-ALC)
+	 *                    ontology that contains the concepts represented by the
+	 *                    related nodes
+	 * @param restNodeCol A {@link RestrictionNodeCollection} whose collections are
+	 *                    replaced by the top nodes of their sorted hierarchies
+	 * @param useHermit   A {@code boolean} stating if Hermit or otherwise JFact
+	 *                    shall be used as reasoner
+	 */
+	public static void sortAllBySubsumptionUsingClassification(OntologyHandler ontoHandler,
+			RestrictionNodeCollection restNodeCol, boolean useHermit) {
+		sortAllBySubsumptionUsingClassification(ontoHandler, restNodeCol,
+				useHermit ? ReasonerBackend.HERMIT : ReasonerBackend.JFACT);
+	}
 
-				} else if (line.startsWith("Prefix") || line.startsWith("Ontology(")) {
-					new_lines.add(line);
+	/**
+	 * Sort the existential restrictions as well as the inner concepts of the
+	 * universal restrictions for every role of a {@link RestrictionNodeCollection}
+	 * by means of a single classification performed by a reasoner of the given
+	 * backend, where each collection is sorted by the Enhanced Traversal Method
+	 * instead if the ontology is not fully replaceable (see
+	 * {@link #sortBySubsumptionUsingClassification(OntologyHandler, Set, ReasonerBackend)})
+	 * 
+	 * @param ontoHandler An {@link OntologyHandler} instance for an (Horn-ALC)
+	 *                    ontology that contains the concepts represented by the
+	 *                    related nodes
+	 * @param restNodeCol A {@link RestrictionNodeCollection} whose collections are
+	 *                    replaced by the top nodes of their sorted hierarchies
+	 * @param backend     The {@link ReasonerBackend} used for classification
+	 */
+	public static void sortAllBySubsumptionUsingClassification(OntologyHandler ontoHandler,
+			RestrictionNodeCollection restNodeCol, ReasonerBackend backend) {
+		AtomicConceptReplacer replacer = new AtomicConceptReplacer(factory);
+		if (!replacer.isFullyReplaceable(ontoHandler.ontology)) {
+			restNodeCol.exist_restrictions = new ConceptNodeSet<>(
+					sortBySubsumptionUsingEnhancedTraversal(ontoHandler, restNodeCol.exist_restrictions));
+			restNodeCol.univ_restrictions.replaceAll((role, nodes) -> new ConceptNodeSet<>(
+					sortBySubsumptionUsingEnhancedTraversal(ontoHandler, nodes)));
+			return;
+		}
+		OWLOntology new_ontology = null;
+		OWLReasoner reasoner = null;
+		try {
+			new_ontology = createClassificationOntology(ontoHandler, replacer);
+
+			// introduce atoms for existential restrictions
+			int count = 0;
+			HashMap<OWLClass, ConceptNode<OWLObjectSomeValuesFrom>> exist_atoms = new HashMap<>();
+			for (ConceptNode<OWLObjectSomeValuesFrom> n : restNodeCol.exist_restrictions) {
+				exist_atoms.put(addAtom(ontoHandler, new_ontology, replacer, n.getConcept(), count++), n);
+			}
+			// introduce atoms for inner concepts of universal restrictions of each role
+			HashMap<OWLProperty, HashMap<OWLClass, ConceptNode<OWLClassExpression>>> univ_atoms = new HashMap<>();
+			for (Entry<OWLProperty, ConceptNodeSet<OWLClassExpression>> entry : restNodeCol.univ_restrictions
+					.entrySet()) {
+				HashMap<OWLClass, ConceptNode<OWLClassExpression>> atoms = new HashMap<>();
+				for (ConceptNode<OWLClassExpression> n : entry.getValue()) {
+					atoms.put(addAtom(ontoHandler, new_ontology, replacer, n.getConcept(), count++), n);
 				}
+				univ_atoms.put(entry.getKey(), atoms);
+			}
+
+			// perform classification only once
+			reasoner = classify(new_ontology, backend);
+
+			// split taxonomy into separate hierarchies
+			ConceptNodeSet<OWLObjectSomeValuesFrom> sorted_exist = getDirectSubNodes(factory.getOWLThing(),
+					exist_atoms, reasoner, ontoHandler, new HashMap<>());
+			if (!sorted_exist.isEmpty()) {
+				restNodeCol.exist_restrictions = sorted_exist;
 			}
-			// add concluding parenthesis
-			new_lines.add(")");
-			Files.write(path, new_lines);
-
-			// select reasoner
-			OWLReasoner reasoner;
-			if (useHermit) {
-				reasoner = new Reasoner(new Configuration(),
-						manager.loadOntologyFromOntologyDocument(new File(saved_ontology_path)));
-
-			} else {
-				reasoner = new JFactFactory()
-						.createReasoner(manager.loadOntologyFromOntologyDocument(new File(saved_ontology_path)));
+			for (Entry<OWLProperty, HashMap<OWLClass, ConceptNode<OWLClassExpression>>> entry : univ_atoms
+					.entrySet()) {
+				ConceptNodeSet<OWLClassExpression> sorted_univ = getDirectSubNodes(factory.getOWLThing(),
+						entry.getValue(), reasoner, ontoHandler, new HashMap<>());
+				if (!sorted_univ.isEmpty()) {
+					restNodeCol.univ_restrictions.put(entry.getKey(), sorted_univ);
+				}
 			}
-			// perform classification
-			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
-			sorted_nodes = getDirectSubNodes(factory.getOWLThing(), atom_node_map, reasoner, ontoHandler);
 
 		} catch (Exception e) {
 			e.printStackTrace();
+		} finally {
+			dispose(new_ontology, reasoner);
 		}
+	}
 
-		if (sorted_nodes.isEmpty()) {
-			return nodes;
-		} else {
-			return sorted_nodes;
+	/**
+	 * Create a new ontology containing the concept inclusions and equivalences of
+	 * a given ontology with every atomic concept {@code A} replaced by
+	 * {@code ∃A.(TOP)}, such that only newly introduced atoms are considered for
+	 * classification
+	 * 
+	 * @param ontoHandler An {@link OntologyHandler}
+	 * @param replacer    An {@link AtomicConceptReplacer}
+	 * @return An {@link OWLOntology} managed by {@link #manager}
+	 * @throws OWLOntologyCreationException
+	 */
+	private static OWLOntology createClassificationOntology(OntologyHandler ontoHandler,
+			AtomicConceptReplacer replacer) throws OWLOntologyCreationException {
+		OWLOntology new_ontology = manager.createOntology();
+		manager.addAxioms(new_ontology, replacer.getReplacedAxioms(ontoHandler.ontology).stream());
+		return new_ontology;
+	}
+
+	/**
+	 * Introduce a new atomic concept that is equivalent to a given concept (with
+	 * replaced atomic concepts)
+	 * 
+	 * @param ontoHandler  An {@link OntologyHandler} representing the original
+	 *                     ontology
+	 * @param new_ontology An {@link OWLOntology} created by
+	 *                     {@link #createClassificationOntology}
+	 * @param replacer     An {@link AtomicConceptReplacer}
+	 * @param concept      An {@link OWLClassExpression}
+	 * @param count        An {@code int} used to name the new atom
+	 * @return The new {@link OWLClass}
+	 */
+	private static OWLClass addAtom(OntologyHandler ontoHandler, OWLOntology new_ontology,
+			AtomicConceptReplacer replacer, OWLClassExpression concept, int count) {
+		// create new atomic concept
+		OWLClass atom = factory.getOWLClass("ATOMIC" + count);
+		// check if concept name is already taken
+		while (ontoHandler.ontology.containsClassInSignature(atom.getIRI())) {
+			atom = factory.getOWLClass("ATOMIC-" + new Random().nextInt());
+		}
+		// add equivalent axiom for new atomic concept and (replaced) concept
+		manager.addAxiom(new_ontology, factory.getOWLEquivalentClassesAxiom(atom, concept.accept(replacer)));
+		return atom;
+	}
+
+	/**
+	 * Get the backend used to classify a given number of concepts, i.e., the one
+	 * chosen for {@link ReasonerPhase#CLASSIFICATION} by the handler or otherwise
+	 * HermiT for up to 1000 concepts and JFact for more
+	 * 
+	 * @param ontoHandler An {@link OntologyHandler}
+	 * @param size        An {@code int} stating the number of concepts
+	 * @return A {@link ReasonerBackend}
+	 */
+	private static ReasonerBackend getClassificationBackend(OntologyHandler ontoHandler, int size) {
+		ReasonerBackend backend = ontoHandler.getReasonerBackend(ReasonerPhase.CLASSIFICATION);
+		if (backend != null) {
+			return backend;
+		}
+		// for smaller ontologies, HermiT reasoner is faster but for some,
+		// especially larger ontologies, JFact is quite a lot faster
+		return size > 1000 ? ReasonerBackend.JFACT : ReasonerBackend.HERMIT;
+	}
+
+	/**
+	 * Compute the class hierarchy of an ontology
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 * @param backend  The {@link ReasonerBackend} used for classification
+	 * @return An {@link OWLReasoner} with precomputed class hierarchy
+	 */
+	private static OWLReasoner classify(OWLOntology ontology, ReasonerBackend backend) {
+		OWLReasoner reasoner = backend.createReasoner(ontology);
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+		return reasoner;
+	}
+
+	/**
+	 * Release a temporary ontology and its reasoner
+	 * 
+	 * @param ontology An {@link OWLOntology} or {@code null}
+	 * @param reasoner An {@link OWLReasoner} or {@code null}
+	 */
+	private static void dispose(OWLOntology ontology, OWLReasoner reasoner) {
+		if (reasoner != null) {
+			reasoner.dispose();
+		}
+		if (ontology != null) {
+			manager.removeOntology(ontology);
 		}
 	}
 
 	/**
 	 * Get the {@link ConceptNode} objects linked by a map to the direct
 	 * sub-concepts of a given atomic concept based on a subsumption hierarchy
-	 * precomputed by a related reasoner
+	 * precomputed by a related reasoner, where atoms that are not part of the map
+	 * are skipped, i.e., their sub-concepts are considered instead
 	 * 
 	 * @param <C>           the concept type occurring in the {@link ConceptNode}
 	 *                      elements of the hash map
 	 * @param super_class   A {@link OWLClass} for which the sub-concepts are
 	 *                      considered
-	 * @param atom_node_map A {@link HashMap} connecting {@link String}
-	 *                      representations of atomic concepts to
+	 * @param atom_node_map A {@link HashMap} connecting atomic concepts to
 	 *                      {@link ConceptNode} objects
 	 * @param reasoner      A {@link OWLReasoner} with a precomputed hierarchy of
 	 *                      the atomic concepts used in {@code atom_node_map}
 	 * @param ontoHandler   An {@link OntologyHandler} instance for an (Horn-ALC)
 	 *                      ontology that contains the concepts represented by the
 	 *                      related nodes
+	 * @param processed     A {@link HashMap} storing the nodes whose sub-nodes have
+	 *                      already been determined, accessible by their atoms
 	 * @return A {@link ConceptNodeSet} containing the nodes mapped to the
 	 *         sub-concepts of {@code super_class}
 	 */
 	private static <C extends OWLClassExpression> ConceptNodeSet<C> getDirectSubNodes(OWLClass super_class,
-			HashMap<String, ConceptNode<C>> atom_node_map, OWLReasoner reasoner, OntologyHandler ontoHandler) {
+			HashMap<OWLClass, ConceptNode<C>> atom_node_map, OWLReasoner reasoner, OntologyHandler ontoHandler,
+			HashMap<OWLClass, ConceptNode<C>> processed) {
 		ConceptNodeSet<C> sub_nodes = new ConceptNodeSet<>();
 		if (!super_class.isOWLNothing()) {
-			// consider each direct subclass of current atom super_class
-			for (Node<OWLClass> ordered_node : reasoner.getSubClasses(super_class, true)) {
-
-				// get atomic concept (and equivalent ones if available) from current sub-node
-				List<OWLClass> equivalent_atoms = ordered_node.entities().collect(Collectors.toList());
-				// get related ConceptNode element for current atomic concept (and equivalent
-				// ones if available)
-				List<ConceptNode<C>> equivalent_conceptNodes = equivalent_atoms.stream()
-						.map(atom -> atom_node_map.get(atom.getIRI().getRemainder().get())).filter(a -> a != null)
-						.collect(Collectors.toList());
-
-				if (!equivalent_conceptNodes.isEmpty()) {
-					// merge equivalent concepts into one node
-					ConceptNode<C> node = equivalent_conceptNodes.get(0);
-					for (ConceptNode<C> equiv_node : equivalent_conceptNodes) {
-						ontoHandler.addExRestIfMinimal(node.concepts, equiv_node.getConcept());
+			// collect closest sub-concepts that are linked to a node
+			LinkedHashMap<OWLClass, List<OWLClass>> candidates = new LinkedHashMap<>();
+			boolean skipped = collectLinkedSubClasses(super_class, atom_node_map, reasoner, candidates,
+					new HashSet<>());
+			if (skipped) {
+				// atoms reached by skipping other atoms may be subsumed by further candidates
+				candidates.keySet().removeIf(cand -> reasoner.getSuperClasses(cand, false).entities()
+						.anyMatch(sup -> candidates.containsKey(sup)));
+			}
+
+			for (List<OWLClass> equivalent_atoms : candidates.values()) {
+				ConceptNode<C> node = processed.get(equivalent_atoms.get(0));
+				if (node == null) {
+					// get related ConceptNode element for current atomic concept (and equivalent
+					// ones if available)
+					List<ConceptNode<C>> equivalent_conceptNodes = equivalent_atoms.stream()
+							.map(atom -> atom_node_map.get(atom)).collect(Collectors.toList());
+					// merge equivalent concepts into one node only keeping minimal ones
+					node = equivalent_conceptNodes.get(0);
+					if (equivalent_conceptNodes.size() > 1) {
+						MostSpecificConceptSet<C> minimal = new MostSpecificConceptSet<>(ontoHandler, true);
+						minimal.addAll(node.concepts);
+						for (ConceptNode<C> equiv_node : equivalent_conceptNodes) {
+							if (equiv_node != node) {
+								minimal.add(equiv_node.getConcept());
+							}
+						}
+						node.concepts.clear();
+						node.concepts.addAll(minimal);
 					}
+					processed.put(equivalent_atoms.get(0), node);
 					// get sub-nodes
-					node.subs.addAll(getDirectSubNodes(equivalent_atoms.get(0), atom_node_map, reasoner, ontoHandler));
-
-					// add node to returned sub-nodes
-					sub_nodes.add(node);
+					node.subs.addAll(getDirectSubNodes(equivalent_atoms.get(0), atom_node_map, reasoner, ontoHandler,
+							processed));
 				}
+				// add node to returned sub-nodes
+				sub_nodes.add(node);
 			}
 		}
 		return sub_nodes;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Collect the closest sub-concepts of a given atomic concept that are linked
+	 * to a node, i.e., atoms that are not linked are skipped by considering their
+	 * sub-concepts instead
+	 * 
+	 * @param super_class   A {@link OWLClass}
+	 * @param atom_node_map A {@link HashMap} connecting atomic concepts to
+	 *                      {@link ConceptNode} objects
+	 * @param reasoner      An {@link OWLReasoner} with a precomputed hierarchy
+	 * @param candidates    A {@link LinkedHashMap} to which the found atoms are
+	 *                      added, each as {@link List} of equivalent linked atoms
+	 *                      accessible by its first element
+	 * @param skipped_atoms A {@link Set} of already skipped {@link OWLClass}
+	 *                      objects
+	 * @return {@code true} if any atom was skipped, else {@code false}
+	 */
+	private static boolean collectLinkedSubClasses(OWLClass super_class,
+			HashMap<OWLClass, ? extends ConceptNode<?>> atom_node_map, OWLReasoner reasoner,
+			LinkedHashMap<OWLClass, List<OWLClass>> candidates, Set<OWLClass> skipped_atoms) {
+		boolean skipped = false;
+		// consider each direct subclass of current atom super_class
+		for (Node<OWLClass> ordered_node : reasoner.getSubClasses(super_class, true)) {
+			// get linked atomic concept (and equivalent ones if available) from current
+			// sub-node
+			List<OWLClass> equivalent_atoms = ordered_node.entities().filter(atom -> atom_node_map.containsKey(atom))
+					.collect(Collectors.toList());
+			if (!equivalent_atoms.isEmpty()) {
+				candidates.putIfAbsent(equivalent_atoms.get(0), equivalent_atoms);
+			} else if (!ordered_node.isBottomNode()) {
+				skipped = true;
+				OWLClass atom = ordered_node.getRepresentativeElement();
+				if (skipped_atoms.add(atom)) {
+					collectLinkedSubClasses(atom, atom_node_map, reasoner, candidates, skipped_atoms);
+				}
+			}
+		}
+		return skipped;
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.ai.cre.algo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLIndividual;
+
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.RestrictionNodeCollection;
+import com.ai.cre.representation.IndividualGroup;
+
+/**
+ * The query-independent structures needed to compute concept referring
+ * expressions for an ontology, i.e., the (sorted) restrictions that may be used
+ * for the construction and the groups of individuals with their most specific
+ * concepts, such that several queries can be answered without computing them
+ * again (see {@link RefExpRetrieval#prepare(OntologyHandler)})
+ *
+ */
+public class PreparedOntology {
+
+	private final OntologyHandler ontologyHandler;
+
+	private final RestrictionNodeCollection restNodeCol;
+
+	private final List<IndividualGroup> individualGroups;
+
+	/**
+	 * Most specific concepts of each individual, created on first use
+	 */
+	private Map<OWLIndividual, Set<OWLClassExpression>> mostSpecificConcepts;
+
+	/**
+	 * State if the restrictions are sorted by subsumption
+	 */
+	private final boolean sorted;
+
+	/**
+	 * Revision of the ontology (see {@link OntologyHandler#getRevision()}) for
+	 * which the structures were computed
+	 */
+	private final long revision;
+
+	/**
+	 * Time (in milliseconds) needed to compute the structures
+	 */
+	private final long preparationTime;
+
+	PreparedOntology(OntologyHandler ontologyHandler, RestrictionNodeCollection restNodeCol,
+			List<IndividualGroup> individualGroups, boolean sorted, long preparationTime) {
+		this.ontologyHandler = ontologyHandler;
+		this.restNodeCol = restNodeCol;
+		this.individualGroups = Collections.unmodifiableList(individualGroups);
+		this.sorted = sorted;
+		this.revision = ontologyHandler.getRevision();
+		this.preparationTime = preparationTime;
+	}
+
+	/**
+	 * Get the handler of the prepared ontology
+	 * 
+	 * @return An {@link OntologyHandler}
+	 */
+	public OntologyHandler getOntologyHandler() {
+		return ontologyHandler;
+	}
+
+	/**
+	 * Get the restrictions that may be used to construct referring expressions
+	 * 
+	 * @return A {@link RestrictionNodeCollection} (which must not be modified)
+	 */
+	public RestrictionNodeCollection getRestrictionNodes() {
+		return restNodeCol;
+	}
+
+	/**
+	 * Get the groups of individuals sharing most specific concepts and role
+	 * assertions
+	 * 
+	 * @return An unmodifiable {@link List} of {@link IndividualGroup} objects
+	 */
+	public List<IndividualGroup> getIndividualGroups() {
+		return individualGroups;
+	}
+
+	/**
+	 * Get the most specific concepts (based on concept and role assertions) of a
+	 * given individual
+	 * 
+	 * @param ind An {@link OWLIndividual}
+	 * @return A {@link Set} of {@link OWLClassExpression} objects or {@code null}
+	 *         if {@code ind} does not occur in the ontology
+	 */
+	public synchronized Set<OWLClassExpression> getMostSpecificConcepts(OWLIndividual ind) {
+		if (mostSpecificConcepts == null) {
+			mostSpecificConcepts = new HashMap<>();
+			for (IndividualGroup group : individualGroups) {
+				for (OWLIndividual member : group.individuals) {
+					mostSpecificConcepts.put(member, group.concepts);
+				}
+			}
+		}
+		return mostSpecificConcepts.get(ind);
+	}
+
+	/**
+	 * Check if the restrictions are sorted by subsumption
+	 * 
+	 * @return {@code true} if the restrictions are sorted, else {@code false}
+	 */
+	public boolean isSorted() {
+		return sorted;
+	}
+
+	/**
+	 * Get the time needed to compute the prepared structures
+	 * 
+	 * @return A {@code long} value representing milliseconds
+	 */
+	public long getPreparationTime() {
+		return preparationTime;
+	}
+
+	/**
+	 * Check if the ontology changed after the structures were computed, in which
+	 * case they must not be used anymore
+	 * 
+	 * @return {@code true} if the prepared structures are outdated, else
+	 *         {@code false}
+	 */
+	public boolean isStale() {
+		return ontologyHandler.getRevision() != revision;
+	}
+
+}
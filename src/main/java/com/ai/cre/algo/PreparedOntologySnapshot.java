@@ -0,0 +1,480 @@
+package com.ai.cre.algo;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.ClassExpressionType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLNaryBooleanClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLProperty;
+import org.semanticweb.owlapi.model.OWLQuantifiedObjectRestriction;
+
+import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.RestrictionNodeCollection;
+import com.ai.cre.representation.ConceptNode;
+import com.ai.cre.representation.ConceptNodeSet;
+import com.ai.cre.representation.IndividualGroup;
+
+/**
+ * Stores the structures of a {@link PreparedOntology} (sorted restriction
+ * hierarchies and groups of individuals with their most specific concepts) in a
+ * versioned binary file, such that they do not need to be computed again after
+ * a restart. Each snapshot contains a hash of the ontology's axioms and is
+ * rejected when loaded for an ontology with different content. Ontologies with
+ * anonymous individuals are not supported, since the ids of these individuals
+ * are not preserved when the ontology is parsed again.
+ * <p>
+ * Layout: magic number, format version, sorting flag, SHA-256 hash of the
+ * ontology, a table of all used IRI strings, followed by the existential
+ * restriction hierarchy, the universal restriction hierarchies of each role and
+ * the groups of individuals. Class expressions are written in prefix notation
+ * referring to the string table.
+ * </p>
+ *
+ */
+public class PreparedOntologySnapshot {
+
+	/**
+	 * Number identifying a snapshot file ("CRES")
+	 */
+	public static final int MAGIC = 0x43524553;
+
+	/**
+	 * Version of the binary format, to be increased on every incompatible change
+	 */
+	public static final int VERSION = 2;
+
+	// tags for encoded class expressions
+	private static final byte THING = 0;
+	private static final byte NOTHING = 1;
+	private static final byte CLASS = 2;
+	private static final byte AND = 3;
+	private static final byte OR = 4;
+	private static final byte NOT = 5;
+	private static final byte SOME = 6;
+	private static final byte ALL = 7;
+
+	private static final int HASH_LENGTH = 32;
+
+	private static final OWLDataFactory factory = OWLManager.getOWLDataFactory();
+
+	/**
+	 * Compute a hash of the content of an ontology that does not depend on the
+	 * order of its axioms
+	 *
+	 * @param ontology An {@link OWLOntology}
+	 * @return An array of 32 bytes (SHA-256)
+	 */
+	public static byte[] computeOntologyHash(OWLOntology ontology) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			List<String> axioms = ontology.axioms().map(ax -> ax.toString()).sorted().collect(Collectors.toList());
+			for (String axiom : axioms) {
+				digest.update(axiom.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) '\n');
+			}
+			return digest.digest();
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Check if the structures for an ontology can be stored in a snapshot, i.e.,
+	 * if the ontology does not contain anonymous individuals
+	 *
+	 * @param ontology An {@link OWLOntology}
+	 * @return {@code true} if snapshots of {@code ontology} are supported, else
+	 *         {@code false}
+	 */
+	public static boolean isSupported(OWLOntology ontology) {
+		return !ontology.anonymousIndividuals().findAny().isPresent();
+	}
+
+	/**
+	 * Write the structures of a {@link PreparedOntology} to a file (replacing it
+	 * if already present)
+	 *
+	 * @param prepared A {@link PreparedOntology}
+	 * @param file     A {@link Path}
+	 * @throws IOException              if the file cannot be written
+	 * @throws IllegalArgumentException if the ontology is not supported (see
+	 *                                  {@link #isSupported})
+	 */
+	public static void save(PreparedOntology prepared, Path file) throws IOException {
+		if (!isSupported(prepared.getOntologyHandler().ontology)) {
+			throw new IllegalArgumentException("snapshots of ontologies with anonymous individuals are not supported");
+		}
+		Writer writer = new Writer();
+		RestrictionNodeCollection restNodeCol = prepared.getRestrictionNodes();
+		writer.writeHierarchy(restNodeCol.exist_restrictions);
+		writer.body.writeInt(restNodeCol.univ_restrictions.size());
+		for (Entry<OWLProperty, ConceptNodeSet<OWLClassExpression>> entry : restNodeCol.univ_restrictions.entrySet()) {
+			writer.writeString(entry.getKey().getIRI().getIRIString());
+			writer.writeHierarchy(entry.getValue());
+		}
+		writer.body.writeInt(prepared.getIndividualGroups().size());
+		for (IndividualGroup group : prepared.getIndividualGroups()) {
+			writer.body.writeInt(group.concepts.size());
+			for (OWLClassExpression concept : group.concepts) {
+				writer.writeExpression(concept);
+			}
+			writer.body.writeInt(group.individuals.size());
+			for (OWLIndividual ind : group.individuals) {
+				writer.writeIndividual(ind);
+			}
+		}
+
+		// write to temporary file first to never leave a partial snapshot behind
+		Path tmp_file = Files.createTempFile(file.toAbsolutePath().getParent(), "snapshot", ".tmp");
+		boolean moved = false;
+		try {
+			try (OutputStream stream = Files.newOutputStream(tmp_file)) {
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeBoolean(prepared.isSorted());
+				out.write(computeOntologyHash(prepared.getOntologyHandler().ontology));
+				out.writeInt(writer.strings.size());
+				for (String str : writer.strings.keySet()) {
+					byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+					out.writeInt(bytes.length);
+					out.write(bytes);
+				}
+				writer.bytes.writeTo(out);
+				out.flush();
+			}
+			Files.move(tmp_file, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			moved = true;
+		} finally {
+			if (!moved) {
+				// do not leave the incomplete temporary file behind
+				Files.deleteIfExists(tmp_file);
+			}
+		}
+	}
+
+	/**
+	 * Read the structures of a {@link PreparedOntology} from a file by means of
+	 * memory-mapped I/O
+	 *
+	 * @param ontologyHandler An {@link OntologyHandler} for the ontology the
+	 *                        snapshot was created for
+	 * @param file            A {@link Path}
+	 * @return A {@link PreparedOntology} or {@code null} if the file is no
+	 *         snapshot of the current format, was created for an ontology with
+	 *         different content or the ontology is not supported (see
+	 *         {@link #isSupported})
+	 * @throws IOException              if the file cannot be read
+	 * @throws IllegalArgumentException if the content of the file is corrupted
+	 */
+	public static PreparedOntology load(OntologyHandler ontologyHandler, Path file) throws IOException {
+		if (!isSupported(ontologyHandler.ontology)) {
+			return null;
+		}
+		long start = System.currentTimeMillis();
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (buffer.remaining() < 9 + HASH_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+			return null;
+		}
+		boolean sorted = buffer.get() != 0;
+		byte[] hash = new byte[HASH_LENGTH];
+		buffer.get(hash);
+		// reject snapshots of other (versions of the) ontology
+		if (!MessageDigest.isEqual(hash, computeOntologyHash(ontologyHandler.ontology))) {
+			return null;
+		}
+
+		Reader reader = new Reader(buffer);
+		RestrictionNodeCollection restNodeCol = new RestrictionNodeCollection(ontologyHandler);
+		restNodeCol.exist_restrictions = reader.readHierarchy(OWLObjectSomeValuesFrom.class);
+		int roles = buffer.getInt();
+		for (int i = 0; i < roles; i++) {
+			OWLProperty role = factory.getOWLObjectProperty(IRI.create(reader.readString()));
+			restNodeCol.univ_restrictions.put(role, reader.readHierarchy(OWLClassExpression.class));
+		}
+		int group_count = buffer.getInt();
+		List<IndividualGroup> groups = new ArrayList<>(group_count);
+		for (int i = 0; i < group_count; i++) {
+			int concept_count = buffer.getInt();
+			Set<OWLClassExpression> concepts = new HashSet<>();
+			for (int j = 0; j < concept_count; j++) {
+				concepts.add(reader.readExpression());
+			}
+			int ind_count = buffer.getInt();
+			Set<OWLIndividual> inds = new HashSet<>();
+			for (int j = 0; j < ind_count; j++) {
+				inds.add(reader.readIndividual());
+			}
+			groups.add(new IndividualGroup(concepts, ontologyHandler.createConjunction(concepts), inds));
+		}
+
+		return new PreparedOntology(ontologyHandler, restNodeCol, groups, sorted, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Load the structures for an ontology from a snapshot file if it is present
+	 * and up to date, otherwise compute them and save a new snapshot (unless the
+	 * ontology is not supported, see {@link #isSupported})
+	 *
+	 * @param retrieval       A {@link RefExpRetrieval} used to compute the
+	 *                        structures if necessary
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param file            A {@link Path}
+	 * @return A {@link PreparedOntology}
+	 */
+	public static PreparedOntology loadOrPrepare(RefExpRetrieval retrieval, OntologyHandler ontologyHandler,
+			Path file) {
+		if (!isSupported(ontologyHandler.ontology)) {
+			return retrieval.prepare(ontologyHandler);
+		}
+		if (Files.exists(file)) {
+			try {
+				PreparedOntology prepared = load(ontologyHandler, file);
+				if (prepared != null && prepared.isSorted() == retrieval.isSorting()) {
+					return prepared;
+				}
+			} catch (IOException | RuntimeException e) {
+				// corrupted snapshot, prepare again
+				e.printStackTrace();
+			}
+		}
+		PreparedOntology prepared = retrieval.prepare(ontologyHandler);
+		try {
+			save(prepared, file);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return prepared;
+	}
+
+	/**
+	 * Encodes the body of a snapshot while collecting the used strings
+	 */
+	private static class Writer {
+		final LinkedHashMap<String, Integer> strings = new LinkedHashMap<>();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream body = new DataOutputStream(bytes);
+
+		void writeString(String str) throws IOException {
+			Integer index = strings.get(str);
+			if (index == null) {
+				index = strings.size();
+				strings.put(str, index);
+			}
+			body.writeInt(index);
+		}
+
+		void writeProperty(OWLObjectPropertyExpression role) throws IOException {
+			writeString(role.getNamedProperty().getIRI().getIRIString());
+			body.writeBoolean(role.isAnonymous());
+		}
+
+		void writeExpression(OWLClassExpression ce) throws IOException {
+			if (ce.isOWLThing()) {
+				body.writeByte(THING);
+			} else if (ce.isOWLNothing()) {
+				body.writeByte(NOTHING);
+			} else {
+				switch (ce.getClassExpressionType()) {
+				case OWL_CLASS:
+					body.writeByte(CLASS);
+					writeString(ce.asOWLClass().getIRI().getIRIString());
+					break;
+				case OBJECT_INTERSECTION_OF:
+				case OBJECT_UNION_OF:
+					body.writeByte(ce.getClassExpressionType() == ClassExpressionType.OBJECT_INTERSECTION_OF ? AND : OR);
+					List<OWLClassExpression> operands = ((OWLNaryBooleanClassExpression) ce).getOperandsAsList();
+					body.writeInt(operands.size());
+					for (OWLClassExpression operand : operands) {
+						writeExpression(operand);
+					}
+					break;
+				case OBJECT_COMPLEMENT_OF:
+					body.writeByte(NOT);
+					writeExpression(((OWLObjectComplementOf) ce).getOperand());
+					break;
+				case OBJECT_SOME_VALUES_FROM:
+				case OBJECT_ALL_VALUES_FROM:
+					body.writeByte(ce.getClassExpressionType() == ClassExpressionType.OBJECT_SOME_VALUES_FROM ? SOME : ALL);
+					OWLQuantifiedObjectRestriction rest = (OWLQuantifiedObjectRestriction) ce;
+					writeProperty(rest.getProperty());
+					writeExpression(rest.getFiller());
+					break;
+				default:
+					throw new IllegalArgumentException("unsupported class expression: " + ce);
+				}
+			}
+		}
+
+		void writeIndividual(OWLIndividual ind) throws IOException {
+			// anonymous individuals are excluded by save
+			writeString(ind.asOWLNamedIndividual().getIRI().getIRIString());
+		}
+
+		/**
+		 * Write every node reachable from the given top nodes, each with its concepts
+		 * and the indices of its sub-nodes, followed by the indices of the top nodes
+		 */
+		<C extends OWLClassExpression> void writeHierarchy(ConceptNodeSet<C> top_nodes) throws IOException {
+			IdentityHashMap<ConceptNode<C>, Integer> ids = new IdentityHashMap<>();
+			List<ConceptNode<C>> nodes = new ArrayList<>();
+			List<ConceptNode<C>> stack = new ArrayList<>(top_nodes);
+			while (!stack.isEmpty()) {
+				ConceptNode<C> node = stack.remove(stack.size() - 1);
+				if (!ids.containsKey(node)) {
+					ids.put(node, nodes.size());
+					nodes.add(node);
+					stack.addAll(node.subs);
+				}
+			}
+			body.writeInt(nodes.size());
+			for (ConceptNode<C> node : nodes) {
+				body.writeInt(node.concepts.size());
+				for (C concept : node.concepts) {
+					writeExpression(concept);
+				}
+				body.writeInt(node.subs.size());
+				for (ConceptNode<C> sub : node.subs) {
+					body.writeInt(ids.get(sub));
+				}
+			}
+			body.writeInt(top_nodes.size());
+			for (ConceptNode<C> top : top_nodes) {
+				body.writeInt(ids.get(top));
+			}
+		}
+	}
+
+	/**
+	 * Decodes the body of a snapshot
+	 */
+	private static class Reader {
+		final ByteBuffer buffer;
+		final String[] strings;
+
+		Reader(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				strings[i] = new String(bytes, StandardCharsets.UTF_8);
+			}
+		}
+
+		String readString() {
+			return strings[buffer.getInt()];
+		}
+
+		OWLObjectPropertyExpression readProperty() {
+			IRI iri = IRI.create(readString());
+			if (buffer.get() != 0) {
+				return factory.getOWLObjectInverseOf(factory.getOWLObjectProperty(iri));
+			}
+			return factory.getOWLObjectProperty(iri);
+		}
+
+		OWLClassExpression readExpression() {
+			byte tag = buffer.get();
+			switch (tag) {
+			case THING:
+				return factory.getOWLThing();
+			case NOTHING:
+				return factory.getOWLNothing();
+			case CLASS:
+				return factory.getOWLClass(IRI.create(readString()));
+			case AND:
+			case OR:
+				int size = buffer.getInt();
+				List<OWLClassExpression> operands = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					operands.add(readExpression());
+				}
+				return tag == AND ? factory.getOWLObjectIntersectionOf(operands) : factory.getOWLObjectUnionOf(operands);
+			case NOT:
+				return factory.getOWLObjectComplementOf(readExpression());
+			case SOME:
+				OWLObjectPropertyExpression ex_role = readProperty();
+				return factory.getOWLObjectSomeValuesFrom(ex_role, readExpression());
+			case ALL:
+				OWLObjectPropertyExpression univ_role = readProperty();
+				return factory.getOWLObjectAllValuesFrom(univ_role, readExpression());
+			default:
+				throw new IllegalArgumentException("unknown expression tag: " + tag);
+			}
+		}
+
+		OWLIndividual readIndividual() {
+			return factory.getOWLNamedIndividual(IRI.create(readString()));
+		}
+
+		<C extends OWLClassExpression> ConceptNodeSet<C> readHierarchy(Class<C> type) {
+			int size = buffer.getInt();
+			List<ConceptNode<C>> nodes = new ArrayList<>(size);
+			int[][] subs = new int[size][];
+			for (int i = 0; i < size; i++) {
+				int concept_count = buffer.getInt();
+				// every node is created for at least one concept
+				if (concept_count < 1) {
+					throw new IllegalArgumentException("node " + i + " of hierarchy has no concepts");
+				}
+				ConceptNode<C> node = new ConceptNode<>(type.cast(readExpression()));
+				for (int j = 1; j < concept_count; j++) {
+					node.concepts.add(type.cast(readExpression()));
+				}
+				nodes.add(node);
+				subs[i] = new int[buffer.getInt()];
+				for (int j = 0; j < subs[i].length; j++) {
+					subs[i][j] = buffer.getInt();
+				}
+			}
+			// link nodes after all of them are complete
+			for (int i = 0; i < size; i++) {
+				for (int sub : subs[i]) {
+					nodes.get(i).addRelationToSub(nodes.get(sub));
+				}
+			}
+			int top_count = buffer.getInt();
+			ConceptNodeSet<C> top_nodes = new ConceptNodeSet<>();
+			for (int i = 0; i < top_count; i++) {
+				top_nodes.add(nodes.get(buffer.getInt()));
+			}
+			return top_nodes;
+		}
+	}
+
+}
@@ -1,9 +1,17 @@
 package com.ai.cre.algo;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLIndividual;
@@ -12,15 +20,22 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLProperty;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 
+import com.ai.cre.evaluation.RetrievalListener;
+import com.ai.cre.evaluation.RetrievalPhase;
 import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.ReasonerBackend;
+import com.ai.cre.ontology.ReasonerPhase;
 import com.ai.cre.ontology.RestrictionNodeCollection;
+import com.ai.cre.ontology.RestrictionTaxonomy;
 import com.ai.cre.representation.ConRefExpPart;
 import com.ai.cre.representation.ConceptNode;
 import com.ai.cre.representation.ConceptNodeSet;
 import com.ai.cre.representation.ConceptReferringExpression;
+import com.ai.cre.representation.IndividualGroup;
 import com.ai.cre.representation.ProcessConRefExpression;
 
 /**
@@ -37,6 +52,30 @@ public class RefExpRetrieval {
 	 */
 	boolean no_sorting;
 
+	/**
+	 * executor for parallel processing of individual groups ({@code null} for
+	 * sequential processing)
+	 */
+	ExecutorService executor;
+
+	/**
+	 * state if all restriction hierarchies should be sorted by means of one shared
+	 * classification instead of sorting each of them separately
+	 */
+	boolean shared_classification;
+
+	/**
+	 * state if the subsumption checks of the construction should be answered by
+	 * means of a {@link RestrictionTaxonomy} classified before the construction
+	 */
+	boolean pre_classification;
+
+	/**
+	 * listener receiving the metrics of each run ({@code null} if no metrics
+	 * should be recorded)
+	 */
+	RetrievalListener listener;
+
 	public RefExpRetrieval() {
 		this.no_sorting = false;
 	}
@@ -51,6 +90,91 @@ public class RefExpRetrieval {
 		this.no_sorting = !apply_sort;
 	}
 
+	/**
+	 * 
+	 * @param apply_sort A {@code boolean} stating if the collected existential and
+	 *                   universal restrictions should be sorted by subsumption or
+	 *                   not
+	 * @param executor   An {@link ExecutorService} used to process the groups of
+	 *                   individuals in parallel (see {@link #setExecutor})
+	 */
+	public RefExpRetrieval(boolean apply_sort, ExecutorService executor) {
+		this.no_sorting = !apply_sort;
+		this.executor = executor;
+	}
+
+	/**
+	 * Set the {@link ExecutorService} used to construct the referring expressions
+	 * for different groups of individuals in parallel. The executor is not shut
+	 * down by this class.
+	 * 
+	 * @param executor An {@link ExecutorService} or {@code null} if groups should
+	 *                 be processed sequentially
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * State if the existential restrictions and the universal restrictions of
+	 * every role should be sorted by means of one shared classification (see
+	 * {@link NodeSorter#sortAllBySubsumptionUsingClassification}), which avoids a
+	 * separate classification for each role in case of many restrictions
+	 * 
+	 * @param shared_classification A {@code boolean} value
+	 */
+	public void setSharedClassification(boolean shared_classification) {
+		this.shared_classification = shared_classification;
+	}
+
+	/**
+	 * State if the restrictions, the query and the concepts of the groups of
+	 * individuals should be named by fresh atoms and classified once before the
+	 * construction (see {@link RestrictionTaxonomy}), such that the subsumption
+	 * checks of the construction become lookups in the resulting taxonomy. The
+	 * fillers generated during the construction are added to the taxonomy as
+	 * they appear and are classified in batches (see
+	 * {@link RestrictionTaxonomy#BATCH_SIZE}), where checks involving them are
+	 * performed as usual in the meantime.
+	 * 
+	 * @param pre_classification A {@code boolean} value
+	 */
+	public void setPreClassification(boolean pre_classification) {
+		this.pre_classification = pre_classification;
+	}
+
+	/**
+	 * Set a {@link RetrievalListener} that receives the metrics (wall time,
+	 * reasoner calls, cache hits, recursion depth and emitted answers) of every
+	 * phase of the following runs, where a run is one call of a public method of
+	 * this class. If no listener is set, no metrics are recorded.
+	 * <p>
+	 * Note: Each run is recorded separately, i.e., runs started concurrently on
+	 * the same instance call the listener concurrently as well
+	 * </p>
+	 * 
+	 * @param listener A {@link RetrievalListener} or {@code null}
+	 */
+	public void setListener(RetrievalListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Start recording the metrics of a run, where the returned recorder is passed
+	 * down to every phase of the run
+	 * 
+	 * @param ontologyHandler The {@link OntologyHandler} used for the run
+	 * @return A new {@link MetricsRecorder} or {@link MetricsRecorder#DISABLED} if
+	 *         no {@link #listener} is set
+	 */
+	private MetricsRecorder startRun(OntologyHandler ontologyHandler) {
+		RetrievalListener run_listener = listener;
+		if (run_listener == null) {
+			return MetricsRecorder.DISABLED;
+		}
+		return new MetricsRecorder(run_listener, ontologyHandler);
+	}
+
 	/**
 	 * Get every correct answer for a instance retrieval query on a Horn-ALC
 	 * ontology in form of singular, unique concept referring expressions
@@ -64,7 +188,12 @@ public class RefExpRetrieval {
 			OWLReasoner reasoner, OWLClassExpression query) {
 		// create OntologyHandler for ontology
 		OntologyHandler ontologyHandler = new OntologyHandler(ontology, reasoner);
-		return getInstanceReferringExpressions(ontologyHandler, query);
+		try {
+			return getInstanceReferringExpressions(ontologyHandler, query);
+		} finally {
+			// stop listening to changes of the ontology
+			ontologyHandler.dispose();
+		}
 	}
 
 	/**
@@ -79,7 +208,12 @@ public class RefExpRetrieval {
 			OWLClassExpression query) {
 		// create OntologyHandler for ontology
 		OntologyHandler ontologyHandler = new OntologyHandler(ontology);
-		return getInstanceReferringExpressions(ontologyHandler, query);
+		try {
+			return getInstanceReferringExpressions(ontologyHandler, query);
+		} finally {
+			// stop listening to changes of the ontology
+			ontologyHandler.dispose();
+		}
 	}
 
 	/**
@@ -93,19 +227,147 @@ public class RefExpRetrieval {
 	 */
 	public Collection<ConceptReferringExpression> getInstanceReferringExpressions(OntologyHandler ontologyHandler,
 			OWLClassExpression query) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			// call actual method
+			return getInstanceReferringExpressionsForGroups(ontologyHandler, query,
+					collectRestrictionNodes(ontologyHandler, run), false, run);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	/**
+	 * Compute the query-independent structures for the ontology represented by
+	 * {@code ontologyHandler}, i.e., the (sorted) restrictions and the groups of
+	 * individuals, such that several queries can be answered by means of
+	 * {@link #getInstanceReferringExpressions(PreparedOntology, OWLClassExpression)}
+	 * without computing them again
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @return A {@link PreparedOntology}
+	 */
+	public PreparedOntology prepare(OntologyHandler ontologyHandler) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			long start = System.currentTimeMillis();
+			RestrictionNodeCollection restNodeCol = collectRestrictionNodes(ontologyHandler, run);
+			List<IndividualGroup> groups = createIndividualGroups(ontologyHandler, restNodeCol, run);
+			return new PreparedOntology(ontologyHandler, restNodeCol, groups, !no_sorting,
+					System.currentTimeMillis() - start);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	/**
+	 * Get every correct answer for a instance retrieval query on a prepared
+	 * Horn-ALC ontology in form of singular, unique concept referring expressions
+	 * 
+	 * @param prepared A {@link PreparedOntology} created by {@link #prepare}
+	 * @param query    An {@link OWLClassExpression}
+	 * @return A {@link Collection} of {@link ConceptReferringExpression} objects
+	 * @throws IllegalStateException    if the ontology changed after its
+	 *                                   preparation
+	 * @throws IllegalArgumentException if {@code prepared} was created with a
+	 *                                   different sorting setting
+	 */
+	public Collection<ConceptReferringExpression> getInstanceReferringExpressions(PreparedOntology prepared,
+			OWLClassExpression query) {
+		Collection<ConceptReferringExpression> answerRefExps = new HashSet<>();
+		streamInstanceReferringExpressions(prepared, query, answerRefExps::add, false);
+		return answerRefExps;
+	}
+
+	/**
+	 * Compute every correct answer for a instance retrieval query on a prepared
+	 * Horn-ALC ontology in form of singular, unique concept referring expressions
+	 * and pass each of them to {@code sink} as soon as it has been constructed
+	 * 
+	 * @param prepared    A {@link PreparedOntology} created by {@link #prepare}
+	 * @param query       An {@link OWLClassExpression}
+	 * @param sink        A {@link Consumer} receiving the
+	 *                    {@link ConceptReferringExpression} objects
+	 * @param deduplicate A {@code boolean} stating if {@code sink} should receive
+	 *                    each answer only once
+	 * @throws IllegalStateException    if the ontology changed after its
+	 *                                   preparation
+	 * @throws IllegalArgumentException if {@code prepared} was created with a
+	 *                                   different sorting setting
+	 */
+	public void streamInstanceReferringExpressions(PreparedOntology prepared, OWLClassExpression query,
+			Consumer<ConceptReferringExpression> sink, boolean deduplicate) {
+		if (prepared.isStale()) {
+			throw new IllegalStateException("ontology changed after its preparation");
+		}
+		if (prepared.isSorted() == no_sorting) {
+			throw new IllegalArgumentException("prepared ontology was created with different sorting setting");
+		}
+		MetricsRecorder run = startRun(prepared.getOntologyHandler());
+		try {
+			constructRefExpAnswers(prepared.getOntologyHandler(), prepared.getRestrictionNodes(), query,
+					prepared.getIndividualGroups(), deduplicate ? deduplicating(sink) : sink, run);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	/**
+	 * Check if the restrictions are sorted by subsumption
+	 * 
+	 * @return {@code true} if sorting is applied, else {@code false}
+	 */
+	public boolean isSorting() {
+		return !no_sorting;
+	}
+
+	/**
+	 * Get the existential and universal restrictions from the ontology
+	 * represented by {@code ontologyHandler} that may be used for the
+	 * construction of referring expressions, sorted by subsumption unless
+	 * {@link #no_sorting} holds
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @return A {@link RestrictionNodeCollection}
+	 */
+	public RestrictionNodeCollection getRestrictionNodes(OntologyHandler ontologyHandler) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			return collectRestrictionNodes(ontologyHandler, run);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	private RestrictionNodeCollection collectRestrictionNodes(OntologyHandler ontologyHandler,
+			MetricsRecorder metrics) {
 		// get all appropriate restrictions from ontology as nodes
+		metrics.startPhase(RetrievalPhase.RESTRICTION_COLLECTION);
 		RestrictionNodeCollection restNodeCol = ontologyHandler.getPotentialRightSideRestrictionNodes();
-		if (!no_sorting) {
+		if (no_sorting) {
+			// equivalent restrictions are not merged by sorting
+			restNodeCol.mergeEquivalentExistNodes();
+		}
+		metrics.finishPhase();
+		if (!no_sorting && shared_classification) {
+			// sort all restriction nodes at once
+			metrics.startPhase(RetrievalPhase.SHARED_SORTING);
+			NodeSorter.sortAllBySubsumptionUsingClassification(ontologyHandler, restNodeCol);
+			metrics.finishPhase();
+		} else if (!no_sorting) {
 			// sort existential restriction nodes
+			metrics.startPhase(RetrievalPhase.EXIST_SORTING);
 			restNodeCol.exist_restrictions = new ConceptNodeSet<>(NodeSorter.sortBySubsumption(ontologyHandler,
 					new ConceptNodeSet<>(restNodeCol.exist_restrictions)));
+			metrics.finishPhase();
 			// sort universal restriction nodes
+			metrics.startPhase(RetrievalPhase.UNIV_SORTING);
 			restNodeCol.univ_restrictions.forEach((role, nodes) -> restNodeCol.univ_restrictions.put(role,
-					new ConceptNodeSet<>(NodeSorter.sortBySubsumption(ontologyHandler, new ConceptNodeSet<>(nodes)))));
+					new ConceptNodeSet<>(
+							NodeSorter.sortBySubsumption(ontologyHandler, new ConceptNodeSet<>(nodes)))));
+			metrics.finishPhase();
 		}
-
-		// call actual method
-		return getInstanceReferringExpressions(ontologyHandler, query, restNodeCol);
+		return restNodeCol;
 	}
 
 	/**
@@ -140,80 +402,375 @@ public class RefExpRetrieval {
 	 */
 	public Collection<ConceptReferringExpression> getInstanceReferringExpressions(OntologyHandler ontologyHandler,
 			OWLClassExpression query, RestrictionNodeCollection restNodeCol, boolean showIndStats) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			return getInstanceReferringExpressionsForGroups(ontologyHandler, query, restNodeCol, showIndStats, run);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	private Collection<ConceptReferringExpression> getInstanceReferringExpressionsForGroups(
+			OntologyHandler ontologyHandler, OWLClassExpression query, RestrictionNodeCollection restNodeCol,
+			boolean showIndStats, MetricsRecorder metrics) {
+		// get groups of individuals sharing most specific concepts and role assertions
+		List<IndividualGroup> groups = createIndividualGroups(ontologyHandler, restNodeCol, metrics);
+
+		// print out statistics about combined individual sets
+		if (showIndStats) {
+			int numProcessedInds = 0;
+			int maxIndSetSize = 0;
+			for (IndividualGroup group : groups) {
+				numProcessedInds += group.individuals.size();
+				if (group.individuals.size() > maxIndSetSize) {
+					maxIndSetSize = group.individuals.size();
+				}
+			}
+			System.out.println("individuals: " + numProcessedInds);
+			System.out.println("combined ind sets: " + groups.size());
+			System.out.println(" average set size: " + ((float) numProcessedInds / (float) groups.size()));
+			System.out.println(" max set size: " + maxIndSetSize);
+		}
+
+		Collection<ConceptReferringExpression> answerRefExps = new HashSet<>();
+		constructRefExpAnswers(ontologyHandler, restNodeCol, query, groups, answerRefExps::add, metrics);
+		return answerRefExps;
+	}
+
+	/**
+	 * Compute every correct answer for a instance retrieval query on a Horn-ALC
+	 * ontology in form of singular, unique concept referring expressions and pass
+	 * each of them to {@code sink} as soon as it has been constructed, instead of
+	 * collecting all answers first
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param query           An {@link OWLClassExpression}
+	 * @param sink            A {@link Consumer} receiving the
+	 *                        {@link ConceptReferringExpression} objects
+	 * @param deduplicate     A {@code boolean} stating if {@code sink} should
+	 *                        receive each answer only once (which requires to
+	 *                        remember the answers passed so far)
+	 */
+	public void streamInstanceReferringExpressions(OntologyHandler ontologyHandler, OWLClassExpression query,
+			Consumer<ConceptReferringExpression> sink, boolean deduplicate) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			RestrictionNodeCollection restNodeCol = collectRestrictionNodes(ontologyHandler, run);
+			constructRefExpAnswers(ontologyHandler, restNodeCol, query,
+					createIndividualGroups(ontologyHandler, restNodeCol, run), deduplicate ? deduplicating(sink) : sink,
+					run);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	/**
+	 * Compute every correct answer for a instance retrieval query on a Horn-ALC
+	 * ontology represented by {@code ontologyHandler} in form of singular, unique
+	 * concept referring expressions and pass each of them to {@code sink} as soon
+	 * as it has been constructed
+	 * <p>
+	 * Note: If an {@link #executor} is set, {@code sink} is called from the worker
+	 * threads, but never concurrently
+	 * </p>
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param query           An {@link OWLClassExpression}
+	 * @param restNodeCol     A {@link RestrictionNodeCollection} with sorted
+	 *                        elements w.r.t. subsumption hierarchy
+	 * @param sink            A {@link Consumer} receiving the
+	 *                        {@link ConceptReferringExpression} objects
+	 * @param deduplicate     A {@code boolean} stating if {@code sink} should
+	 *                        receive each answer only once
+	 */
+	public void streamInstanceReferringExpressions(OntologyHandler ontologyHandler, OWLClassExpression query,
+			RestrictionNodeCollection restNodeCol, Consumer<ConceptReferringExpression> sink, boolean deduplicate) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			constructRefExpAnswers(ontologyHandler, restNodeCol, query,
+					createIndividualGroups(ontologyHandler, restNodeCol, run), deduplicate ? deduplicating(sink) : sink,
+					run);
+		} finally {
+			run.finishRun();
+		}
+	}
+
+	/**
+	 * Wrap a {@link Consumer} such that it only receives referring expressions
+	 * that it has not received before
+	 * 
+	 * @param sink A {@link Consumer} for {@link ConceptReferringExpression} objects
+	 * @return A {@link Consumer} remembering the passed referring expressions
+	 */
+	private static Consumer<ConceptReferringExpression> deduplicating(Consumer<ConceptReferringExpression> sink) {
+		Set<ConceptReferringExpression> emitted = new HashSet<>();
+		return cre -> {
+			if (emitted.add(cre)) {
+				sink.accept(cre);
+			}
+		};
+	}
+
+	/**
+	 * Construct the concept referring expressions for every given group of
+	 * individuals, either sequentially or by means of {@link #executor}
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param restNodeCol     A {@link RestrictionNodeCollection}
+	 * @param query           An {@link OWLClassExpression}
+	 * @param groups          A {@link List} of {@link IndividualGroup} objects
+	 * @param sink            A {@link Consumer} receiving the constructed
+	 *                        {@link ConceptReferringExpression} objects (called by
+	 *                        one thread at a time)
+	 * @param metrics         The {@link MetricsRecorder} of the current run
+	 */
+	private void constructRefExpAnswers(OntologyHandler ontologyHandler, RestrictionNodeCollection restNodeCol,
+			OWLClassExpression query, List<IndividualGroup> groups, Consumer<ConceptReferringExpression> sink,
+			MetricsRecorder metrics) {
+		RestrictionTaxonomy previous_taxonomy = ontologyHandler.getRestrictionTaxonomy();
+		RestrictionTaxonomy taxonomy = null;
+		if (pre_classification) {
+			metrics.startPhase(RetrievalPhase.PRE_CLASSIFICATION);
+			taxonomy = createTaxonomy(ontologyHandler, restNodeCol, query, groups);
+			metrics.finishPhase();
+			if (taxonomy != null) {
+				// also used by worker handlers created for the construction
+				ontologyHandler.setRestrictionTaxonomy(taxonomy);
+			}
+		}
+		metrics.startPhase(RetrievalPhase.CONSTRUCTION);
+		Consumer<ConceptReferringExpression> counted_sink = metrics.counting(sink);
+		try {
+			if (executor != null) {
+				constructRefExpAnswersInParallel(ontologyHandler, restNodeCol, query, groups, counted_sink, metrics);
+			} else {
+				// call algorithm to construct referring expressions for each group of
+				// individuals
+				for (IndividualGroup group : groups) {
+					constructRefExpAnswers(ontologyHandler, restNodeCol, query, group, counted_sink, metrics);
+				}
+			}
+		} finally {
+			metrics.finishPhase();
+			if (taxonomy != null) {
+				ontologyHandler.setRestrictionTaxonomy(previous_taxonomy);
+				taxonomy.dispose();
+			}
+		}
+	}
+
+	/**
+	 * Create a taxonomy of every concept that is checked for subsumption at the
+	 * beginning of the construction, i.e., the query, the concepts of the groups,
+	 * the existential restrictions, their fillers and their roles (as
+	 * {@code ∃R.(TOP)}) as well as the universal restrictions (in the form checked
+	 * by {@link #considerSubUnivRestrictions})
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param restNodeCol     A {@link RestrictionNodeCollection}
+	 * @param query           An {@link OWLClassExpression}
+	 * @param groups          A {@link List} of {@link IndividualGroup} objects
+	 * @return A classified {@link RestrictionTaxonomy} or {@code null} if it
+	 *         could not be created
+	 */
+	private RestrictionTaxonomy createTaxonomy(OntologyHandler ontologyHandler, RestrictionNodeCollection restNodeCol,
+			OWLClassExpression query, List<IndividualGroup> groups) {
+		ReasonerBackend backend = ontologyHandler.getReasonerBackend(ReasonerPhase.CLASSIFICATION);
+		try {
+			RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontologyHandler.ontology,
+					backend == null ? ReasonerBackend.HERMIT : backend);
+			taxonomy.add(query);
+			groups.forEach(group -> taxonomy.add(group.concept));
+			for (ConceptNode<OWLObjectSomeValuesFrom> node : getAllNodes(restNodeCol.exist_restrictions)) {
+				for (OWLObjectSomeValuesFrom ex_rest : node.concepts) {
+					taxonomy.add(ex_rest);
+					taxonomy.add(ex_rest.getFiller());
+					// restrictions used to skip the nodes of a role
+					taxonomy.add(ontologyHandler.createRoleRestriction(ex_rest.getProperty().asOWLObjectProperty()));
+				}
+			}
+			restNodeCol.univ_restrictions.forEach((role, nodes) -> {
+				for (ConceptNode<OWLClassExpression> node : getAllNodes(nodes)) {
+					taxonomy.add(ontologyHandler.createUnivRestriction(role.asOWLObjectProperty(),
+							node.getConcept().asConjunctSet()));
+				}
+			});
+			// classify before the construction starts
+			taxonomy.classify();
+			return taxonomy;
+		} catch (OWLOntologyCreationException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Get the given nodes together with all nodes below them in their hierarchy
+	 * 
+	 * @param <C>   extends {@link OWLClassExpression}
+	 * @param nodes A {@link ConceptNodeSet} of top nodes
+	 * @return A {@link Set} of {@link ConceptNode} elements
+	 */
+	private static <C extends OWLClassExpression> Set<ConceptNode<C>> getAllNodes(ConceptNodeSet<C> nodes) {
+		Set<ConceptNode<C>> all_nodes = new ConceptNodeSet<>();
+		List<ConceptNode<C>> worklist = new ArrayList<>(nodes);
+		while (!worklist.isEmpty()) {
+			ConceptNode<C> node = worklist.remove(worklist.size() - 1);
+			if (all_nodes.add(node) && node.subs != null) {
+				worklist.addAll(node.subs);
+			}
+		}
+		return all_nodes;
+	}
 
-		// variables for statistics about combined individual sets
-		int numProcessedInds = 0;
-		int numCombIndSets = 0;
-		int maxIndSetSize = 0;
+	/**
+	 * Combine the individuals of the ontology represented by
+	 * {@code ontologyHandler} to groups, such that all individuals of a group
+	 * share the same most specific concepts and the same role assertions (in
+	 * order to block the same restrictions for the initial construction call)
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param restNodeCol     A {@link RestrictionNodeCollection} with sorted
+	 *                        elements w.r.t. subsumption hierarchy
+	 * @return A {@link List} of {@link IndividualGroup} objects
+	 */
+	public List<IndividualGroup> getIndividualGroups(OntologyHandler ontologyHandler,
+			RestrictionNodeCollection restNodeCol) {
+		MetricsRecorder run = startRun(ontologyHandler);
+		try {
+			return createIndividualGroups(ontologyHandler, restNodeCol, run);
+		} finally {
+			run.finishRun();
+		}
+	}
 
+	private List<IndividualGroup> createIndividualGroups(OntologyHandler ontologyHandler,
+			RestrictionNodeCollection restNodeCol, MetricsRecorder metrics) {
 		// get all individuals appearing in ontology
 		Set<OWLIndividual> individuals = ontologyHandler.getIndividuals();
 
 		// get most specific concepts based on concept and role assertions for
 		// individuals
-		HashMap<Set<OWLClassExpression>, Set<OWLIndividual>> consForInds = new HashMap<>();
-		ontologyHandler.getMostSpecificConceptsForIndividuals(individuals, restNodeCol.univ_restrictions)
-				.forEach((ind, concepts) -> {
-					// combine individuals to one group if they share the same concepts
-					Set<OWLIndividual> stored_inds = consForInds.get(concepts);
-					if (stored_inds == null) {
-						stored_inds = new HashSet<OWLIndividual>();
-					}
-					stored_inds.add(ind);
-					consForInds.put(concepts, stored_inds);
-				});
+		metrics.startPhase(RetrievalPhase.MOST_SPECIFIC_CONCEPTS);
+		// the restrictions collected by the handler are sorted like the other ones
+		ontologyHandler.setNodeSorter(no_sorting ? null : NodeSorter.SUBSUMPTION_SORTER);
+		HashMap<OWLIndividual, Set<OWLClassExpression>> mostSpecificCons = ontologyHandler
+				.getMostSpecificConceptsForIndividuals(individuals, restNodeCol.univ_restrictions, !no_sorting);
+		metrics.finishPhase();
 
-		Collection<ConceptReferringExpression> answerRefExps = new HashSet<>();
+		metrics.startPhase(RetrievalPhase.GROUPING);
+		HashMap<Set<OWLClassExpression>, Set<OWLIndividual>> consForInds = new HashMap<>();
+		mostSpecificCons.forEach((ind, concepts) -> {
+			// combine individuals to one group if they share the same concepts
+			Set<OWLIndividual> stored_inds = consForInds.get(concepts);
+			if (stored_inds == null) {
+				stored_inds = new HashSet<OWLIndividual>();
+			}
+			stored_inds.add(ind);
+			consForInds.put(concepts, stored_inds);
+		});
 
-		// call algorithm to construct referring expressions for each group of
-		// individuals
-		Set<Set<OWLClassExpression>> ind_concepts = consForInds.keySet();
-		for (Set<OWLClassExpression> ind_con : ind_concepts) {
+		List<IndividualGroup> groups = new ArrayList<>();
+		for (Set<OWLClassExpression> ind_con : consForInds.keySet()) {
 			// combine found (most specific) concepts to conjunction
 			OWLClassExpression conj_cons = ontologyHandler.createConjunction(ind_con);
 
 			// further separate combined individuals based on their shared role assertions
-			// in order to block the same restrictions for the initial construction call
 			HashMap<Set<RoleIndPair>, Set<OWLIndividual>> roleAssertForInds = new HashMap<>();
 			for (OWLIndividual ind : consForInds.get(ind_con)) {
+				// extract pairs of role R and object b from role assertions R(a,b)
 				Set<RoleIndPair> roleIndPairs = getRoleIndPairs(ontologyHandler.getRoleAssertions(ind));
 				Set<OWLIndividual> stored_inds = roleAssertForInds.get(roleIndPairs);
 				if (stored_inds == null) {
 					stored_inds = new HashSet<OWLIndividual>();
 				}
 				stored_inds.add(ind);
-				// extract pairs of role R and object b from role assertions R(a,b)
 				roleAssertForInds.put(roleIndPairs, stored_inds);
 			}
 
 			for (Set<OWLIndividual> inds : roleAssertForInds.values()) {
+				groups.add(new IndividualGroup(ind_con, conj_cons, inds));
+			}
+		}
+		metrics.finishPhase();
 
-				// collect data about combined individual sets
-				if (showIndStats) {
-					numCombIndSets += 1;
-					numProcessedInds += inds.size();
-					if (inds.size() > maxIndSetSize) {
-						maxIndSetSize = inds.size();
-					}
-				}
+		return groups;
+	}
+
+	/**
+	 * Get every concept referring expression starting with the base individuals
+	 * of a given group
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param restNodeCol     A {@link RestrictionNodeCollection}
+	 * @param query           An {@link OWLClassExpression}
+	 * @param group           An {@link IndividualGroup}
+	 * @param sink            A {@link Consumer} receiving the constructed
+	 *                        {@link ConceptReferringExpression} objects
+	 * @param metrics         The {@link MetricsRecorder} of the current run
+	 */
+	private void constructRefExpAnswers(OntologyHandler ontologyHandler, RestrictionNodeCollection restNodeCol,
+			OWLClassExpression query, IndividualGroup group, Consumer<ConceptReferringExpression> sink,
+			MetricsRecorder metrics) {
+		constructRefExpAnswers(ontologyHandler, restNodeCol.exist_restrictions, restNodeCol.univ_restrictions, query,
+				group.concept, new ProcessConRefExpression(group.individuals), new HashSet<OWLObjectSomeValuesFrom>(),
+				sink, metrics);
+	}
 
-				// get every concept referring expression starting with base individuals of
-				// current concepts ind_con
-				answerRefExps.addAll(constructRefExpAnswers(ontologyHandler, restNodeCol.exist_restrictions,
-						restNodeCol.univ_restrictions, query, conj_cons, new ProcessConRefExpression(inds),
-						new HashSet<OWLObjectSomeValuesFrom>()));
+	/**
+	 * Construct the concept referring expressions for the given groups of
+	 * individuals by means of {@link #executor}, where the most expensive groups
+	 * are scheduled first. Since reasoners must not be shared across threads,
+	 * each worker thread uses its own {@link OntologyHandler} created via
+	 * {@link OntologyHandler#createWorkerHandler()}.
+	 * 
+	 * @param ontologyHandler An {@link OntologyHandler}
+	 * @param restNodeCol     A {@link RestrictionNodeCollection} (only read by the
+	 *                        workers)
+	 * @param query           An {@link OWLClassExpression}
+	 * @param groups          A {@link List} of {@link IndividualGroup} objects
+	 * @param sink            A {@link Consumer} receiving the constructed
+	 *                        {@link ConceptReferringExpression} objects (calls
+	 *                        are synchronized on {@code sink})
+	 * @param metrics         The {@link MetricsRecorder} of the current run
+	 */
+	private void constructRefExpAnswersInParallel(OntologyHandler ontologyHandler,
+			RestrictionNodeCollection restNodeCol, OWLClassExpression query, List<IndividualGroup> groups,
+			Consumer<ConceptReferringExpression> sink, MetricsRecorder metrics) {
+		Consumer<ConceptReferringExpression> synced_sink = cre -> {
+			synchronized (sink) {
+				sink.accept(cre);
 			}
-		}
+		};
+		// handlers (with own reasoner) for each worker thread
+		ConcurrentHashMap<Thread, OntologyHandler> workerHandlers = new ConcurrentHashMap<>();
 
-		// print out statistics
-		if (showIndStats) {
-			System.out.println("individuals: " + individuals.size());
-			System.out.println("combined ind sets: " + numCombIndSets);
-			System.out.println(" average set size: " + ((float) numProcessedInds / (float) numCombIndSets));
-			System.out.println(" max set size: " + maxIndSetSize);
-		}
+		// schedule most expensive groups first to avoid a long tail at the end
+		List<IndividualGroup> sorted_groups = new ArrayList<>(groups);
+		sorted_groups.sort(Comparator.comparingLong(IndividualGroup::getEstimatedCost).reversed());
 
-		return answerRefExps;
+		List<Future<?>> futures = new ArrayList<>(sorted_groups.size());
+		try {
+			for (IndividualGroup group : sorted_groups) {
+				futures.add(executor.submit(() -> {
+					OntologyHandler worker = workerHandlers.computeIfAbsent(Thread.currentThread(),
+							t -> ontologyHandler.createWorkerHandler());
+					constructRefExpAnswers(worker, restNodeCol, query, group, synced_sink, metrics);
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("construction of referring expressions was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("construction of referring expressions failed", e.getCause());
+		} finally {
+			// stop remaining work before the reasoners are disposed
+			futures.forEach(future -> future.cancel(true));
+			workerHandlers.values().forEach(worker -> worker.dispose());
+		}
 	}
 
 	/**
@@ -253,9 +810,57 @@ public class RefExpRetrieval {
 			HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> pos_univ_rests_table, OWLClassExpression query,
 			OWLClassExpression current_concept, ProcessConRefExpression ref_exp,
 			Set<OWLObjectSomeValuesFrom> used_ex_rests) {
-
 		// set to collect completed referring expressions
 		Set<ConceptReferringExpression> completed_ref_exps = new HashSet<>();
+		constructRefExpAnswers(ontologyHandler, pos_exist_rests, pos_univ_rests_table, query, current_concept, ref_exp,
+				used_ex_rests, completed_ref_exps::add);
+		return completed_ref_exps;
+	}
+
+	/**
+	 * Recursively construct concept referring expressions as described for
+	 * {@link #constructRefExpAnswers(OntologyHandler, ConceptNodeSet, HashMap, OWLClassExpression, OWLClassExpression, ProcessConRefExpression, Set)},
+	 * but pass each completed referring expression to {@code sink} instead of
+	 * collecting them
+	 * 
+	 * @param ontologyHandler      An {@link OntologyHandler} instance representing
+	 *                             the considered ontology
+	 * @param pos_exist_rests      A {@link Set} of {@link ConceptNode} elements for
+	 *                             {@link OWLObjectSomeValuesFrom} instances
+	 * @param pos_univ_rests_table A {@link HashMap} using roles in form of
+	 *                             {@link OWLProperty} objects as keys to access
+	 *                             {@link ConceptNodeSet} for
+	 *                             {@link OWLClassExpression} instances
+	 * @param query                An {@link OWLClassExpression} object forming an
+	 *                             instance retrieval query
+	 * @param current_concept      An {@link OWLClassExpression} object
+	 * @param ref_exp              A {@link ProcessConRefExpression}
+	 * @param used_ex_rests        A {@link Set} of {@link OWLObjectSomeValuesFrom}
+	 *                             instances
+	 * @param sink                 A {@link Consumer} receiving the completed
+	 *                             {@link ConceptReferringExpression} objects
+	 */
+	protected void constructRefExpAnswers(OntologyHandler ontologyHandler,
+			ConceptNodeSet<OWLObjectSomeValuesFrom> pos_exist_rests,
+			HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> pos_univ_rests_table, OWLClassExpression query,
+			OWLClassExpression current_concept, ProcessConRefExpression ref_exp,
+			Set<OWLObjectSomeValuesFrom> used_ex_rests, Consumer<ConceptReferringExpression> sink) {
+		constructRefExpAnswers(ontologyHandler, pos_exist_rests, pos_univ_rests_table, query, current_concept, ref_exp,
+				used_ex_rests, sink, MetricsRecorder.DISABLED);
+	}
+
+	/**
+	 * Recursively construct concept referring expressions as described for
+	 * {@link #constructRefExpAnswers(OntologyHandler, ConceptNodeSet, HashMap, OWLClassExpression, OWLClassExpression, ProcessConRefExpression, Set, Consumer)},
+	 * where the depth of the recursion is recorded by {@code metrics}
+	 */
+	private void constructRefExpAnswers(OntologyHandler ontologyHandler,
+			ConceptNodeSet<OWLObjectSomeValuesFrom> pos_exist_rests,
+			HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> pos_univ_rests_table, OWLClassExpression query,
+			OWLClassExpression current_concept, ProcessConRefExpression ref_exp,
+			Set<OWLObjectSomeValuesFrom> used_ex_rests, Consumer<ConceptReferringExpression> sink,
+			MetricsRecorder metrics) {
+		metrics.recordDepth(ref_exp.refExpParts.size());
 
 		/*
 		 * find suitable existential restriction that may be applied for current concept
@@ -333,7 +938,7 @@ public class RefExpRetrieval {
 		 * check if answer for query found
 		 */
 		if (ontologyHandler.checkIfSubClass(current_concept, query)) {
-			completed_ref_exps.addAll(ref_exp.complete());
+			ref_exp.complete().forEach(sink);
 			// done after cycle-detection to ensure that completed referring expression
 			// really contain cycle-notation
 		}
@@ -341,6 +946,11 @@ public class RefExpRetrieval {
 		/*
 		 * continue construction of current referring expression
 		 */
+		RestrictionTaxonomy taxonomy = ontologyHandler.getRestrictionTaxonomy();
+		if (taxonomy != null) {
+			// name the new fillers, which are classified together with the next batch
+			next_rests.forEach(nxt_rest -> taxonomy.add(nxt_rest.getFiller()));
+		}
 		// consider each selected existential restriction ∃R.D
 		for (OWLObjectSomeValuesFrom nxt_rest : next_rests) {
 			// add current restriction to set of used ones
@@ -348,11 +958,9 @@ public class RefExpRetrieval {
 			new_used_rests.add(nxt_rest);
 			// recursive call with D as new current concept, extended referring expression
 			// and updated used_ex_rests set
-			completed_ref_exps.addAll(constructRefExpAnswers(ontologyHandler, pos_exist_rests, pos_univ_rests_table,
-					query, nxt_rest.getFiller(), ref_exp.getExtended(nxt_rest), new_used_rests));
+			constructRefExpAnswers(ontologyHandler, pos_exist_rests, pos_univ_rests_table, query, nxt_rest.getFiller(),
+					ref_exp.getExtended(nxt_rest), new_used_rests, sink, metrics);
 		}
-
-		return completed_ref_exps;
 	}
 
 	/**
@@ -461,6 +1069,39 @@ public class RefExpRetrieval {
 	protected Set<OWLObjectSomeValuesFrom> considerSubExistRestrictions(OntologyHandler ontologyHandler,
 			OWLClassExpression current_concept, ConceptNodeSet<OWLObjectSomeValuesFrom> nodes,
 			Set<OWLObjectSomeValuesFrom> candidates) {
+		return considerSubExistRestrictions(ontologyHandler, current_concept, nodes, candidates, new HashMap<>(),
+				new HashMap<>());
+	}
+
+	/**
+	 * Get the minimal existential restrictions {@code ∃R.D} with
+	 * {@code C ⊑ ∃R.D} from an ordered node hierarchy as described for
+	 * {@link #considerSubExistRestrictions(OntologyHandler, OWLClassExpression, ConceptNodeSet, Set)},
+	 * where the nodes of a role {@code R} (together with their sub-nodes) are
+	 * skipped without any check of their fillers if {@code C ⊑ ∃R.(TOP)} does
+	 * not hold. For candidates found in the hierarchy, role-concept-subsumption is
+	 * only checked for restrictions of the same role below their nodes (see
+	 * {@link ConceptNode#getDescendantConcepts()}), since no other restriction can
+	 * impede their minimality.
+	 * 
+	 * @param ontologyHandler  A {@link OntologyHandler} instance representing the
+	 *                         considered ontology
+	 * @param current_concept  A {@link OWLClassExpression} instance
+	 * @param nodes            A {@link ConceptNodeSet} for
+	 *                         {@link OWLObjectSomeValuesFrom} elements
+	 * @param candidates       A {@link Set} of {@link OWLObjectSomeValuesFrom}
+	 *                         objects representing potential answers (initially
+	 *                         empty)
+	 * @param applicable_roles A {@link HashMap} caching for each checked role if
+	 *                         {@code C ⊑ ∃R.(TOP)} holds (initially empty)
+	 * @param candidate_nodes  A {@link HashMap} relating the candidates found in
+	 *                         the hierarchy to their nodes (initially empty)
+	 * @return A {@link Set} containing the found minimal existential restrictions
+	 */
+	private Set<OWLObjectSomeValuesFrom> considerSubExistRestrictions(OntologyHandler ontologyHandler,
+			OWLClassExpression current_concept, ConceptNodeSet<OWLObjectSomeValuesFrom> nodes,
+			Set<OWLObjectSomeValuesFrom> candidates, HashMap<OWLObjectProperty, Boolean> applicable_roles,
+			HashMap<OWLObjectSomeValuesFrom, ConceptNode<OWLObjectSomeValuesFrom>> candidate_nodes) {
 
 		// collection for sub-candidates
 		ConceptNodeSet<OWLObjectSomeValuesFrom> sub_candidates = new ConceptNodeSet<>();
@@ -470,6 +1111,11 @@ public class RefExpRetrieval {
 			// get rest. ∃S.F from considered node
 			OWLObjectSomeValuesFrom ex_rest = node.getConcept();
 
+			// no restriction of the node's role can hold if C ⊑ ∃S.(TOP) does not
+			if (!isRoleApplicable(ontologyHandler, current_concept, ex_rest, applicable_roles)) {
+				continue;
+			}
+
 			if (!no_sorting) {
 				// check if C ⊑ ∃S.F for current_concept C
 				if (ontologyHandler.checkIfSubClass(current_concept, ex_rest)) {
@@ -481,7 +1127,15 @@ public class RefExpRetrieval {
 						// restrictions share same role, a super-node cannot impede minimality of a
 						// sub-node (except for equivalent filler concepts, in which case either the
 						// sub-node or the super-node may be considered minimal)
+						ConceptNode<OWLObjectSomeValuesFrom> cand_node = candidate_nodes.get(old_cand);
 						for (OWLObjectSomeValuesFrom sb : node.concepts) {
+							// F ⊑ G implies ∃S.F ⊑ ∃S.G, hence a restriction of the node has to share
+							// the role of a candidate found in the hierarchy and has to be below the
+							// candidate's node, where only the filler remains to be checked
+							if (cand_node != null && !(sb.getProperty().equals(old_cand.getProperty())
+									&& cand_node.getDescendantConcepts().contains(sb))) {
+								continue;
+							}
 							if (ontologyHandler.checkRoleConceptSubsumption(sb, old_cand)) {
 								// old candidate is not minimal
 								candidates.remove(old_cand);
@@ -492,8 +1146,9 @@ public class RefExpRetrieval {
 				// look for restrictions in subs of sub-nodes
 				for (ConceptNode<OWLObjectSomeValuesFrom> sub_cand : sub_candidates) {
 					candidates.addAll(sub_cand.concepts);
+					sub_cand.concepts.forEach(con -> candidate_nodes.put(con, sub_cand));
 					candidates = considerSubExistRestrictions(ontologyHandler, current_concept, sub_cand.subs,
-							candidates);
+							candidates, applicable_roles, candidate_nodes);
 				}
 			}
 
@@ -509,6 +1164,36 @@ public class RefExpRetrieval {
 		return candidates;
 	}
 
+	/**
+	 * Check if existential restrictions with the role {@code R} of a given
+	 * restriction may hold for a concept {@code C}, i.e., if
+	 * {@code C ⊑ ∃R.(TOP)} holds, where the result is cached per role
+	 * 
+	 * @param ontologyHandler  A {@link OntologyHandler} instance representing the
+	 *                         considered ontology
+	 * @param current_concept  A {@link OWLClassExpression} instance
+	 * @param ex_rest          An {@link OWLObjectSomeValuesFrom} instance
+	 * @param applicable_roles A {@link HashMap} caching the results for
+	 *                         {@code current_concept}
+	 * @return {@code true} if restrictions with the role of {@code ex_rest} may
+	 *         hold, else {@code false}
+	 */
+	private static boolean isRoleApplicable(OntologyHandler ontologyHandler, OWLClassExpression current_concept,
+			OWLObjectSomeValuesFrom ex_rest, HashMap<OWLObjectProperty, Boolean> applicable_roles) {
+		// ∃R.(TOP) itself needs no separate check
+		if (ex_rest.getFiller().isOWLThing()) {
+			return true;
+		}
+		OWLObjectProperty role = ex_rest.getProperty().asOWLObjectProperty();
+		Boolean applicable = applicable_roles.get(role);
+		if (applicable == null) {
+			applicable = ontologyHandler.checkIfSubClass(current_concept,
+					ontologyHandler.createRoleRestriction(role));
+			applicable_roles.put(role, applicable);
+		}
+		return applicable;
+	}
+
 	/**
 	 * A helper class to store a {@link OWLObjectProperty} {@code R} together with
 	 * an {@link OWLIndividual} {@code b} based on a
@@ -0,0 +1,131 @@
+package com.ai.cre.evaluation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable measurements for one {@link RetrievalPhase} of a retrieval run
+ *
+ */
+public class PhaseMetrics {
+
+	private final RetrievalPhase phase;
+
+	private final long wallTime;
+
+	private final long reasonerCalls;
+
+	private final long cacheHits;
+
+	private final int maxRecursionDepth;
+
+	private final long answers;
+
+	/**
+	 * 
+	 * @param phase             The measured {@link RetrievalPhase}
+	 * @param wallTime          A {@code long} value representing the elapsed time
+	 *                          in nanoseconds
+	 * @param reasonerCalls     A {@code long} value stating the number of
+	 *                          entailment checks performed by reasoners
+	 * @param cacheHits         A {@code long} value stating the number of
+	 *                          entailment checks answered by the cache
+	 * @param maxRecursionDepth An {@code int} value stating the maximal length of
+	 *                          a (partial) referring expression
+	 * @param answers           A {@code long} value stating the number of emitted
+	 *                          referring expressions
+	 */
+	public PhaseMetrics(RetrievalPhase phase, long wallTime, long reasonerCalls, long cacheHits,
+			int maxRecursionDepth, long answers) {
+		this.phase = phase;
+		this.wallTime = wallTime;
+		this.reasonerCalls = reasonerCalls;
+		this.cacheHits = cacheHits;
+		this.maxRecursionDepth = maxRecursionDepth;
+		this.answers = answers;
+	}
+
+	/**
+	 * Combine these measurements with the ones of another execution of the same
+	 * phase
+	 * 
+	 * @param other A {@link PhaseMetrics} object for the same
+	 *              {@link RetrievalPhase}
+	 * @return A new {@link PhaseMetrics} object
+	 */
+	public PhaseMetrics combine(PhaseMetrics other) {
+		return new PhaseMetrics(phase, wallTime + other.wallTime, reasonerCalls + other.reasonerCalls,
+				cacheHits + other.cacheHits, Math.max(maxRecursionDepth, other.maxRecursionDepth),
+				answers + other.answers);
+	}
+
+	public RetrievalPhase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Get the elapsed (wall-clock) time of the phase
+	 * 
+	 * @return A {@code long} value representing nanoseconds
+	 */
+	public long getWallTimeNanos() {
+		return wallTime;
+	}
+
+	/**
+	 * Get the elapsed (wall-clock) time of the phase
+	 * 
+	 * @return A {@code long} value representing milliseconds
+	 */
+	public long getWallTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(wallTime);
+	}
+
+	/**
+	 * Get the number of entailment checks performed by reasoners during the phase
+	 * (see {@link com.ai.cre.ontology.OntologyHandler#getReasonerCallCount()})
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getReasonerCalls() {
+		return reasonerCalls;
+	}
+
+	/**
+	 * Get the number of entailment checks answered by the
+	 * {@link com.ai.cre.ontology.EntailmentCache} during the phase
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * Get the maximal recursion depth reached during the phase, i.e., the maximal
+	 * number of restrictions of a (partial) referring expression, which is only
+	 * recorded for {@link RetrievalPhase#CONSTRUCTION}
+	 * 
+	 * @return A non-negative {@code int} value
+	 */
+	public int getMaxRecursionDepth() {
+		return maxRecursionDepth;
+	}
+
+	/**
+	 * Get the number of referring expressions emitted during the phase (before
+	 * any deduplication), which is only recorded for
+	 * {@link RetrievalPhase#CONSTRUCTION}
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getAnswers() {
+		return answers;
+	}
+
+	@Override
+	public String toString() {
+		return phase + "[time=" + getWallTimeMillis() + " ms, reasoner calls=" + reasonerCalls + ", cache hits="
+				+ cacheHits + ", max depth=" + maxRecursionDepth + ", answers=" + answers + "]";
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.ai.cre.evaluation;
+
+/**
+ * A listener that is informed about the phases of the runs of a
+ * {@link com.ai.cre.algo.RefExpRetrieval} instance (see
+ * {@link com.ai.cre.algo.RefExpRetrieval#setListener}). Its methods are called
+ * by the thread that started the run.
+ *
+ */
+public interface RetrievalListener {
+
+	/**
+	 * Called when a phase is entered
+	 * 
+	 * @param phase A {@link RetrievalPhase}
+	 */
+	default void phaseStarted(RetrievalPhase phase) {
+	}
+
+	/**
+	 * Called when a phase is completed
+	 * 
+	 * @param metrics The {@link PhaseMetrics} recorded for the phase
+	 */
+	default void phaseFinished(PhaseMetrics metrics) {
+	}
+
+	/**
+	 * Called when a run (e.g., a call of
+	 * {@link com.ai.cre.algo.RefExpRetrieval#prepare}) is completed
+	 * 
+	 * @param metrics The {@link RetrievalMetrics} of all phases of the run
+	 */
+	void runFinished(RetrievalMetrics metrics);
+
+}
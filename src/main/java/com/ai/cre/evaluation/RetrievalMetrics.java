@@ -0,0 +1,91 @@
+package com.ai.cre.evaluation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the {@link PhaseMetrics} recorded for the phases of
+ * one retrieval run, where phases that were not executed (e.g., the sorting
+ * phases if sorting is disabled) are missing
+ *
+ */
+public class RetrievalMetrics {
+
+	private final Map<RetrievalPhase, PhaseMetrics> phases;
+
+	/**
+	 * 
+	 * @param phases A {@link Map} from {@link RetrievalPhase} to the
+	 *               {@link PhaseMetrics} recorded for it (copied)
+	 */
+	public RetrievalMetrics(Map<RetrievalPhase, PhaseMetrics> phases) {
+		EnumMap<RetrievalPhase, PhaseMetrics> copy = new EnumMap<>(RetrievalPhase.class);
+		copy.putAll(phases);
+		this.phases = Collections.unmodifiableMap(copy);
+	}
+
+	/**
+	 * Get the measurements for a given phase
+	 * 
+	 * @param phase A {@link RetrievalPhase}
+	 * @return A {@link PhaseMetrics} object or {@code null} if the phase was not
+	 *         executed
+	 */
+	public PhaseMetrics get(RetrievalPhase phase) {
+		return phases.get(phase);
+	}
+
+	/**
+	 * Get the measurements of every executed phase
+	 * 
+	 * @return An unmodifiable {@link Map} ordered by {@link RetrievalPhase}
+	 */
+	public Map<RetrievalPhase, PhaseMetrics> getPhases() {
+		return phases;
+	}
+
+	/**
+	 * Get the summed up wall time of all phases
+	 * 
+	 * @return A {@code long} value representing nanoseconds
+	 */
+	public long getTotalWallTimeNanos() {
+		return phases.values().stream().mapToLong(PhaseMetrics::getWallTimeNanos).sum();
+	}
+
+	/**
+	 * Get the number of entailment checks performed by reasoners in all phases
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getTotalReasonerCalls() {
+		return phases.values().stream().mapToLong(PhaseMetrics::getReasonerCalls).sum();
+	}
+
+	/**
+	 * Get the number of entailment checks answered by the cache in all phases
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getTotalCacheHits() {
+		return phases.values().stream().mapToLong(PhaseMetrics::getCacheHits).sum();
+	}
+
+	/**
+	 * Get the number of emitted referring expressions
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getAnswers() {
+		return phases.values().stream().mapToLong(PhaseMetrics::getAnswers).sum();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("RetrievalMetrics:");
+		phases.values().forEach(metrics -> sb.append(System.lineSeparator()).append(" ").append(metrics));
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.ai.cre.evaluation;
+
+/**
+ * The phases of a run of {@link com.ai.cre.algo.RefExpRetrieval} for which
+ * {@link PhaseMetrics} are recorded
+ *
+ */
+public enum RetrievalPhase {
+	/**
+	 * collection of the existential and universal restrictions that may be used
+	 * for the construction of referring expressions
+	 */
+	RESTRICTION_COLLECTION,
+	/**
+	 * sorting of the existential restrictions by subsumption
+	 */
+	EXIST_SORTING,
+	/**
+	 * sorting of the universal restrictions (for each role) by subsumption
+	 */
+	UNIV_SORTING,
+	/**
+	 * sorting of all existential and universal restrictions by means of one
+	 * shared classification
+	 */
+	SHARED_SORTING,
+	/**
+	 * computation of the most specific concepts of every individual
+	 */
+	MOST_SPECIFIC_CONCEPTS,
+	/**
+	 * combination of individuals with equal concepts and role assertions to
+	 * groups
+	 */
+	GROUPING,
+	/**
+	 * classification of the restrictions, the query and the concepts of the
+	 * groups named by fresh atoms (if pre-classification is used)
+	 */
+	PRE_CLASSIFICATION,
+	/**
+	 * construction of the referring expressions for every group of individuals
+	 */
+	CONSTRUCTION
+}
@@ -12,7 +12,9 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
+import com.ai.cre.algo.PreparedOntology;
 import com.ai.cre.algo.RefExpRetrieval;
+import com.ai.cre.ontology.OntologyHandler;
 import com.ai.cre.representation.ConceptReferringExpression;
 
 /**
@@ -46,19 +48,31 @@ public class RuntimeEvaluation {
 		boolean apply_sorting = true;
 
 		int repetitions = 5;
-		System.out.println("Runtime measurements (average of " + repetitions + " runs):");
+		System.out.println("Runtime measurements (query time as average of " + repetitions + " runs):");
 		System.out.println(
 				(apply_sorting ? " with" : " without") + " subsumption hierarchies for exist. + univ. restrictions");
 
 		Collection<ConceptReferringExpression> answers = null;
 		for (OWLOntology ontology : ontologies) {
+			RefExpRetrieval retrieval = new RefExpRetrieval(apply_sorting);
+			OntologyHandler ontologyHandler = new OntologyHandler(ontology);
+			// compute query-independent structures only once and keep the metrics of
+			// their phases
+			List<RetrievalMetrics> preparation = new LinkedList<>();
+			retrieval.setListener(metrics -> preparation.add(metrics));
+			PreparedOntology prepared = retrieval.prepare(ontologyHandler);
+			retrieval.setListener(null);
 			long start = System.currentTimeMillis();
 			for (int i = 0; i < repetitions; i++) {
-				answers = new RefExpRetrieval(apply_sorting).getInstanceReferringExpressions(ontology, query);
+				answers = retrieval.getInstanceReferringExpressions(prepared, query);
 			}
 			long end = System.currentTimeMillis();
+			ontologyHandler.dispose();
 			System.out.println(ontology.getOntologyID().getOntologyIRI().get());
-			System.out.println("time: " + (end - start) / repetitions + " ms");
+			System.out.println("preparation time: " + prepared.getPreparationTime() + " ms");
+			preparation.forEach(metrics -> metrics.getPhases().values()
+					.forEach(phase -> System.out.println(" " + phase)));
+			System.out.println("query time: " + (end - start) / repetitions + " ms");
 
 			System.out.println("#answers: " + answers.size());
 			System.out.println();
@@ -0,0 +1,224 @@
+package com.ai.cre.ontology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLClassExpressionVisitorEx;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDisjointClassesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointUnionAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectComplementOf;
+import org.semanticweb.owlapi.model.OWLObjectExactCardinality;
+import org.semanticweb.owlapi.model.OWLObjectHasSelf;
+import org.semanticweb.owlapi.model.OWLObjectHasValue;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectMaxCardinality;
+import org.semanticweb.owlapi.model.OWLObjectMinCardinality;
+import org.semanticweb.owlapi.model.OWLObjectOneOf;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiomShortCut;
+
+/**
+ * An implementation of {@link OWLClassExpressionVisitorEx} that returns a copy
+ * of the visited {@link OWLClassExpression} in which every atomic concept
+ * {@code A} (except TOP and BOTTOM) is replaced by an existential restriction
+ * {@code ∃A.(TOP)} using a role with the same IRI as {@code A}, such that
+ * {@code A} is no longer considered for classification while the semantics of
+ * the expression are kept
+ *
+ */
+public class AtomicConceptReplacer implements OWLClassExpressionVisitorEx<OWLClassExpression> {
+
+	private final OWLDataFactory factory;
+
+	/**
+	 *
+	 * @param factory An {@link OWLDataFactory} used to create the new expressions
+	 */
+	public AtomicConceptReplacer(OWLDataFactory factory) {
+		this.factory = factory;
+	}
+
+	@Override
+	public OWLClassExpression doDefault(Object object) {
+		// keep unsupported expressions unchanged
+		return (OWLClassExpression) object;
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLClass ce) {
+		if (ce.isOWLThing() || ce.isOWLNothing()) {
+			return ce;
+		}
+		return factory.getOWLObjectSomeValuesFrom(factory.getOWLObjectProperty(ce.getIRI()), factory.getOWLThing());
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectIntersectionOf ce) {
+		return factory.getOWLObjectIntersectionOf(ce.operands().map(c -> c.accept(this)).collect(Collectors.toList()));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectUnionOf ce) {
+		return factory.getOWLObjectUnionOf(ce.operands().map(c -> c.accept(this)).collect(Collectors.toList()));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectComplementOf ce) {
+		return factory.getOWLObjectComplementOf(ce.getOperand().accept(this));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectSomeValuesFrom ce) {
+		return factory.getOWLObjectSomeValuesFrom(ce.getProperty(), ce.getFiller().accept(this));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectAllValuesFrom ce) {
+		return factory.getOWLObjectAllValuesFrom(ce.getProperty(), ce.getFiller().accept(this));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectMinCardinality ce) {
+		return factory.getOWLObjectMinCardinality(ce.getCardinality(), ce.getProperty(), ce.getFiller().accept(this));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectMaxCardinality ce) {
+		return factory.getOWLObjectMaxCardinality(ce.getCardinality(), ce.getProperty(), ce.getFiller().accept(this));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectExactCardinality ce) {
+		return factory.getOWLObjectExactCardinality(ce.getCardinality(), ce.getProperty(),
+				ce.getFiller().accept(this));
+	}
+
+	@Override
+	public OWLClassExpression visit(OWLObjectHasSelf ce) {
+		return ce;
+	}
+
+	/**
+	 * Check if an expression (or axiom) contains a nominal, i.e., an
+	 * {@link OWLObjectOneOf} or {@link OWLObjectHasValue} expression, whose
+	 * subsumptions may depend on the ABox
+	 * 
+	 * @param object An {@link OWLObject}
+	 * @return {@code true} if {@code object} contains a nominal, else
+	 *         {@code false}
+	 */
+	public static boolean containsNominals(OWLObject object) {
+		return object.nestedClassExpressions()
+				.anyMatch(con -> con instanceof OWLObjectOneOf || con instanceof OWLObjectHasValue);
+	}
+
+	/**
+	 * Check if an expression (or axiom) created by the replacer is free of atomic
+	 * concepts (except TOP and BOTTOM), i.e., if every sub-expression has been
+	 * supported
+	 * 
+	 * @param replaced An {@link OWLObject}
+	 * @return {@code true} if no atomic concept remains, else {@code false}
+	 */
+	public boolean isFullyReplaced(OWLObject replaced) {
+		return replaced.classesInSignature().allMatch(cls -> cls.isOWLThing() || cls.isOWLNothing());
+	}
+
+	/**
+	 * Get the replaced form of a TBox or RBox axiom, where concept inclusions,
+	 * equivalences and disjointness axioms (including disjoint unions) are
+	 * translated by replacing their concepts, other axioms that are equivalent to
+	 * a concept inclusion (e.g. domain and range axioms) are translated by means
+	 * of this inclusion, and axioms without atomic concepts (e.g. role inclusions,
+	 * inverse roles and role chains) are kept unchanged
+	 * 
+	 * @param ax An {@link OWLAxiom}
+	 * @return A {@link List} of {@link OWLAxiom} objects or {@code null} if
+	 *         {@code ax} cannot be translated
+	 */
+	public List<OWLAxiom> getReplacedAxioms(OWLAxiom ax) {
+		List<OWLAxiom> axioms = new ArrayList<>();
+		if (ax instanceof OWLSubClassOfAxiom) {
+			OWLSubClassOfAxiom sub_ax = (OWLSubClassOfAxiom) ax;
+			axioms.add(factory.getOWLSubClassOfAxiom(sub_ax.getSubClass().accept(this),
+					sub_ax.getSuperClass().accept(this)));
+		} else if (ax instanceof OWLEquivalentClassesAxiom) {
+			axioms.add(factory.getOWLEquivalentClassesAxiom(((OWLEquivalentClassesAxiom) ax).classExpressions()
+					.map(c -> c.accept(this)).collect(Collectors.toList())));
+		} else if (ax instanceof OWLDisjointClassesAxiom) {
+			axioms.add(factory.getOWLDisjointClassesAxiom(((OWLDisjointClassesAxiom) ax).classExpressions()
+					.map(c -> c.accept(this)).collect(Collectors.toList())));
+		} else if (ax instanceof OWLDisjointUnionAxiom) {
+			OWLDisjointUnionAxiom union_ax = (OWLDisjointUnionAxiom) ax;
+			List<OWLAxiom> equivalence = getReplacedAxioms(union_ax.getOWLEquivalentClassesAxiom());
+			List<OWLAxiom> disjointness = getReplacedAxioms(union_ax.getOWLDisjointClassesAxiom());
+			if (equivalence == null || disjointness == null) {
+				return null;
+			}
+			axioms.addAll(equivalence);
+			axioms.addAll(disjointness);
+		} else if (ax instanceof OWLSubClassOfAxiomShortCut) {
+			return getReplacedAxioms(((OWLSubClassOfAxiomShortCut) ax).asOWLSubClassOfAxiom());
+		} else {
+			axioms.add(ax);
+		}
+		// unsupported expressions are kept unchanged and would not be related to
+		// their replaced atomic concepts
+		for (OWLAxiom replaced : axioms) {
+			if (!isFullyReplaced(replaced)) {
+				return null;
+			}
+		}
+		return axioms;
+	}
+
+	/**
+	 * Get the logical TBox and RBox axioms of an ontology with every atomic
+	 * concept replaced (see {@link #getReplacedAxioms(OWLAxiom)}), where axioms
+	 * that cannot be translated are skipped. ABox axioms are skipped as well,
+	 * since they do not affect subsumptions w.r.t. a consistent ontology without
+	 * nominals.
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 * @return A {@link List} of {@link OWLAxiom} objects
+	 */
+	public List<OWLAxiom> getReplacedAxioms(OWLOntology ontology) {
+		List<OWLAxiom> axioms = new ArrayList<>();
+		ontology.logicalAxioms().filter(ax -> !(ax instanceof OWLIndividualAxiom)).forEach(ax -> {
+			List<OWLAxiom> replaced = getReplacedAxioms(ax);
+			if (replaced != null) {
+				axioms.addAll(replaced);
+			}
+		});
+		return axioms;
+	}
+
+	/**
+	 * Check if every logical TBox and RBox axiom of an ontology can be translated
+	 * by {@link #getReplacedAxioms(OWLAxiom)} and contains no nominals (see
+	 * {@link #containsNominals}), i.e., if the subsumptions between replaced
+	 * concepts w.r.t. {@link #getReplacedAxioms(OWLOntology)} are exactly the ones
+	 * w.r.t. the ontology (if it is consistent)
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 * @return {@code true} if no axiom is skipped and the skipped ABox does not
+	 *         matter, else {@code false}
+	 */
+	public boolean isFullyReplaceable(OWLOntology ontology) {
+		return ontology.logicalAxioms().filter(ax -> !(ax instanceof OWLIndividualAxiom))
+				.allMatch(ax -> !containsNominals(ax) && getReplacedAxioms(ax) != null);
+	}
+
+}
@@ -0,0 +1,190 @@
+package com.ai.cre.ontology;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.Node;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * An index of the class hierarchy of an ontology computed by a reasoner that
+ * answers subsumption checks {@code A ⊑ B} between atomic concepts without
+ * further reasoner calls. Each class gets a dense id (assigned breadth-first
+ * from TOP, such that super-classes tend to have smaller ids) and the ids of
+ * its (reflexive) super-classes are stored in a {@link BitSet}.
+ *
+ */
+public class ClassHierarchyIndex {
+
+	/**
+	 * Dense ids of the indexed classes
+	 */
+	private final Map<OWLClass, Integer> ids = new HashMap<>();
+
+	/**
+	 * The ids of the super-classes (including equivalent classes and the class
+	 * itself) for each id, where {@code null} marks unsatisfiable classes
+	 */
+	private final BitSet[] ancestors;
+
+	/**
+	 * Time (in nanoseconds) needed to create the index
+	 */
+	private final long buildTime;
+
+	/**
+	 * Classify the ontology by means of the given reasoner (if not done already)
+	 * and create the index for every class in its signature
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 * @param reasoner An {@link OWLReasoner} for {@code ontology}
+	 */
+	public ClassHierarchyIndex(OWLOntology ontology, OWLReasoner reasoner) {
+		long start = System.nanoTime();
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+
+		// assign ids level by level starting with TOP
+		Node<OWLClass> top = reasoner.getTopClassNode();
+		Queue<Node<OWLClass>> queue = new ArrayDeque<>();
+		queue.add(top);
+		while (!queue.isEmpty()) {
+			Node<OWLClass> node = queue.poll();
+			if (node.isBottomNode() || ids.containsKey(node.getRepresentativeElement())) {
+				continue;
+			}
+			node.entities().forEach(cls -> ids.putIfAbsent(cls, ids.size()));
+			reasoner.getSubClasses(node.getRepresentativeElement(), true).nodes().forEach(queue::add);
+		}
+		Set<OWLClass> unsatisfiable = reasoner.getUnsatisfiableClasses().entities().collect(Collectors.toSet());
+		// classes not reached from TOP, i.e., unsatisfiable ones
+		ontology.classesInSignature().forEach(cls -> ids.putIfAbsent(cls, ids.size()));
+		unsatisfiable.forEach(cls -> ids.putIfAbsent(cls, ids.size()));
+
+		ancestors = new BitSet[ids.size()];
+		ids.forEach((cls, id) -> {
+			if (!unsatisfiable.contains(cls)) {
+				BitSet bits = new BitSet();
+				bits.set(id);
+				reasoner.getEquivalentClasses(cls).entities().forEach(eq -> setBit(bits, eq));
+				reasoner.getSuperClasses(cls, false).entities().forEach(sup -> setBit(bits, sup));
+				ancestors[id] = bits;
+			}
+		});
+		buildTime = System.nanoTime() - start;
+	}
+
+	private void setBit(BitSet bits, OWLClass cls) {
+		Integer id = ids.get(cls);
+		if (id != null) {
+			bits.set(id);
+		}
+	}
+
+	/**
+	 * Check if {@code c ⊑ d} holds for two atomic concepts
+	 * 
+	 * @param c An {@link OWLClass}
+	 * @param d An {@link OWLClass}
+	 * @return {@link Boolean#TRUE} or {@link Boolean#FALSE} if the answer is
+	 *         known, or {@code null} if one of the classes is not indexed
+	 */
+	public Boolean isSubClass(OWLClass c, OWLClass d) {
+		if (c.equals(d) || d.isOWLThing() || c.isOWLNothing()) {
+			return Boolean.TRUE;
+		}
+		Integer c_id = ids.get(c);
+		Integer d_id = ids.get(d);
+		if (c_id == null || d_id == null) {
+			return null;
+		}
+		BitSet bits = ancestors[c_id];
+		// unsatisfiable classes are subsumed by every class
+		return bits == null || bits.get(d_id);
+	}
+
+	/**
+	 * Get the id of an indexed class
+	 * 
+	 * @param c An {@link OWLClass}
+	 * @return A non-negative {@code int} value or {@code -1} if {@code c} is not
+	 *         indexed
+	 */
+	public int getId(OWLClass c) {
+		Integer id = ids.get(c);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Get the ids of the super-classes (including equivalent classes and the
+	 * class itself) of an indexed class
+	 * 
+	 * @param c An {@link OWLClass}
+	 * @return A copy of the {@link BitSet} of the ids or {@code null} if {@code c}
+	 *         is not indexed or unsatisfiable
+	 */
+	public BitSet getAncestors(OWLClass c) {
+		Integer id = ids.get(c);
+		if (id == null || ancestors[id] == null) {
+			return null;
+		}
+		return (BitSet) ancestors[id].clone();
+	}
+
+	/**
+	 * Check if a class is contained in the index
+	 * 
+	 * @param c An {@link OWLClass}
+	 * @return {@code true} if {@link #isSubClass} can answer checks for {@code c}
+	 */
+	public boolean contains(OWLClass c) {
+		return ids.containsKey(c);
+	}
+
+	/**
+	 * Get the number of indexed classes
+	 * 
+	 * @return An {@code int} value
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Get the time needed to create the index (including the classification)
+	 * 
+	 * @return A {@code long} value representing milliseconds
+	 */
+	public long getBuildTimeMillis() {
+		return buildTime / 1000000;
+	}
+
+	/**
+	 * Get a rough estimate of the memory occupied by the ancestor sets
+	 * 
+	 * @return A {@code long} value representing bytes
+	 */
+	public long estimateMemoryBytes() {
+		long bytes = 0;
+		for (BitSet bits : ancestors) {
+			if (bits != null) {
+				bytes += bits.size() / 8;
+			}
+		}
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "ClassHierarchyIndex[classes=" + size() + ", build time=" + getBuildTimeMillis() + " ms, ~"
+				+ estimateMemoryBytes() / 1024 + " KiB]";
+	}
+
+}
@@ -0,0 +1,213 @@
+package com.ai.cre.ontology;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+
+/**
+ * A thread-safe interner for constructed class expressions, which makes sure
+ * that equal expressions are represented by a single shared instance.
+ * Furthermore, the most specific reduction of a conjunct set (which requires
+ * subsumption checks) is memoized for the normalized set, i.e., nested
+ * conjunctions are flattened and the conjuncts are sorted by the (stable)
+ * order of {@link org.semanticweb.owlapi.model.OWLObject#compareTo}, such that
+ * every way of building the same conjunction results in the same instance.
+ *
+ */
+public class ConceptInterner {
+
+	/**
+	 * Maximal number of interned expressions and memoized reductions used if no
+	 * other size is specified
+	 */
+	public static final int DEFAULT_MAX_SIZE = 100000;
+
+	private final OWLDataFactory factory;
+
+	/**
+	 * Maximal number of entries of {@link #expressions} and {@link #reductions}
+	 * each, where a table exceeding the size is cleared
+	 */
+	private final int maxSize;
+
+	/**
+	 * The shared instance of every interned expression
+	 */
+	private final Map<OWLClassExpression, OWLClassExpression> expressions = new ConcurrentHashMap<>();
+
+	/**
+	 * The most specific conjunction for normalized conjunct lists
+	 */
+	private final Map<List<OWLClassExpression>, OWLObjectIntersectionOf> reductions = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Create a {@link ConceptInterner} with {@link #DEFAULT_MAX_SIZE} entries
+	 *
+	 * @param factory An {@link OWLDataFactory} used to create the expressions
+	 */
+	public ConceptInterner(OWLDataFactory factory) {
+		this(factory, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a {@link ConceptInterner}
+	 *
+	 * @param factory An {@link OWLDataFactory} used to create the expressions
+	 * @param maxSize A positive {@code int} stating the maximal number of
+	 *                interned expressions and memoized reductions
+	 */
+	public ConceptInterner(OWLDataFactory factory, int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maximal interner size must be positive: " + maxSize);
+		}
+		this.factory = factory;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the shared instance of an expression
+	 *
+	 * @param <T>  extends {@link OWLClassExpression}
+	 * @param expr A {@link T} instance
+	 * @return The interned instance equal to {@code expr}
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends OWLClassExpression> T intern(T expr) {
+		OWLClassExpression shared = expressions.get(expr);
+		if (shared == null) {
+			if (expressions.size() >= maxSize) {
+				expressions.clear();
+			}
+			shared = expressions.putIfAbsent(expr, expr);
+			if (shared == null) {
+				return expr;
+			}
+		}
+		return (T) shared;
+	}
+
+	/**
+	 * Normalize a collection of conjuncts, i.e., flatten nested conjunctions,
+	 * remove duplicates and sort the conjuncts
+	 *
+	 * @param conjuncts A {@link Collection} of {@link OWLClassExpression} elements
+	 * @return A sorted {@link List} of {@link OWLClassExpression} elements that
+	 *         are no conjunctions
+	 */
+	public static List<OWLClassExpression> normalize(Collection<? extends OWLClassExpression> conjuncts) {
+		Set<OWLClassExpression> sorted = new TreeSet<>();
+		for (OWLClassExpression con : conjuncts) {
+			// asConjunctSet flattens nested conjunctions
+			sorted.addAll(con.asConjunctSet());
+		}
+		return new ArrayList<>(sorted);
+	}
+
+	/**
+	 * Get the shared conjunction of the given concepts
+	 *
+	 * @param conjuncts A non-empty {@link Collection} of {@link OWLClassExpression}
+	 *                  elements
+	 * @return The interned only element of {@code conjuncts} or an interned
+	 *         {@link OWLObjectIntersectionOf} of them (where nested conjunctions
+	 *         are kept)
+	 */
+	public OWLClassExpression getConjunction(Collection<? extends OWLClassExpression> conjuncts) {
+		if (conjuncts.size() == 1) {
+			return intern(conjuncts.iterator().next());
+		}
+		return intern(factory.getOWLObjectIntersectionOf(conjuncts));
+	}
+
+	/**
+	 * Get the shared conjunction of the most specific concepts among the given
+	 * conjuncts, where the reduction is only computed once per normalized
+	 * conjunct set
+	 *
+	 * @param conjuncts A {@link Collection} of {@link OWLClassExpression} elements
+	 * @param reduction A {@link Function} selecting the most specific concepts from
+	 *                  a normalized list of conjuncts (e.g. by means of a
+	 *                  {@link MostSpecificConceptSet})
+	 * @return An interned {@link OWLObjectIntersectionOf}
+	 */
+	public OWLObjectIntersectionOf getMostSpecificConjunction(Collection<? extends OWLClassExpression> conjuncts,
+			Function<List<OWLClassExpression>, Set<OWLClassExpression>> reduction) {
+		List<OWLClassExpression> normalized = normalize(conjuncts);
+		OWLObjectIntersectionOf result = reductions.get(normalized);
+		if (result != null) {
+			hits.increment();
+			return result;
+		}
+		misses.increment();
+		// reduce outside of the map to not block other threads during reasoning
+		result = intern(factory.getOWLObjectIntersectionOf(reduction.apply(normalized)));
+		if (reductions.size() >= maxSize) {
+			reductions.clear();
+		}
+		OWLObjectIntersectionOf previous = reductions.putIfAbsent(normalized, result);
+		return previous == null ? result : previous;
+	}
+
+	/**
+	 * Discard the memoized reductions, e.g., after the ontology they have been
+	 * computed for has changed
+	 */
+	public void clearReductions() {
+		reductions.clear();
+	}
+
+	/**
+	 * Discard every interned expression and memoized reduction
+	 */
+	public void clear() {
+		expressions.clear();
+		reductions.clear();
+	}
+
+	/**
+	 * Get the number of interned expressions
+	 *
+	 * @return A non-negative {@code int} value
+	 */
+	public int size() {
+		return expressions.size();
+	}
+
+	/**
+	 * Get the number of reductions answered by a memoized result
+	 *
+	 * @return A non-negative {@code long} value
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of reductions that had to be computed
+	 *
+	 * @return A non-negative {@code long} value
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "ConceptInterner[expressions=" + expressions.size() + ", reductions=" + reductions.size() + ", hits="
+				+ hits.sum() + ", misses=" + misses.sum() + "]";
+	}
+
+}
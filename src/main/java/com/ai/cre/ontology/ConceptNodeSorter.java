@@ -0,0 +1,32 @@
+package com.ai.cre.ontology;
+
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+
+import com.ai.cre.representation.ConceptNode;
+
+/**
+ * A strategy that sorts concept nodes in a hierarchy based on subsumption,
+ * which an {@link OntologyHandler} uses for the nodes it creates itself (see
+ * {@link OntologyHandler#setNodeSorter})
+ *
+ */
+@FunctionalInterface
+public interface ConceptNodeSorter {
+
+	/**
+	 * Sort the given nodes in a hierarchy based on subsumption, where equivalent
+	 * concepts are merged into one node
+	 *
+	 * @param <C>         A subclass of {@link OWLClassExpression} defining the type
+	 *                    of concepts represented by the nodes
+	 * @param ontoHandler An {@link OntologyHandler} for the subsumption checks
+	 * @param nodes       A {@link Set} of {@link ConceptNode} elements
+	 *                    representing concepts of type {@code C}
+	 * @return A {@link Set} of {@link ConceptNode} objects that represent the top
+	 *         nodes of the hierarchy
+	 */
+	<C extends OWLClassExpression> Set<ConceptNode<C>> sort(OntologyHandler ontoHandler, Set<ConceptNode<C>> nodes);
+
+}
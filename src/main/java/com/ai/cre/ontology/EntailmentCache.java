@@ -0,0 +1,241 @@
+package com.ai.cre.ontology;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+/**
+ * A bounded, thread-safe cache storing both positive and negative results of
+ * entailment checks, where each result is identified by the checked
+ * {@link OWLAxiom} (and thus by the class expressions it is built from)
+ *
+ */
+public class EntailmentCache {
+
+	/**
+	 * Strategies to select the entry that is removed if the cache exceeds its
+	 * maximal size
+	 */
+	public enum EvictionPolicy {
+		/**
+		 * remove the least recently accessed entry
+		 */
+		LRU,
+		/**
+		 * remove the entry that was added first
+		 */
+		FIFO
+	}
+
+	/**
+	 * Maximal number of entries used if no other size is specified
+	 */
+	public static final int DEFAULT_MAX_SIZE = 100000;
+
+	/**
+	 * Maximal number of stored entailment results
+	 */
+	private final int maxSize;
+
+	/**
+	 * The applied {@link EvictionPolicy}
+	 */
+	private final EvictionPolicy policy;
+
+	/**
+	 * Stored entailment results, ordered w.r.t. {@link #policy}
+	 */
+	private final LinkedHashMap<OWLAxiom, Boolean> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Create an {@link EntailmentCache} with {@link #DEFAULT_MAX_SIZE} entries
+	 * using {@link EvictionPolicy#LRU}
+	 */
+	public EntailmentCache() {
+		this(DEFAULT_MAX_SIZE, EvictionPolicy.LRU);
+	}
+
+	/**
+	 * Create an {@link EntailmentCache} with given size and eviction policy
+	 *
+	 * @param maxSize A positive {@code int} stating the maximal number of stored
+	 *                results
+	 * @param policy  The {@link EvictionPolicy} to apply when {@code maxSize} is
+	 *                exceeded
+	 */
+	public EntailmentCache(int maxSize, EvictionPolicy policy) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maximal cache size must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.policy = policy;
+		// access order is only needed for LRU
+		this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, policy == EvictionPolicy.LRU) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<OWLAxiom, Boolean> eldest) {
+				if (size() > EntailmentCache.this.maxSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Check if a given axiom is entailed, using a stored result if available and
+	 * otherwise computing (and storing) it by means of {@code check}
+	 * <p>
+	 * Note: {@code check} is called without holding the cache's lock, i.e.,
+	 * concurrent calls for the same axiom may both compute the result
+	 * </p>
+	 *
+	 * @param axiom An {@link OWLAxiom}
+	 * @param check A {@link Predicate} performing the actual entailment check
+	 *              (usually a reasoner call)
+	 * @return {@code true} if {@code axiom} is entailed, else {@code false}
+	 */
+	public boolean isEntailed(OWLAxiom axiom, Predicate<OWLAxiom> check) {
+		Boolean entailed = get(axiom);
+		if (entailed == null) {
+			entailed = check.test(axiom);
+			put(axiom, entailed);
+		}
+		return entailed;
+	}
+
+	/**
+	 * Get the stored entailment result for a given axiom
+	 *
+	 * @param axiom An {@link OWLAxiom}
+	 * @return A {@link Boolean} or {@code null} if no result is stored for
+	 *         {@code axiom}
+	 */
+	public Boolean get(OWLAxiom axiom) {
+		Boolean entailed;
+		synchronized (entries) {
+			entailed = entries.get(axiom);
+		}
+		if (entailed == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return entailed;
+	}
+
+	/**
+	 * Store the entailment result for a given axiom
+	 *
+	 * @param axiom    An {@link OWLAxiom}
+	 * @param entailed A {@code boolean} stating if {@code axiom} is entailed
+	 */
+	public void put(OWLAxiom axiom, boolean entailed) {
+		synchronized (entries) {
+			entries.put(axiom, entailed);
+		}
+	}
+
+	/**
+	 * Remove every stored result, e.g., because the considered ontology changed
+	 * (the counters are kept)
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Get the number of currently stored results
+	 *
+	 * @return An {@code int} value
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Get the maximal number of stored results
+	 *
+	 * @return A positive {@code int} value
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the applied eviction policy
+	 *
+	 * @return An {@link EvictionPolicy}
+	 */
+	public EvictionPolicy getEvictionPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Get the number of lookups for which a stored result was found
+	 *
+	 * @return A {@code long} value
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of lookups for which no stored result was found
+	 *
+	 * @return A {@code long} value
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of results that were removed due to exceeding
+	 * {@link #maxSize}
+	 *
+	 * @return A {@code long} value
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Get the share of lookups for which a stored result was found
+	 *
+	 * @return A {@code double} between 0 and 1 (0 if no lookup happened yet)
+	 */
+	public double getHitRate() {
+		long h = hits.sum();
+		long total = h + misses.sum();
+		return total == 0 ? 0 : (double) h / total;
+	}
+
+	/**
+	 * Reset the hit, miss and eviction counters
+	 */
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "EntailmentCache[size=" + size() + "/" + maxSize + ", policy=" + policy + ", hits=" + getHitCount()
+				+ ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+	}
+
+}
@@ -0,0 +1,454 @@
+package com.ai.cre.ontology;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+
+/**
+ * A {@link java.util.Set} that only keeps its most specific elements, i.e., an
+ * antichain w.r.t. subsumption: adding a concept that is subsumed by an element
+ * removes that element, while adding a concept that subsumes an element has no
+ * effect. Alternatively, only the minimal existential restrictions w.r.t.
+ * role-concept-subsumption (see
+ * {@link OntologyHandler#checkRoleConceptSubsumption}) can be kept.
+ * <p>
+ * In contrast to repeatedly calling
+ * {@link OntologyHandler#addConceptIfMostSpecific} on a plain set, the elements
+ * are not copied on every insertion and are grouped by the elements they may
+ * be compared to: elements equal to the new concept are found by a lookup, and
+ * existential restrictions are only compared to those using the same role if
+ * role-concept-subsumption is applied. Elements with a known position in a
+ * complete hierarchy are pruned by means of their ancestor sets without any
+ * subsumption checks: a concept is rejected if it is an ancestor of a kept
+ * element of the same hierarchy, and the kept elements among its own ancestors
+ * are removed. Such a position is known for
+ * <ul>
+ * <li>atomic concepts if the handler uses a {@link ClassHierarchyIndex},
+ * and</li>
+ * <li>complex concepts that are classified in the {@link RestrictionTaxonomy}
+ * of the handler if the taxonomy is complete,</li>
+ * </ul>
+ * where existential restrictions are placed by their fillers if
+ * role-concept-subsumption is applied. Elements of different hierarchies and
+ * elements without a position are compared by subsumption checks. Once the
+ * new concept is known to be more specific than one element, the other
+ * elements cannot be more specific than the new concept (since they form an
+ * antichain), such that only one direction has to be checked for them.
+ * <p>
+ * The set is not thread-safe and relies on the index and taxonomy present at
+ * its creation, i.e., it should not outlive changes of the ontology. Iteration
+ * follows the insertion order of the kept elements.
+ *
+ * @param <T> extends {@link OWLClassExpression}
+ */
+public class MostSpecificConceptSet<T extends OWLClassExpression> extends AbstractSet<T> {
+
+	/**
+	 * Key of the group of elements that are compared by subsumption
+	 */
+	private static final Object ALL = new Object();
+
+	/**
+	 * The handler used for the subsumption checks
+	 */
+	private final OntologyHandler handler;
+
+	/**
+	 * State if role-concept-subsumption is used instead of subsumption, where
+	 * only existential restrictions are compared
+	 */
+	private final boolean roleConceptSubsumption;
+
+	/**
+	 * The class hierarchy index of the handler or {@code null} if it is not used
+	 */
+	private final ClassHierarchyIndex index;
+
+	/**
+	 * The taxonomy of the handler or {@code null} if it is not used or not
+	 * complete
+	 */
+	private final RestrictionTaxonomy taxonomy;
+
+	/**
+	 * The position of a concept in a hierarchy, i.e., {@link #index} or
+	 * {@link #taxonomy}
+	 */
+	private static class Position {
+
+		private final Object hierarchy;
+		private final int id;
+
+		/**
+		 * The ids of the concepts subsuming the concept in {@link #hierarchy}
+		 * (including equivalent ones and the concept itself)
+		 */
+		private final BitSet ancestors;
+
+		private Position(Object hierarchy, int id, BitSet ancestors) {
+			this.hierarchy = hierarchy;
+			this.id = id;
+			this.ancestors = ancestors;
+		}
+
+	}
+
+	/**
+	 * The kept elements of a group that have a position in the same hierarchy
+	 */
+	private class Bucket {
+
+		/**
+		 * The kept elements in insertion order and their positions
+		 */
+		private final Map<T, Position> positions = new LinkedHashMap<>();
+
+		/**
+		 * The union of the ancestor sets of {@link #positions}, i.e., the ids of the
+		 * concepts that subsume a kept element
+		 */
+		private final BitSet covered = new BitSet();
+
+		/**
+		 * State if {@link #covered} has to be recomputed since elements have been
+		 * removed
+		 */
+		private boolean coveredOutdated;
+
+		private BitSet getCovered() {
+			if (coveredOutdated) {
+				covered.clear();
+				positions.values().forEach(pos -> covered.or(pos.ancestors));
+				coveredOutdated = false;
+			}
+			return covered;
+		}
+
+	}
+
+	/**
+	 * The kept elements that may be compared to each other
+	 */
+	private class Group {
+
+		/**
+		 * The elements with a position, grouped by their hierarchy
+		 */
+		private final Map<Object, Bucket> buckets = new HashMap<>();
+
+		/**
+		 * The elements without a position
+		 */
+		private final List<T> unpositioned = new ArrayList<>();
+
+		private boolean isEmpty() {
+			return buckets.isEmpty() && unpositioned.isEmpty();
+		}
+
+	}
+
+	/**
+	 * The kept elements in insertion order
+	 */
+	private final LinkedHashSet<T> elements = new LinkedHashSet<>();
+
+	/**
+	 * The kept elements grouped by the elements they may be compared to, i.e.,
+	 * by the role of existential restrictions for role-concept-subsumption
+	 */
+	private final Map<Object, Group> groups = new HashMap<>();
+
+	/**
+	 * The position of every kept element that has one
+	 */
+	private final Map<T, Position> positions = new HashMap<>();
+
+	/**
+	 * Number of performed subsumption checks
+	 */
+	private long checks;
+
+	/**
+	 * Create an empty set keeping the most specific concepts w.r.t. subsumption
+	 *
+	 * @param handler An {@link OntologyHandler} for the subsumption checks
+	 */
+	public MostSpecificConceptSet(OntologyHandler handler) {
+		this(handler, false);
+	}
+
+	/**
+	 * Create an empty set
+	 *
+	 * @param handler                An {@link OntologyHandler} for the
+	 *                               subsumption checks
+	 * @param roleConceptSubsumption {@code true} to keep the minimal existential
+	 *                               restrictions w.r.t. role-concept-subsumption
+	 *                               (other concepts are always kept), else
+	 *                               {@code false} to keep the most specific
+	 *                               concepts w.r.t. subsumption
+	 */
+	public MostSpecificConceptSet(OntologyHandler handler, boolean roleConceptSubsumption) {
+		this.handler = handler;
+		this.roleConceptSubsumption = roleConceptSubsumption;
+		this.index = handler.getClassHierarchyIndex();
+		RestrictionTaxonomy handler_taxonomy = handler.getRestrictionTaxonomy();
+		// negative answers are only known for complete taxonomies
+		this.taxonomy = handler_taxonomy != null && handler_taxonomy.isComplete() ? handler_taxonomy : null;
+	}
+
+	/**
+	 * Get the key of the group that contains the elements which a concept has to
+	 * be compared to
+	 *
+	 * @param con An {@link OWLClassExpression}
+	 * @return An {@link Object} or {@code null} if {@code con} is not compared at
+	 *         all
+	 */
+	private Object getGroupKey(OWLClassExpression con) {
+		if (!roleConceptSubsumption) {
+			return ALL;
+		}
+		if (con instanceof OWLObjectSomeValuesFrom) {
+			return ((OWLObjectSomeValuesFrom) con).getProperty().asOWLObjectProperty();
+		}
+		return null;
+	}
+
+	private boolean isSubsumed(T c, T d) {
+		checks++;
+		if (roleConceptSubsumption) {
+			return handler.checkRoleConceptSubsumption(c, d);
+		}
+		return handler.checkIfSubClass(c, d);
+	}
+
+	/**
+	 * Get the position of a concept that decides its comparisons with the other
+	 * elements of the same hierarchy, i.e., the position of the concept itself
+	 * for subsumption or of the filler of an existential restriction for
+	 * role-concept-subsumption
+	 *
+	 * @param con An {@link OWLClassExpression}
+	 * @return A {@link Position} or {@code null} if {@code con} is compared by
+	 *         subsumption checks
+	 */
+	private Position getPosition(OWLClassExpression con) {
+		if (roleConceptSubsumption) {
+			con = ((OWLObjectSomeValuesFrom) con).getFiller();
+		}
+		if (!con.isAnonymous()) {
+			if (index == null) {
+				return null;
+			}
+			// unknown and unsatisfiable classes are not indexed
+			BitSet ancestors = index.getAncestors(con.asOWLClass());
+			return ancestors == null ? null : new Position(index, index.getId(con.asOWLClass()), ancestors);
+		}
+		if (taxonomy == null) {
+			return null;
+		}
+		// unregistered, pending and unsatisfiable expressions are not classified
+		BitSet ancestors = taxonomy.getAncestors(con);
+		return ancestors == null ? null : new Position(taxonomy, taxonomy.getId(con), ancestors);
+	}
+
+	/**
+	 * Add a concept if no element is more specific than it, removing the elements
+	 * that are more general than the concept
+	 *
+	 * @param newCon A {@link T} instance (ignored if {@code null})
+	 * @return {@code true} if {@code newCon} has been added, else {@code false}
+	 */
+	@Override
+	public boolean add(T newCon) {
+		if (newCon == null || elements.contains(newCon)) {
+			return false;
+		}
+		Object key = getGroupKey(newCon);
+		if (key == null) {
+			return elements.add(newCon);
+		}
+		Position position = getPosition(newCon);
+		Group group = groups.get(key);
+		if (group != null) {
+			boolean super_found = false;
+			Bucket own = position == null ? null : group.buckets.get(position.hierarchy);
+			if (own != null) {
+				// D ⊑ C holds for a kept element D of the same hierarchy (including
+				// equivalent ones)
+				if (own.getCovered().get(position.id)) {
+					return false;
+				}
+				Iterator<Entry<T, Position>> it = own.positions.entrySet().iterator();
+				while (it.hasNext()) {
+					Entry<T, Position> entry = it.next();
+					// C ⊑ D, where the ancestors of D are ancestors of C as well, such that
+					// covered remains valid once C is added
+					if (position.ancestors.get(entry.getValue().id)) {
+						it.remove();
+						elements.remove(entry.getKey());
+						positions.remove(entry.getKey());
+						super_found = true;
+					}
+				}
+			}
+			// elements of other hierarchies and without a position are compared by
+			// subsumption checks
+			for (Bucket bucket : group.buckets.values()) {
+				if (bucket != own) {
+					Boolean found = prune(bucket.positions.keySet().iterator(), bucket, newCon, super_found);
+					if (found == null) {
+						return false;
+					}
+					super_found = found;
+				}
+			}
+			if (prune(group.unpositioned.iterator(), null, newCon, super_found) == null) {
+				return false;
+			}
+			group.buckets.values().removeIf(bucket -> bucket.positions.isEmpty());
+		} else {
+			group = new Group();
+			groups.put(key, group);
+		}
+		if (position == null) {
+			group.unpositioned.add(newCon);
+		} else {
+			Bucket bucket = group.buckets.computeIfAbsent(position.hierarchy, h -> new Bucket());
+			bucket.positions.put(newCon, position);
+			bucket.getCovered().or(position.ancestors);
+			positions.put(newCon, position);
+		}
+		elements.add(newCon);
+		return true;
+	}
+
+	/**
+	 * Compare a new concept with elements by means of subsumption checks and
+	 * remove the elements that are more general than the concept
+	 *
+	 * @param it          An {@link Iterator} over the elements
+	 * @param bucket      The {@link Bucket} containing the elements or
+	 *                    {@code null} if they have no position
+	 * @param newCon      A {@link T} instance
+	 * @param super_found {@code true} if an element more general than
+	 *                    {@code newCon} has already been removed, such that no
+	 *                    element can be more specific than {@code newCon}
+	 * @return {@code null} if an element is more specific than {@code newCon}
+	 *         (where no element has been removed), else the updated value of
+	 *         {@code super_found}
+	 */
+	private Boolean prune(Iterator<T> it, Bucket bucket, T newCon, boolean super_found) {
+		while (it.hasNext()) {
+			T setCon = it.next();
+			// D ⊑ C, where no element can be more specific than C if C ⊑ D' has been
+			// found for another element D'
+			if (!super_found && isSubsumed(setCon, newCon)) {
+				return null;
+			} // C ⊑ D
+			else if (isSubsumed(newCon, setCon)) {
+				it.remove();
+				elements.remove(setCon);
+				if (bucket != null) {
+					positions.remove(setCon);
+					bucket.coveredOutdated = true;
+				}
+				super_found = true;
+			}
+		}
+		return super_found;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return elements.contains(o);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (!elements.remove(o)) {
+			return false;
+		}
+		removeFromGroup(o);
+		return true;
+	}
+
+	private void removeFromGroup(Object o) {
+		Object key = getGroupKey((OWLClassExpression) o);
+		if (key != null) {
+			Group group = groups.get(key);
+			Position position = positions.remove(o);
+			if (position == null) {
+				group.unpositioned.remove(o);
+			} else {
+				Bucket bucket = group.buckets.get(position.hierarchy);
+				bucket.positions.remove(o);
+				bucket.coveredOutdated = true;
+				if (bucket.positions.isEmpty()) {
+					group.buckets.remove(position.hierarchy);
+				}
+			}
+			if (group.isEmpty()) {
+				groups.remove(key);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		elements.clear();
+		groups.clear();
+		positions.clear();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		Iterator<T> it = elements.iterator();
+		return new Iterator<T>() {
+			private T current;
+
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public T next() {
+				current = it.next();
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				it.remove();
+				removeFromGroup(current);
+			}
+		};
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	/**
+	 * Get the number of subsumption checks performed when adding elements
+	 *
+	 * @return A non-negative {@code long} value
+	 */
+	public long getCheckCount() {
+		return checks;
+	}
+
+}
@@ -14,19 +14,55 @@ import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
  * objects in form of {@link ConceptNode} objects that appear negatively on the
  * left-hand side of axioms. Counterpart to
  * {@link PositiveRestrictionNodeCollector}.
+ * <p>
+ * If an accumulator is given, every visit adds the found restrictions to it
+ * (and returns it) instead of creating and merging a new
+ * {@link RestrictionNodeCollection} for each visited expression.
  *
  */
 public class NegativeRestrictionNodeCollector implements OWLClassExpressionVisitorEx<RestrictionNodeCollection> {
 
 	OntologyHandler ontologyHandler;
 
+	/**
+	 * The collection shared by every visit or {@code null} if each visit returns
+	 * its own collection
+	 */
+	RestrictionNodeCollection accumulator;
+
 	public NegativeRestrictionNodeCollector(OntologyHandler ontologyHandler) {
 		this.ontologyHandler = ontologyHandler;
 	}
 
+	/**
+	 * Create a collector adding every found restriction to the given collection
+	 * 
+	 * @param accumulator A {@link RestrictionNodeCollection}
+	 */
+	public NegativeRestrictionNodeCollector(RestrictionNodeCollection accumulator) {
+		this.ontologyHandler = accumulator.ontologyHandler;
+		this.accumulator = accumulator;
+	}
+
+	/**
+	 * Get the collection to store the restrictions of a visited expression in
+	 * 
+	 * @return {@link #accumulator} if given, else a new
+	 *         {@link RestrictionNodeCollection}
+	 */
+	private RestrictionNodeCollection getCollection() {
+		if (accumulator != null) {
+			return accumulator;
+		}
+		return new RestrictionNodeCollection(ontologyHandler);
+	}
+
 	@Override
 	public RestrictionNodeCollection visit(OWLObjectComplementOf ce) {
 		// switch visitor for negated concept
+		if (accumulator != null) {
+			return ce.getOperand().accept(new PositiveRestrictionNodeCollector(accumulator));
+		}
 		return ce.getOperand().accept(new PositiveRestrictionNodeCollector(ontologyHandler));
 
 	}
@@ -34,7 +70,7 @@ public class NegativeRestrictionNodeCollector implements OWLClassExpressionVisit
 	@Override
 	public RestrictionNodeCollection visit(OWLObjectIntersectionOf ce) {
 		// collection to combine restrictions from each conjunct
-		RestrictionNodeCollection rest_col = new RestrictionNodeCollection(ontologyHandler);
+		RestrictionNodeCollection rest_col = getCollection();
 
 		// get iterator for collections returned from recursive call for each conjunct
 		Iterator<RestrictionNodeCollection> iterator = ce.operands().map(op -> op.accept(this)).iterator();
@@ -51,7 +87,7 @@ public class NegativeRestrictionNodeCollector implements OWLClassExpressionVisit
 
 	@Override
 	public RestrictionNodeCollection visit(OWLObjectSomeValuesFrom ce) {
-		RestrictionNodeCollection rest_col = new RestrictionNodeCollection(ontologyHandler);
+		RestrictionNodeCollection rest_col = getCollection();
 		// add normalized negated restriction: ∃R.D --> ∀R.(¬D)
 		rest_col.addUnivRestriction((OWLObjectAllValuesFrom) ce.getComplementNNF());
 		// call related concept with positive collector
@@ -62,7 +98,7 @@ public class NegativeRestrictionNodeCollector implements OWLClassExpressionVisit
 
 	@Override
 	public RestrictionNodeCollection visit(OWLObjectAllValuesFrom ce) {
-		RestrictionNodeCollection rest_col = new RestrictionNodeCollection(ontologyHandler);
+		RestrictionNodeCollection rest_col = getCollection();
 		// add normalized negated restriction: ∀R.D --> ∃R.(¬D)
 		rest_col.addExistRestriction((OWLObjectSomeValuesFrom) ce.getComplementNNF());
 		// call related concept with positive collector
@@ -1,19 +1,34 @@
 package com.ai.cre.ontology;
 
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.semanticweb.HermiT.Configuration;
-import org.semanticweb.HermiT.Reasoner;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
@@ -24,6 +39,8 @@ import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLProperty;
@@ -31,6 +48,7 @@ import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.semanticweb.owlapi.util.OWLOntologyMerger;
 
+import com.ai.cre.ontology.EntailmentCache.EvictionPolicy;
 import com.ai.cre.representation.ConceptNode;
 import com.ai.cre.representation.ConceptNodeSet;
 
@@ -48,13 +66,151 @@ public class OntologyHandler {
 	public OWLOntology ontology;
 
 	/**
-	 * A reasoner for the considered ontology
+	 * A reasoner for the considered ontology ({@code null} for worker handlers
+	 * using a {@link ReasonerPool})
 	 */
 	public OWLReasoner reasoner;
 
+	/**
+	 * State if {@link #reasoner} has been created by this handler (and not
+	 * provided by the caller) and therefore has to be disposed by it
+	 */
+	private boolean ownsReasoner;
+
 	private OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
 	private OWLDataFactory factory = manager.getOWLDataFactory();
 
+	/**
+	 * An interner for the conjunctions and restrictions constructed by this
+	 * handler, shared with worker handlers
+	 */
+	private ConceptInterner conceptInterner = new ConceptInterner(factory);
+
+	/**
+	 * A cache for the results of entailment checks performed by {@link #reasoner}
+	 * or {@code null} if caching is disabled
+	 */
+	private EntailmentCache entailmentCache = new EntailmentCache();
+
+	/**
+	 * An index of the role assertions of {@link #ontology}, created on first use
+	 */
+	private RoleAssertionIndex roleAssertionIndex;
+
+	/**
+	 * Listener keeping derived structures (like {@link #roleAssertionIndex}) up to
+	 * date when {@link #ontology} changes
+	 */
+	private final OWLOntologyChangeListener changeListener = changes -> ontologyChanged(changes);
+
+	/**
+	 * Counter for the observed changes of {@link #ontology}
+	 */
+	private final AtomicLong revision = new AtomicLong();
+
+	/**
+	 * The value of {@link #revision} the reasoners of this handler have been
+	 * flushed for
+	 */
+	private volatile long flushedRevision;
+
+	/**
+	 * Counter for the entailment checks actually performed by {@link #reasoner}
+	 * (i.e., not answered by {@link #entailmentCache}), shared with worker
+	 * handlers
+	 */
+	private LongAdder reasonerCalls = new LongAdder();
+
+	/**
+	 * State if subsumption checks between atomic concepts should be answered by
+	 * means of {@link #classHierarchyIndex}
+	 */
+	private volatile boolean useClassHierarchy;
+
+	/**
+	 * An index of the class hierarchy of {@link #ontology}, created on first use
+	 * if {@link #useClassHierarchy} holds
+	 */
+	private volatile ClassHierarchyIndex classHierarchyIndex;
+
+	/**
+	 * State if class assertion checks should be answered by means of
+	 * {@link #realizationTable}
+	 */
+	private volatile boolean useRealization;
+
+	/**
+	 * A table of the inferred types of the individuals of {@link #ontology},
+	 * created on first use if {@link #useRealization} holds
+	 */
+	private volatile RealizationTable realizationTable;
+
+	/**
+	 * The top-nodes of the sorted hierarchy of the existential restrictions
+	 * returned by {@link #getPotentialLeftSideExistRestrictions()}, created on
+	 * first use
+	 */
+	private volatile Set<ConceptNode<OWLObjectSomeValuesFrom>> leftSideExistRestrictionNodes;
+
+	/**
+	 * The strategy used to sort {@link #leftSideExistRestrictionNodes} or
+	 * {@code null} if they are not sorted
+	 */
+	private volatile ConceptNodeSorter nodeSorter;
+
+	/**
+	 * A taxonomy answering subsumption checks between the expressions registered
+	 * in it or {@code null} if no such taxonomy is used (not disposed by this
+	 * handler)
+	 */
+	private volatile RestrictionTaxonomy restrictionTaxonomy;
+
+	/**
+	 * State if subsumption checks should first be tried by means of
+	 * {@link #structuralChecker}
+	 */
+	private volatile boolean useStructuralChecks = true;
+
+	/**
+	 * A checker for subsumptions that can be decided by the structure of the
+	 * concepts, created on first use
+	 */
+	private volatile StructuralSubsumptionChecker structuralChecker;
+
+	/**
+	 * The {@link ReasonerBackend} chosen for each {@link ReasonerPhase}, where a
+	 * missing entry means that {@link #reasoner} is used (for
+	 * {@link ReasonerPhase#REALIZATION}) or that the backend is selected
+	 * automatically (for {@link ReasonerPhase#CLASSIFICATION})
+	 */
+	private final EnumMap<ReasonerPhase, ReasonerBackend> backends = new EnumMap<>(ReasonerPhase.class);
+
+	/**
+	 * A separate reasoner for class assertion checks if another backend is chosen
+	 * for {@link ReasonerPhase#REALIZATION} than for
+	 * {@link ReasonerPhase#ENTAILMENT}, created on first use
+	 */
+	private OWLReasoner realizationReasoner;
+
+	/**
+	 * A pool of reasoners used for entailment checks instead of {@link #reasoner}
+	 * (such that checks can be performed by several threads at once) or
+	 * {@code null} if no pool is used
+	 */
+	private volatile ReasonerPool reasonerPool;
+
+	/**
+	 * A pool used to process independent individuals concurrently or
+	 * {@code null} if they are processed sequentially
+	 */
+	private volatile ForkJoinPool forkJoinPool;
+
+	/**
+	 * State if {@link #reasonerPool} has been created by this handler (and not by
+	 * a parent handler) and therefore has to be disposed by it
+	 */
+	private boolean ownsReasonerPool;
+
 	/**
 	 * Create {@link OntologyHandler} instance with empty ontology, i.e., every
 	 * reasoning query results in {@code false}
@@ -65,7 +221,8 @@ public class OntologyHandler {
 		} catch (OWLOntologyCreationException e) {
 			e.printStackTrace();
 		}
-		this.reasoner = new Reasoner(new Configuration(), ontology);
+		this.reasoner = createReasoner(ReasonerBackend.HERMIT);
+		registerChangeListener();
 	}
 
 	/**
@@ -79,7 +236,8 @@ public class OntologyHandler {
 			OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ontologyFile);
 			this.ontology = ontology;
 			// create HermiT reasoner instance for ontology
-			this.reasoner = new Reasoner(new Configuration(), ontology);
+			this.reasoner = createReasoner(ReasonerBackend.HERMIT);
+			registerChangeListener();
 		} catch (OWLOntologyCreationException e) {
 			e.printStackTrace();
 		}
@@ -92,9 +250,20 @@ public class OntologyHandler {
 	 * @param ontology An {@link OWLOntology} instance of a (Horn-ALC) ontology
 	 */
 	public OntologyHandler(OWLOntology ontology) {
+		this(ontology, ReasonerBackend.HERMIT);
+	}
+
+	/**
+	 * Create {@link OntologyHandler} instance for given (Horn-ALC) ontology using
+	 * a reasoner of the given backend for entailment checks
+	 * 
+	 * @param ontology An {@link OWLOntology} instance of a (Horn-ALC) ontology
+	 * @param backend  A {@link ReasonerBackend}
+	 */
+	public OntologyHandler(OWLOntology ontology, ReasonerBackend backend) {
 		this.ontology = ontology;
-		// create HermiT reasoner instance for ontology
-		this.reasoner = new Reasoner(new Configuration(), ontology);
+		this.reasoner = createReasoner(backend);
+		registerChangeListener();
 	}
 
 	/**
@@ -107,6 +276,7 @@ public class OntologyHandler {
 	public OntologyHandler(OWLOntology ontology, OWLReasoner reasoner) {
 		this.ontology = ontology;
 		this.reasoner = reasoner;
+		registerChangeListener();
 	}
 
 	/**
@@ -130,7 +300,8 @@ public class OntologyHandler {
 			}
 			this.ontology = ontology;
 			// create HermiT reasoner instance for ontology
-			this.reasoner = new Reasoner(new Configuration(), ontology);
+			this.reasoner = createReasoner(ReasonerBackend.HERMIT);
+			registerChangeListener();
 
 		} catch (OWLOntologyCreationException e) {
 			e.printStackTrace();
@@ -159,7 +330,485 @@ public class OntologyHandler {
 		}
 		this.ontology = ontology;
 		// create HermiT reasoner instance for ontology
-		this.reasoner = new Reasoner(new Configuration(), ontology);
+		this.reasoner = createReasoner(ReasonerBackend.HERMIT);
+		registerChangeListener();
+	}
+
+	/**
+	 * Create {@link OntologyHandler} instance for the ontology of another handler
+	 * using the provided reasoner, while sharing the other handler's
+	 * {@link EntailmentCache} and {@link RoleAssertionIndex}
+	 * 
+	 * @param parent   An {@link OntologyHandler} instance
+	 * @param reasoner An {@link OWLReasoner} instance for the ontology of
+	 *                 {@code parent}
+	 */
+	private OntologyHandler(OntologyHandler parent, OWLReasoner reasoner) {
+		this.ontology = parent.ontology;
+		this.reasoner = reasoner;
+		// created by createWorkerHandler()
+		this.ownsReasoner = reasoner != null;
+		this.entailmentCache = parent.entailmentCache;
+		this.roleAssertionIndex = parent.getRoleAssertionIndex();
+		this.reasonerCalls = parent.reasonerCalls;
+		this.useClassHierarchy = parent.useClassHierarchy;
+		this.classHierarchyIndex = parent.getClassHierarchyIndex();
+		this.useRealization = parent.useRealization;
+		this.realizationTable = parent.getRealizationTable();
+		this.leftSideExistRestrictionNodes = parent.leftSideExistRestrictionNodes;
+		this.nodeSorter = parent.nodeSorter;
+		this.restrictionTaxonomy = parent.restrictionTaxonomy;
+		this.useStructuralChecks = parent.useStructuralChecks;
+		this.structuralChecker = parent.getStructuralChecker();
+		this.backends.putAll(parent.backends);
+		this.reasonerPool = parent.reasonerPool;
+		this.conceptInterner = parent.conceptInterner;
+		// changes of the ontology are handled by the parent
+	}
+
+	/**
+	 * Create a handler for the same ontology that uses its own reasoner (of the
+	 * backend chosen for {@link ReasonerPhase#ENTAILMENT}, HermiT if unknown) and
+	 * can therefore be used by another thread (since reasoner instances must not
+	 * be shared across threads). Cached entailment results and the index of role
+	 * assertions are shared with this handler. If a {@link ReasonerPool} is used
+	 * (see {@link #setReasonerPool(int, boolean)}), the worker performs its
+	 * entailment checks by means of the shared pool instead of an own reasoner.
+	 * 
+	 * @return An {@link OntologyHandler} that should be disposed by means of
+	 *         {@link #dispose()} once it is no longer needed
+	 */
+	public OntologyHandler createWorkerHandler() {
+		if (reasonerPool != null) {
+			return new OntologyHandler(this, (OWLReasoner) null);
+		}
+		ReasonerBackend backend = getReasonerBackend(ReasonerPhase.ENTAILMENT);
+		if (backend == null) {
+			backend = ReasonerBackend.HERMIT;
+		}
+		return new OntologyHandler(this, backend.createReasoner(ontology));
+	}
+
+	/**
+	 * Create a reasoner for {@link #ontology} and remember its backend for
+	 * {@link ReasonerPhase#ENTAILMENT}
+	 * 
+	 * @param backend A {@link ReasonerBackend}
+	 * @return An {@link OWLReasoner}
+	 */
+	private OWLReasoner createReasoner(ReasonerBackend backend) {
+		backends.put(ReasonerPhase.ENTAILMENT, backend);
+		ownsReasoner = true;
+		return backend.createReasoner(ontology);
+	}
+
+	/**
+	 * Get the backend chosen for a phase
+	 * 
+	 * @param phase A {@link ReasonerPhase}
+	 * @return A {@link ReasonerBackend} or {@code null} if none has been chosen,
+	 *         i.e., if {@link #reasoner} was provided directly (for
+	 *         {@link ReasonerPhase#ENTAILMENT}), if {@link #reasoner} is used (for
+	 *         {@link ReasonerPhase#REALIZATION}) or if the backend is selected
+	 *         based on the number of concepts (for
+	 *         {@link ReasonerPhase#CLASSIFICATION})
+	 */
+	public synchronized ReasonerBackend getReasonerBackend(ReasonerPhase phase) {
+		return backends.get(phase);
+	}
+
+	/**
+	 * Choose the backend for a phase, where choosing a new backend for
+	 * {@link ReasonerPhase#ENTAILMENT} replaces {@link #reasoner} (which is
+	 * disposed unless it was provided by the caller)
+	 * 
+	 * @param phase   A {@link ReasonerPhase}
+	 * @param backend A {@link ReasonerBackend} or {@code null} to use the default
+	 *                of the phase (not allowed for
+	 *                {@link ReasonerPhase#ENTAILMENT})
+	 */
+	public synchronized void setReasonerBackend(ReasonerPhase phase, ReasonerBackend backend) {
+		if (backend == backends.get(phase)) {
+			return;
+		}
+		if (phase == ReasonerPhase.ENTAILMENT) {
+			if (backend == null) {
+				throw new IllegalArgumentException("a backend for entailment checks is required");
+			}
+			if (reasoner != null && ownsReasoner) {
+				reasoner.dispose();
+			}
+			reasoner = createReasoner(backend);
+			// pooled reasoners have to use the new backend as well
+			if (reasonerPool != null) {
+				setReasonerPool(reasonerPool.getMaxSize(), false);
+			}
+		} else {
+			backends.put(phase, backend);
+		}
+		// backend for class assertions may have changed
+		if (realizationReasoner != null) {
+			realizationReasoner.dispose();
+			realizationReasoner = null;
+		}
+	}
+
+	/**
+	 * Measure the performance of HermiT and JFact on a sample of checks for
+	 * {@link #ontology} (see {@link ReasonerCalibration}) and choose the faster
+	 * one for each {@link ReasonerPhase}
+	 * 
+	 * @return The performed {@link ReasonerCalibration}, e.g., to inspect the
+	 *         measured times
+	 */
+	public ReasonerCalibration calibrateReasonerBackends() {
+		ReasonerCalibration calibration = new ReasonerCalibration(ontology);
+		calibration.calibrate(List.of(ReasonerBackend.HERMIT, ReasonerBackend.JFACT))
+				.forEach((phase, backend) -> setReasonerBackend(phase, backend));
+		return calibration;
+	}
+
+	/**
+	 * Use a pool of (at most {@code maxSize}) reasoners of the backend chosen for
+	 * {@link ReasonerPhase#ENTAILMENT} for entailment checks, such that this
+	 * handler and its worker handlers can be used by several threads at once
+	 * without reasoners interfering with each other. An existing pool is
+	 * disposed.
+	 * 
+	 * @param maxSize An {@code int} stating the maximal number of pooled
+	 *                reasoners (e.g. {@link ReasonerPool#DEFAULT_MAX_SIZE}) or a
+	 *                value less than 1 to use {@link #reasoner} again
+	 * @param prewarm {@code true} if {@code maxSize} reasoners should be created
+	 *                and classify the ontology right away (see
+	 *                {@link ReasonerPool#prewarm(int)}), else {@code false} to
+	 *                create them on first use
+	 */
+	public synchronized void setReasonerPool(int maxSize, boolean prewarm) {
+		if (reasonerPool != null && ownsReasonerPool) {
+			reasonerPool.dispose();
+		}
+		if (maxSize < 1) {
+			reasonerPool = null;
+			return;
+		}
+		ReasonerBackend backend = backends.get(ReasonerPhase.ENTAILMENT);
+		if (backend == null) {
+			backend = ReasonerBackend.HERMIT;
+		}
+		ReasonerPool pool = new ReasonerPool(ontology, backend, maxSize);
+		if (prewarm) {
+			pool.prewarm(maxSize);
+		}
+		reasonerPool = pool;
+		ownsReasonerPool = true;
+	}
+
+	/**
+	 * Get the pool of reasoners used for entailment checks
+	 * 
+	 * @return A {@link ReasonerPool} or {@code null} if {@link #reasoner} is used
+	 */
+	public ReasonerPool getReasonerPool() {
+		return reasonerPool;
+	}
+
+	/**
+	 * Get the separate reasoner used for class assertion checks
+	 * 
+	 * @return An {@link OWLReasoner} if another backend is chosen for
+	 *         {@link ReasonerPhase#REALIZATION} than for
+	 *         {@link ReasonerPhase#ENTAILMENT}, else {@code null}
+	 */
+	private synchronized OWLReasoner getRealizationReasoner() {
+		ReasonerBackend backend = backends.get(ReasonerPhase.REALIZATION);
+		if (backend == null || backend == backends.get(ReasonerPhase.ENTAILMENT)) {
+			return null;
+		}
+		if (realizationReasoner == null) {
+			realizationReasoner = backend.createReasoner(ontology);
+		}
+		return realizationReasoner;
+	}
+
+	/**
+	 * Register {@link #changeListener} at the manager of {@link #ontology}
+	 */
+	private void registerChangeListener() {
+		if (ontology != null) {
+			ontology.getOWLOntologyManager().addOntologyChangeListener(changeListener);
+		}
+	}
+
+	/**
+	 * Update the structures derived from {@link #ontology} after it has been
+	 * changed
+	 * 
+	 * @param changes A {@link List} of {@link OWLOntologyChange} objects
+	 */
+	private void ontologyChanged(List<? extends OWLOntologyChange> changes) {
+		if (changes.stream().anyMatch(change -> change.getOntology() == ontology)) {
+			// buffering reasoners are flushed before their next use (see
+			// flushReasonersIfChanged), since their own change listeners may not have
+			// been notified yet
+			revision.incrementAndGet();
+			// stored entailment results may no longer be valid
+			clearEntailmentCache();
+			classHierarchyIndex = null;
+			realizationTable = null;
+			leftSideExistRestrictionNodes = null;
+			restrictionTaxonomy = null;
+			structuralChecker = null;
+			conceptInterner.clearReductions();
+			// patch index of role assertions
+			RoleAssertionIndex index = roleAssertionIndex;
+			if (index != null) {
+				index.applyChanges(changes);
+			}
+		}
+	}
+
+	/**
+	 * Let every reasoner used by this handler (i.e., {@link #reasoner}, the
+	 * separate reasoner for class assertions and the reasoners of
+	 * {@link #reasonerPool}) take the pending changes of {@link #ontology} into
+	 * account if the ontology has changed since they were flushed last, such that
+	 * derived structures are never computed by means of outdated reasoners
+	 */
+	private void flushReasonersIfChanged() {
+		long current = revision.get();
+		if (flushedRevision != current) {
+			synchronized (this) {
+				if (flushedRevision != current) {
+					flushReasoners();
+					flushedRevision = current;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Flush every reasoner used by this handler unconditionally
+	 */
+	private void flushReasoners() {
+		OWLReasoner entailment_reasoner = reasoner;
+		if (entailment_reasoner != null) {
+			entailment_reasoner.flush();
+		}
+		synchronized (this) {
+			if (realizationReasoner != null) {
+				realizationReasoner.flush();
+			}
+		}
+		ReasonerPool pool = reasonerPool;
+		if (pool != null) {
+			pool.flush();
+		}
+	}
+
+	/**
+	 * Get the number of observed change batches of {@link #ontology}, which allows
+	 * to detect if structures computed from the ontology are outdated
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getRevision() {
+		return revision.get();
+	}
+
+	/**
+	 * Release the resources of this handler, i.e., stop listening to changes of
+	 * {@link #ontology} and dispose {@link #reasoner} (unless it was provided by
+	 * the caller) as well as the {@link ReasonerPool} created by this handler
+	 */
+	public void dispose() {
+		if (ontology != null) {
+			ontology.getOWLOntologyManager().removeOntologyChangeListener(changeListener);
+		}
+		synchronized (this) {
+			if (reasoner != null && ownsReasoner) {
+				reasoner.dispose();
+			}
+			if (realizationReasoner != null) {
+				realizationReasoner.dispose();
+				realizationReasoner = null;
+			}
+			if (reasonerPool != null && ownsReasonerPool) {
+				reasonerPool.dispose();
+			}
+			reasonerPool = null;
+		}
+	}
+
+	/**
+	 * Get the index of the role assertions occurring in {@link #ontology}, which
+	 * is created on first access and patched on every change of the ontology
+	 * 
+	 * @return A {@link RoleAssertionIndex}
+	 */
+	public synchronized RoleAssertionIndex getRoleAssertionIndex() {
+		if (roleAssertionIndex == null) {
+			roleAssertionIndex = new RoleAssertionIndex(ontology);
+		}
+		return roleAssertionIndex;
+	}
+
+	/**
+	 * State if subsumption checks between atomic concepts should be answered by
+	 * means of a precomputed class hierarchy (see {@link ClassHierarchyIndex})
+	 * instead of separate entailment checks, which pays off if many such checks
+	 * are performed. The hierarchy is computed on first use and again after every
+	 * change of {@link #ontology}.
+	 * 
+	 * @param useClassHierarchy A {@code boolean} value
+	 */
+	public synchronized void setClassHierarchyIndex(boolean useClassHierarchy) {
+		this.useClassHierarchy = useClassHierarchy;
+		if (!useClassHierarchy) {
+			classHierarchyIndex = null;
+		}
+	}
+
+	/**
+	 * Get the index of the class hierarchy of {@link #ontology}, which is created
+	 * on first access
+	 * 
+	 * @return A {@link ClassHierarchyIndex} or {@code null} if it is disabled (see
+	 *         {@link #setClassHierarchyIndex})
+	 */
+	public ClassHierarchyIndex getClassHierarchyIndex() {
+		ClassHierarchyIndex index = classHierarchyIndex;
+		if (index == null && useClassHierarchy) {
+			synchronized (this) {
+				index = classHierarchyIndex;
+				if (index == null && useClassHierarchy) {
+					flushReasonersIfChanged();
+					index = new ClassHierarchyIndex(ontology, reasoner);
+					classHierarchyIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Choose if class assertion checks {@code C(a)} should be answered by means
+	 * of a {@link RealizationTable} (created on first use) for named individuals
+	 * and atomic concepts {@code C} (or conjunctions and disjunctions of them),
+	 * which requires to realize the whole ontology once
+	 * 
+	 * @param useRealization {@code true} to use the table, else {@code false}
+	 */
+	public synchronized void setRealizationTable(boolean useRealization) {
+		this.useRealization = useRealization;
+		if (!useRealization) {
+			realizationTable = null;
+		}
+	}
+
+	/**
+	 * Get the table of the inferred types of the individuals of
+	 * {@link #ontology}, which is created on first access and discarded on every
+	 * change of the ontology
+	 * 
+	 * @return A {@link RealizationTable} or {@code null} if it is not used (see
+	 *         {@link #setRealizationTable(boolean)})
+	 */
+	public RealizationTable getRealizationTable() {
+		RealizationTable table = realizationTable;
+		if (table == null && useRealization) {
+			synchronized (this) {
+				table = realizationTable;
+				if (table == null && useRealization) {
+					flushReasonersIfChanged();
+					OWLReasoner realization = getRealizationReasoner();
+					if (realization != null) {
+						table = new RealizationTable(ontology, realization);
+					} else if (reasonerPool != null) {
+						table = reasonerPool.apply(r -> new RealizationTable(ontology, r));
+					} else {
+						table = new RealizationTable(ontology, reasoner);
+					}
+					realizationTable = table;
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Set a taxonomy that answers subsumption checks between the expressions
+	 * registered in it (see {@link RestrictionTaxonomy}), while other checks are
+	 * still performed as usual. The taxonomy is shared with worker handlers
+	 * created afterwards and discarded on every change of {@link #ontology}, but
+	 * it is not disposed by this handler.
+	 * 
+	 * @param restrictionTaxonomy A {@link RestrictionTaxonomy} for
+	 *                            {@link #ontology} or {@code null} to not use a
+	 *                            taxonomy
+	 */
+	public void setRestrictionTaxonomy(RestrictionTaxonomy restrictionTaxonomy) {
+		this.restrictionTaxonomy = restrictionTaxonomy;
+	}
+
+	/**
+	 * Get the taxonomy used to answer subsumption checks between registered
+	 * expressions
+	 * 
+	 * @return A {@link RestrictionTaxonomy} or {@code null} if none is used (see
+	 *         {@link #setRestrictionTaxonomy})
+	 */
+	public RestrictionTaxonomy getRestrictionTaxonomy() {
+		return restrictionTaxonomy;
+	}
+
+	/**
+	 * Set the strategy used to sort the existential restrictions of
+	 * {@link #getLeftSideExistRestrictionNodes()}, which are not sorted by
+	 * default (such that every restriction is checked separately). Choosing
+	 * another strategy discards the nodes created so far.
+	 * 
+	 * @param nodeSorter A {@link ConceptNodeSorter} or {@code null} to not sort
+	 *                   the restrictions
+	 */
+	public void setNodeSorter(ConceptNodeSorter nodeSorter) {
+		synchronized (this) {
+			if (this.nodeSorter != nodeSorter) {
+				this.nodeSorter = nodeSorter;
+				leftSideExistRestrictionNodes = null;
+			}
+		}
+	}
+
+	/**
+	 * State if subsumption checks should first be tried structurally (see
+	 * {@link StructuralSubsumptionChecker}) before asking the reasoner, which is
+	 * enabled by default
+	 * 
+	 * @param useStructuralChecks A {@code boolean} value
+	 */
+	public void setStructuralChecks(boolean useStructuralChecks) {
+		this.useStructuralChecks = useStructuralChecks;
+	}
+
+	/**
+	 * Get the checker used to decide subsumptions structurally, which is created
+	 * on first access
+	 * 
+	 * @return A {@link StructuralSubsumptionChecker} or {@code null} if structural
+	 *         checks are disabled (see {@link #setStructuralChecks})
+	 */
+	public StructuralSubsumptionChecker getStructuralChecker() {
+		StructuralSubsumptionChecker checker = structuralChecker;
+		if (checker == null && useStructuralChecks) {
+			synchronized (this) {
+				checker = structuralChecker;
+				if (checker == null && useStructuralChecks) {
+					checker = new StructuralSubsumptionChecker(ontology);
+					structuralChecker = checker;
+				}
+			}
+		}
+		return useStructuralChecks ? checker : null;
 	}
 
 	/**
@@ -171,9 +820,33 @@ public class OntologyHandler {
 	 *         {@code false}
 	 */
 	public boolean checkIfSubClass(OWLClassExpression c, OWLClassExpression d) {
+		// answer checks between atomic concepts by means of the class hierarchy
+		if (useClassHierarchy && !c.isAnonymous() && !d.isAnonymous()) {
+			ClassHierarchyIndex index = getClassHierarchyIndex();
+			Boolean subsumed = index == null ? null : index.isSubClass(c.asOWLClass(), d.asOWLClass());
+			if (subsumed != null) {
+				return subsumed;
+			}
+		}
+		// avoid reasoner calls for subsumptions that follow from the concepts'
+		// structure
+		if (useStructuralChecks) {
+			StructuralSubsumptionChecker checker = getStructuralChecker();
+			if (checker != null && checker.isSubClass(c, d)) {
+				return true;
+			}
+		}
+		// look up subsumptions between expressions named in the taxonomy
+		RestrictionTaxonomy taxonomy = restrictionTaxonomy;
+		if (taxonomy != null) {
+			Boolean subsumed = taxonomy.isSubClass(c, d);
+			if (subsumed != null) {
+				return subsumed;
+			}
+		}
 		// create a subsumption axiom for given concepts and check if it can be entailed
 		// by the ontology
-		return reasoner.isEntailed(factory.getOWLSubClassOfAxiom(c, d));
+		return isEntailed(factory.getOWLSubClassOfAxiom(c, d));
 	}
 
 	/**
@@ -185,77 +858,156 @@ public class OntologyHandler {
 	 *         {@code false}
 	 */
 	public boolean checkIfEquivalentClass(OWLClassExpression c, OWLClassExpression d) {
-		return reasoner.isEntailed(factory.getOWLEquivalentClassesAxiom(c, d));
+		if (useStructuralChecks) {
+			StructuralSubsumptionChecker checker = getStructuralChecker();
+			if (checker != null && checker.isEquivalent(c, d)) {
+				return true;
+			}
+		}
+		return isEntailed(factory.getOWLEquivalentClassesAxiom(c, d));
 	}
 
 	/**
-	 * Find every non-negative restriction (existential and universal) that can
-	 * appear (as part of some concept) on the right-hand side of a subsumption
-	 * axiom (thus relating some concept to another one) and create a
-	 * {@link ConceptNode} for it
+	 * Check if a given axiom is entailed by {@link #ontology}, using
+	 * {@link #entailmentCache} to avoid repeated reasoner calls for the same axiom
 	 * 
-	 * @return A {@link RestrictionNodeCollection} containing every restriction that
-	 *         may occur on the right-hand side of a subsumption axiom
+	 * @param axiom An {@link OWLAxiom} object
+	 * @return {@code true} if {@code axiom} is entailed, else {@code false}
 	 */
-	public RestrictionNodeCollection getPotentialRightSideRestrictionNodes() {
-		RestrictionNodeCollection rest_col = new RestrictionNodeCollection(this);
-		// get restrictions from subclass axioms
-		Iterator<RestrictionNodeCollection> rest_cols_iterator = ontology.axioms(AxiomType.SUBCLASS_OF)
-				.map(ax -> getRestrictionNodesFromSubsumption(ax)).iterator();
-		// combine found restrictions to one collection
-		while (rest_cols_iterator.hasNext()) {
-			rest_col.mergeWith(rest_cols_iterator.next());
+	private boolean isEntailed(OWLAxiom axiom) {
+		EntailmentCache cache = entailmentCache;
+		if (cache == null) {
+			return checkWithReasoner(axiom);
 		}
-		// get restrictions from equivalence axioms (since equivalence also represents
-		// subsumption)
-		rest_cols_iterator = ontology.axioms(AxiomType.EQUIVALENT_CLASSES)
-				.map(ax -> getRestrictionNodesFromEquivalence(ax)).iterator();
-		// combine found restrictions to one collection
-		while (rest_cols_iterator.hasNext()) {
-			rest_col.mergeWith(rest_cols_iterator.next());
+		return cache.isEntailed(axiom, ax -> checkWithReasoner(ax));
+	}
+
+	private boolean checkWithReasoner(OWLAxiom axiom) {
+		reasonerCalls.increment();
+		flushReasonersIfChanged();
+		if (axiom instanceof OWLClassAssertionAxiom) {
+			OWLReasoner realization = getRealizationReasoner();
+			if (realization != null) {
+				// the separate reasoner is shared by the threads using this handler
+				synchronized (realization) {
+					return realization.isEntailed(axiom);
+				}
+			}
+		}
+		ReasonerPool pool = reasonerPool;
+		if (pool != null) {
+			return pool.isEntailed(axiom);
 		}
+		return reasoner.isEntailed(axiom);
+	}
 
-		return rest_col;
+	/**
+	 * Get the number of entailment checks performed by the reasoner of this
+	 * handler and of the worker handlers created by {@link #createWorkerHandler()}
+	 * so far, not including checks answered by the {@link EntailmentCache}
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getReasonerCallCount() {
+		return reasonerCalls.sum();
+	}
+
+	/**
+	 * Get the cache storing the results of performed entailment checks, e.g., to
+	 * inspect its hit, miss and eviction counters
+	 * 
+	 * @return An {@link EntailmentCache} or {@code null} if caching is disabled
+	 */
+	public EntailmentCache getEntailmentCache() {
+		return entailmentCache;
+	}
+
+	/**
+	 * Replace the cache for entailment results by a new, empty one
+	 * 
+	 * @param maxSize An {@code int} stating the maximal number of stored results,
+	 *                where a non-positive value disables caching
+	 * @param policy  The {@link EvictionPolicy} applied if {@code maxSize} is
+	 *                exceeded
+	 */
+	public void setEntailmentCache(int maxSize, EvictionPolicy policy) {
+		if (maxSize > 0) {
+			this.entailmentCache = new EntailmentCache(maxSize, policy);
+		} else {
+			this.entailmentCache = null;
+		}
+	}
+
+	/**
+	 * Get the interner for the conjunctions and restrictions constructed by this
+	 * handler, e.g., to inspect its hit and miss counters
+	 * 
+	 * @return A {@link ConceptInterner}
+	 */
+	public ConceptInterner getConceptInterner() {
+		return conceptInterner;
+	}
 
+	/**
+	 * Remove every cached entailment result, which is necessary if
+	 * {@link #ontology} or {@link #reasoner} have been changed
+	 */
+	public void clearEntailmentCache() {
+		if (entailmentCache != null) {
+			entailmentCache.clear();
+		}
 	}
 
 	/**
-	 * Find every non-negative restriction (existential and universal) that appears
-	 * in the equivalence axiom {@code ax} and create a {@link ConceptNode} for it
+	 * Find every non-negative restriction (existential and universal) that can
+	 * appear (as part of some concept) on the right-hand side of a subsumption
+	 * axiom (thus relating some concept to another one) and create a
+	 * {@link ConceptNode} for it
 	 * 
-	 * @param ax An {@link OWLEquivalentClassesAxiom} object
-	 * @return A {@link RestrictionNodeCollection} containing every restriction
-	 *         found in the equivalence axiom
+	 * @return A {@link RestrictionNodeCollection} containing every restriction that
+	 *         may occur on the right-hand side of a subsumption axiom
 	 */
-	private RestrictionNodeCollection getRestrictionNodesFromEquivalence(OWLEquivalentClassesAxiom ax) {
+	public RestrictionNodeCollection getPotentialRightSideRestrictionNodes() {
+		// get restrictions from subclass axioms and from equivalence axioms (since
+		// equivalence also represents subsumption)
+		List<OWLSubClassOfAxiom> axioms = Stream.concat(ontology.axioms(AxiomType.SUBCLASS_OF),
+				ontology.axioms(AxiomType.EQUIVALENT_CLASSES).flatMap(ax -> ax.asOWLSubClassOfAxioms().stream()))
+				.collect(Collectors.toList());
 		RestrictionNodeCollection rest_col = new RestrictionNodeCollection(this);
-		// represent equivalence in form of two subsumption axioms
-		Iterator<OWLSubClassOfAxiom> subClassIter = ax.asOWLSubClassOfAxioms().iterator();
-		// get restrictions from each subsumption
-		while (subClassIter.hasNext()) {
-			rest_col.mergeWith(getRestrictionNodesFromSubsumption(subClassIter.next()));
+		if (forkJoinPool == null) {
+			axioms.forEach(ax -> collectRestrictionNodes(ax, rest_col));
+			return rest_col;
+		}
+		// collect restrictions of the axioms concurrently in one collection per
+		// worker thread, which are combined afterwards
+		ConcurrentHashMap<Thread, OntologyHandler> workerHandlers = new ConcurrentHashMap<>();
+		ConcurrentHashMap<Thread, RestrictionNodeCollection> thread_cols = new ConcurrentHashMap<>();
+		try {
+			forEachConcurrently(axioms, workerHandlers, (handler, ax) -> collectRestrictionNodes(ax,
+					thread_cols.computeIfAbsent(Thread.currentThread(), t -> new RestrictionNodeCollection(handler))));
+		} finally {
+			workerHandlers.values().forEach(handler -> handler.dispose());
 		}
+		thread_cols.values().forEach(col -> rest_col.mergeWith(col));
 		return rest_col;
+
 	}
 
 	/**
 	 * Find every non-negative restriction (existential and universal) that may
 	 * appear on the right-hand side of a subsumption based on the subsumption axiom
-	 * {@code ax} and create a {@link ConceptNode} for it
+	 * {@code ax} and add a {@link ConceptNode} for it to the given collection
 	 * 
-	 * @param ax An {@link OWLSubClassOfAxiom} object
-	 * @return A {@link RestrictionNodeCollection} containing every restriction that
-	 *         may occur on the right-hand side of the subsumption axiom
+	 * @param ax          An {@link OWLSubClassOfAxiom} object
+	 * @param accumulator A {@link RestrictionNodeCollection} storing every
+	 *                    restriction that may occur on the right-hand side of the
+	 *                    subsumption axiom
 	 */
-	private RestrictionNodeCollection getRestrictionNodesFromSubsumption(OWLSubClassOfAxiom ax) {
+	private void collectRestrictionNodes(OWLSubClassOfAxiom ax, RestrictionNodeCollection accumulator) {
 		// collect restrictions from subclass
-		RestrictionNodeCollection rest_col = ax.getSubClass().accept(new NegativeRestrictionNodeCollector(this));
-		if (rest_col == null) {
-			rest_col = new RestrictionNodeCollection(this);
-		}
+		ax.getSubClass().accept(new NegativeRestrictionNodeCollector(accumulator));
 		// collect restrictions from superclass
-		rest_col.mergeWith(ax.getSuperClass().accept(new PositiveRestrictionNodeCollector(this)));
-		return rest_col;
+		ax.getSuperClass().accept(new PositiveRestrictionNodeCollector(accumulator));
 	}
 
 	/**
@@ -272,7 +1024,8 @@ public class OntologyHandler {
 	/**
 	 * For each individual {@code i}, get all the most specific concepts {@code C}
 	 * from the ontology that satisfy {@code C(i)}, based on available concept and
-	 * role assertions
+	 * role assertions. Independent individuals are processed concurrently if a
+	 * {@link ForkJoinPool} has been set (see {@link #setForkJoinPool}).
 	 * 
 	 * @param individuals      A {@link Set} of {@link OWLIndividual} instances
 	 * @param univ_rests_nodes A {@link HashMap} relating an {@link OWLProperty} to
@@ -286,207 +1039,296 @@ public class OntologyHandler {
 	 */
 	public HashMap<OWLIndividual, Set<OWLClassExpression>> getMostSpecificConceptsForIndividuals(
 			Set<OWLIndividual> individuals, HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> univ_rests_nodes) {
+		return getMostSpecificConceptsForIndividuals(individuals, univ_rests_nodes, true);
+	}
+
+	/**
+	 * For each individual {@code i}, get all the most specific concepts {@code C}
+	 * from the ontology that satisfy {@code C(i)} (see
+	 * {@link #getMostSpecificConceptsForIndividuals(Set, HashMap)})
+	 * 
+	 * @param individuals      A {@link Set} of {@link OWLIndividual} instances
+	 * @param univ_rests_nodes A {@link HashMap} relating an {@link OWLProperty} to
+	 *                         a {@link ConceptNodeSet} for
+	 *                         {@link OWLClassExpression} representing universal
+	 *                         restrictions that share the same role
+	 * @param sorted           {@code true} if the nodes of
+	 *                         {@code univ_rests_nodes} are sorted in a hierarchy
+	 *                         based on subsumption, else {@code false}
+	 * @return A {@link HashMap} relating an {@link OWLIndividual} to a {@link Set}
+	 *         of {@link OWLClassExpression} elements representing most specific
+	 *         concepts
+	 */
+	public HashMap<OWLIndividual, Set<OWLClassExpression>> getMostSpecificConceptsForIndividuals(
+			Set<OWLIndividual> individuals, HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> univ_rests_nodes,
+			boolean sorted) {
 		// hash map for concepts referring to class assertions in ABox
-		HashMap<OWLIndividual, Set<OWLClassExpression>> indToConcepts = new HashMap<>(individuals.size());
+		Map<OWLIndividual, Set<OWLClassExpression>> indToConcepts = new ConcurrentHashMap<>(individuals.size());
 		// hash map for role assertions with individual as object (second argument)
-		HashMap<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> indToRoleAssertObj = new HashMap<>();
+		Map<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> indToRoleAssertObj = new ConcurrentHashMap<>();
 		// hash map for role assertions with individual as subject (first argument)
-		HashMap<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> indToRoleAssertSubj = new HashMap<>();
+		Map<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> indToRoleAssertSubj = new ConcurrentHashMap<>();
 		// set for individuals for which concepts have already been found
-		HashSet<OWLIndividual> finished_inds = new HashSet<>();
-
-		for (OWLIndividual ind : individuals) {
-			// find concepts from class assertions in ABox
-			Set<OWLClassExpression> concepts = getMostSpecificABoxConcepts(ind);
-			if (concepts.isEmpty()) {
-				// individual is always part of top-concept
-				concepts.add(factory.getOWLThing());
-			}
-			indToConcepts.put(ind, concepts);
-			// note if role assertions found
-			boolean no_role_assertions = true;
-			// look for role assertions R(j,i) with individual i as object
-			Set<OWLObjectPropertyAssertionAxiom> role_assertions = ontology.axioms(AxiomType.OBJECT_PROPERTY_ASSERTION)
-					.filter(ax -> ax.getObject().equals(ind)).collect(Collectors.toSet());
-			if (role_assertions != null) {
-				indToRoleAssertObj.put(ind, role_assertions);
-				no_role_assertions = false;
-			}
-			// look for role assertions R(i,j) with individual i as subject
-			role_assertions = ontology.objectPropertyAssertionAxioms(ind).collect(Collectors.toSet());
-			if (role_assertions != null) {
-				indToRoleAssertSubj.put(ind, role_assertions);
-				no_role_assertions = false;
-			}
-			// if no role assertions given, search for concepts is already done
-			if (no_role_assertions) {
-				finished_inds.add(ind);
-			}
-		}
-
-		/*
-		 * get concepts based on individual i's occurrence as object of role assertions
-		 * R(j,i)
-		 */
-		for (OWLIndividual i : indToRoleAssertObj.keySet()) {
-			// set to store already processed roles of role assertions
-			Set<OWLProperty> used_roles = new HashSet<>();
-			// go through role assertions R(j,i)
-			for (OWLObjectPropertyAssertionAxiom rs : indToRoleAssertObj.get(i)) {
-				// get role R
-				OWLObjectProperty role = rs.getProperty().asOWLObjectProperty();
-				// consider universal restrictions using role
-				if (!used_roles.contains(role)) {
-					used_roles.add(role);
-					Set<ConceptNode<OWLClassExpression>> nodes = univ_rests_nodes.get(role);
-					if (nodes != null) {
-						// add most specific filler concepts to collected most specific concepts of i
-						Set<OWLClassExpression> concepts = indToConcepts.get(i);
-						concepts.addAll(getMostSpecificConsforInd(rs.getObject(), nodes));
-						indToConcepts.put(i, concepts);
-					}
+		Set<OWLIndividual> finished_inds = ConcurrentHashMap.newKeySet();
+
+		// index to access role assertions by subject and object
+		RoleAssertionIndex index = getRoleAssertionIndex();
+		// handlers (with own reasoner) for each worker thread in parallel mode
+		ConcurrentHashMap<Thread, OntologyHandler> workerHandlers = new ConcurrentHashMap<>();
+
+		try {
+			forEachConcurrently(individuals, workerHandlers, (handler, ind) -> {
+				// find concepts from class assertions in ABox
+				Set<OWLClassExpression> concepts = handler.getMostSpecificABoxConcepts(ind);
+				if (concepts.isEmpty()) {
+					// individual is always part of top-concept
+					concepts.add(factory.getOWLThing());
 				}
-			}
-			// if i does not occur as a subject of a role assertions, its processing is done
-			if (!indToRoleAssertSubj.containsKey(i)) {
-				finished_inds.add(i);
-			}
-		}
-
-		/*
-		 * repeatedly try to get concepts based on individual i's occurrence as subject
-		 * of role assertions R(i,j) with updated, finished individuals j
-		 */
-		Set<OWLIndividual> remaining_inds = new HashSet<>(indToRoleAssertSubj.keySet());
-		// state if some adaptations to a set of most specific concepts happened
-		boolean adapted = false;
-		do {
-			adapted = false;
-			for (OWLIndividual i : new HashSet<>(remaining_inds)) {
-				// get role assertions R(i,j)
-				Set<OWLObjectPropertyAssertionAxiom> role_assertions = new HashSet<>(indToRoleAssertSubj.get(i));
-				// get current most specific concepts
-				Set<OWLClassExpression> most_spec_concepts = new HashSet<>(indToConcepts.get(i));
-
-				for (OWLObjectPropertyAssertionAxiom rs : indToRoleAssertSubj.get(i)) {
-					// get related individual j
-					OWLIndividual j = rs.getObject();
-					// only consider individuals j for which most specific concepts already
-					// determined
-					if (finished_inds.contains(j)) {
-						role_assertions.remove(rs);
-						// get role R
-						OWLObjectProperty role = rs.getProperty().asOWLObjectProperty();
-						// create existential restriction ∃R.G with G as conjunction of most specific
-						// concepts of j
-						OWLObjectSomeValuesFrom ex_rest = factory.getOWLObjectSomeValuesFrom(role,
-								createConjunction(indToConcepts.get(j)));
-						// check if ∃R.G is most specific
-						boolean is_candidate = true;
-						Iterator<OWLClassExpression> con_iter = most_spec_concepts.iterator();
-						while (is_candidate && con_iter.hasNext()) {
-							if (checkIfSubClass(con_iter.next(), ex_rest)) {
-								// restriction not most specific
-								is_candidate = false;
-							}
-						}
-						if (is_candidate) {
-							// reset iterator
-							con_iter = new HashSet<>(indToConcepts.get(i)).iterator();
-							// check if ∃R.G is more specific than other concepts
-							while (con_iter.hasNext()) {
-								OWLClassExpression d = con_iter.next();
-								if (checkIfSubClass(ex_rest, d)) {
-									most_spec_concepts.remove(d);
-								}
-							}
-							// update changes
-							most_spec_concepts.add(ex_rest);
-							indToConcepts.put(i, most_spec_concepts);
-							adapted = true;
-						}
-					}
+				indToConcepts.put(ind, concepts);
+				// note if role assertions found
+				boolean no_role_assertions = true;
+				// look for role assertions R(j,i) with individual i as object
+				Set<OWLObjectPropertyAssertionAxiom> role_assertions = index.getAssertionsWithObject(ind);
+				if (!role_assertions.isEmpty()) {
+					indToRoleAssertObj.put(ind, role_assertions);
+					no_role_assertions = false;
 				}
-				// check if every most specific concept determined for current individual i
-				if (role_assertions.isEmpty()) {
-					finished_inds.add(i);
-					remaining_inds.remove(i);
-					adapted = true;
-				} else {
-					// update changes
-					indToRoleAssertSubj.put(i, role_assertions);
+				// look for role assertions R(i,j) with individual i as subject
+				role_assertions = index.getAssertionsWithSubject(ind);
+				if (!role_assertions.isEmpty()) {
+					indToRoleAssertSubj.put(ind, role_assertions);
+					no_role_assertions = false;
 				}
-			}
-
-		} while (!remaining_inds.isEmpty() && adapted);
+				// if no role assertions given, search for concepts is already done
+				if (no_role_assertions) {
+					finished_inds.add(ind);
+				}
+			});
 
-		// check if for some individuals, most specific concepts still not found
-		if (!remaining_inds.isEmpty()) {
 			/*
-			 * remaining individuals appear in at least one loop of the form R1(i_1,i_2),
-			 * R2(i_2,i_3), ... Rn(i_n,i_1), which means that we cannot further specify the
-			 * restriction ∃R.G like above and have to explicitly search for suitable
-			 * existential restrictions in the ontology that may be used as most specific
-			 * concepts
+			 * get concepts based on individual i's occurrence as object of role assertions
+			 * R(j,i)
 			 */
-			// look for existential restrictions that may appear on the left-hand side of a
-			// subsumption axiom
-			Set<OWLObjectSomeValuesFrom> ex_rest_candidates = getPotentialLeftSideExistRestrictions();
-
-			for (OWLIndividual i : remaining_inds) {
-				// find most specific ∃R.G with (∃R.G)(i)
-				Set<OWLObjectSomeValuesFrom> most_spec_ex_rests = getMostSpecificExRestsForIndividual(i,
-						ex_rest_candidates);
+			forEachConcurrently(indToRoleAssertObj.keySet(), workerHandlers, (handler, i) -> {
+				// set to store already processed roles of role assertions
 				Set<OWLProperty> used_roles = new HashSet<>();
-				// add ∃R.T for each remaining R(i,j)
-				for (OWLObjectPropertyAssertionAxiom rs : indToRoleAssertSubj.get(i)) {
+				// go through role assertions R(j,i)
+				for (OWLObjectPropertyAssertionAxiom rs : indToRoleAssertObj.get(i)) {
 					// get role R
 					OWLObjectProperty role = rs.getProperty().asOWLObjectProperty();
+					// consider universal restrictions using role
 					if (!used_roles.contains(role)) {
 						used_roles.add(role);
-						addConceptIfMostSpecific(most_spec_ex_rests,
-								factory.getOWLObjectSomeValuesFrom(role, factory.getOWLThing()));
+						Set<ConceptNode<OWLClassExpression>> nodes = univ_rests_nodes.get(role);
+						if (nodes != null) {
+							// add most specific filler concepts to collected most specific concepts of i
+							indToConcepts.get(i)
+									.addAll(handler.getMostSpecificConsforInd(rs.getObject(), nodes, sorted));
+						}
+					}
+				}
+				// if i does not occur as a subject of a role assertions, its processing is done
+				if (!indToRoleAssertSubj.containsKey(i)) {
+					finished_inds.add(i);
+				}
+			});
+
+			/*
+			 * get concepts based on individual i's occurrence as subject of role assertions
+			 * R(i,j) by means of a worklist: each finished individual j is used to extend
+			 * the individuals i with R(i,j), and i is finished once every related j is
+			 * finished, such that every role assertion is only processed once. The
+			 * worklist is processed in waves of individuals that became finished at the
+			 * same time, where the individuals i extended by a wave are independent of
+			 * each other.
+			 */
+			// role assertions R(i,j) for each i whose individual j is not yet finished
+			HashMap<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> pending = new HashMap<>(
+					indToRoleAssertSubj.size());
+			// role assertions R(i,j) accessible by the individual j they depend on
+			HashMap<OWLIndividual, List<OWLObjectPropertyAssertionAxiom>> dependents = new HashMap<>();
+			for (Entry<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> entry : indToRoleAssertSubj.entrySet()) {
+				pending.put(entry.getKey(), new HashSet<>(entry.getValue()));
+				for (OWLObjectPropertyAssertionAxiom rs : entry.getValue()) {
+					dependents.computeIfAbsent(rs.getObject(), j -> new ArrayList<>()).add(rs);
+				}
+			}
+			Collection<OWLIndividual> wave = new ArrayList<>(finished_inds);
+			while (!wave.isEmpty()) {
+				// role assertions R(i,j) with j of the current wave grouped by i
+				HashMap<OWLIndividual, List<OWLObjectPropertyAssertionAxiom>> ready = new HashMap<>();
+				for (OWLIndividual j : wave) {
+					List<OWLObjectPropertyAssertionAxiom> incoming = dependents.get(j);
+					if (incoming != null) {
+						for (OWLObjectPropertyAssertionAxiom rs : incoming) {
+							ready.computeIfAbsent(rs.getSubject(), i -> new ArrayList<>()).add(rs);
+						}
+					}
+				}
+				forEachConcurrently(ready.keySet(), workerHandlers, (handler, i) -> {
+					Set<OWLClassExpression> most_spec_concepts = indToConcepts.get(i);
+					for (OWLObjectPropertyAssertionAxiom rs : ready.get(i)) {
+						// get role R
+						OWLObjectProperty role = rs.getProperty().asOWLObjectProperty();
+						// create existential restriction ∃R.G with G as conjunction of most specific
+						// concepts of j and add it if most specific
+						OWLObjectSomeValuesFrom ex_rest = conceptInterner.intern(factory.getOWLObjectSomeValuesFrom(
+								role, handler.createConjunction(indToConcepts.get(rs.getObject()))));
+						handler.addConceptIfMostSpecific(most_spec_concepts, ex_rest);
+					}
+				});
+				// check if every most specific concept determined for the extended individuals
+				wave = new ArrayList<>();
+				for (Entry<OWLIndividual, List<OWLObjectPropertyAssertionAxiom>> entry : ready.entrySet()) {
+					Set<OWLObjectPropertyAssertionAxiom> i_pending = pending.get(entry.getKey());
+					i_pending.removeAll(entry.getValue());
+					if (i_pending.isEmpty()) {
+						finished_inds.add(entry.getKey());
+						wave.add(entry.getKey());
 					}
 				}
+			}
 
-				// add to already found most specific concepts if possible
-				Set<OWLClassExpression> most_spec_concepts = indToConcepts.get(i);
-				for (OWLObjectSomeValuesFrom ex_rest : most_spec_ex_rests) {
-					addConceptIfMostSpecific(most_spec_concepts, ex_rest);
+			// individuals that depend on a loop of role assertions (or on individuals that
+			// are not considered) keep their unprocessed role assertions
+			Set<OWLIndividual> remaining_inds = new HashSet<>();
+			for (Entry<OWLIndividual, Set<OWLObjectPropertyAssertionAxiom>> entry : pending.entrySet()) {
+				if (!entry.getValue().isEmpty()) {
+					remaining_inds.add(entry.getKey());
+					indToRoleAssertSubj.put(entry.getKey(), entry.getValue());
 				}
-				indToConcepts.put(i, most_spec_concepts);
 			}
+
+			// check if for some individuals, most specific concepts still not found
+			if (!remaining_inds.isEmpty()) {
+				/*
+				 * remaining individuals appear in at least one loop of the form R1(i_1,i_2),
+				 * R2(i_2,i_3), ... Rn(i_n,i_1), which means that we cannot further specify the
+				 * restriction ∃R.G like above and have to explicitly search for suitable
+				 * existential restrictions in the ontology that may be used as most specific
+				 * concepts
+				 */
+				// look for existential restrictions that may appear on the left-hand side of a
+				// subsumption axiom
+				// candidates are collected and sorted once per ontology
+				Set<ConceptNode<OWLObjectSomeValuesFrom>> ex_rest_nodes = getLeftSideExistRestrictionNodes();
+
+				forEachConcurrently(remaining_inds, workerHandlers, (handler, i) -> {
+					// find most specific ∃R.G with (∃R.G)(i)
+					Set<OWLObjectSomeValuesFrom> most_spec_ex_rests = handler.getMostSpecificExRestsForIndividual(i,
+							ex_rest_nodes);
+					Set<OWLProperty> used_roles = new HashSet<>();
+					// add ∃R.T for each remaining R(i,j)
+					for (OWLObjectPropertyAssertionAxiom rs : indToRoleAssertSubj.get(i)) {
+						// get role R
+						OWLObjectProperty role = rs.getProperty().asOWLObjectProperty();
+						if (!used_roles.contains(role)) {
+							used_roles.add(role);
+							handler.addConceptIfMostSpecific(most_spec_ex_rests,
+									factory.getOWLObjectSomeValuesFrom(role, factory.getOWLThing()));
+						}
+					}
+
+					// add to already found most specific concepts if possible
+					Set<OWLClassExpression> most_spec_concepts = indToConcepts.get(i);
+					for (OWLObjectSomeValuesFrom ex_rest : most_spec_ex_rests) {
+						handler.addConceptIfMostSpecific(most_spec_concepts, ex_rest);
+					}
+				});
+			}
+		} finally {
+			workerHandlers.values().forEach(worker -> worker.dispose());
 		}
 
-		return indToConcepts;
+		return new HashMap<>(indToConcepts);
 	}
 
 	/**
-	 * Go through a set of concepts and find the most specific ones {@code C} for
-	 * which {@code C(ind)} holds
+	 * Choose the pool used to compute the most specific concepts of independent
+	 * individuals concurrently in
+	 * {@link #getMostSpecificConceptsForIndividuals(Set, HashMap)} and to collect
+	 * the restrictions of the axioms concurrently in
+	 * {@link #getPotentialRightSideRestrictionNodes()}. The pool is not shut down
+	 * by this handler.
 	 * 
-	 * @param <C>  extends {@link OWLClassExpression}
-	 * @param ind  An {@link OWLIndividual} instance
-	 * @param cons A {@link Set} of {@link C} instances
-	 * @return A {@link Set} of {@link C} elements
+	 * @param forkJoinPool A {@link ForkJoinPool} or {@code null} if individuals
+	 *                     and axioms should be processed sequentially (default)
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * Apply an action to each of the given elements (e.g. individuals or axioms),
+	 * where the elements are processed concurrently by means of
+	 * {@link #forkJoinPool} if available. Since reasoners must not be shared
+	 * across threads, each worker thread uses its own {@link OntologyHandler}
+	 * (see {@link #createWorkerHandler()}) unless entailment checks are performed
+	 * by a {@link ReasonerPool}.
 	 * 
+	 * @param <T>            The type of the elements
+	 * @param elements       A {@link Collection} of {@link T} objects
+	 * @param workerHandlers A {@link ConcurrentHashMap} storing the handler of
+	 *                       each worker thread, which have to be disposed by the
+	 *                       caller
+	 * @param action         A {@link BiConsumer} applied to the handler to use
+	 *                       and an element, where different elements may be
+	 *                       processed at the same time
 	 */
-	private <C extends OWLClassExpression> Set<C> getMostSpecificExRestsForIndividual(OWLIndividual ind, Set<C> cons) {
-		Set<C> results = new HashSet<>();
-		for (C con : cons) {
-			// check if C(ind) holds for current C
-			if (reasoner.isEntailed(factory.getOWLClassAssertionAxiom(con, ind))) {
-				// add if most specific
-				addConceptIfMostSpecific(results, con);
-			}
+	private <T> void forEachConcurrently(Collection<T> elements,
+			ConcurrentHashMap<Thread, OntologyHandler> workerHandlers, BiConsumer<OntologyHandler, T> action) {
+		ForkJoinPool pool = forkJoinPool;
+		if (pool == null || elements.size() < 2) {
+			elements.forEach(element -> action.accept(this, element));
+			return;
+		}
+		try {
+			pool.submit(() -> elements.parallelStream().forEach(element -> {
+				OntologyHandler handler = this;
+				if (reasonerPool == null) {
+					handler = workerHandlers.computeIfAbsent(Thread.currentThread(), t -> createWorkerHandler());
+				}
+				action.accept(handler, element);
+			})).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("concurrent computation was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("concurrent computation failed", e.getCause());
 		}
+	}
 
-		return results;
+	/**
+	 * Go through nodes representing concepts {@code C} and find the most specific
+	 * ones for which {@code C(ind)} holds by traversing the hierarchy top-down
+	 * (see {@link #getMostSpecificConsforInd}). Since the nodes may not be sorted
+	 * (see {@link #setNodeSorter}) and a hierarchy sorted by classification may
+	 * miss subsumptions that do not follow from the translated axioms (see
+	 * {@link AtomicConceptReplacer#getReplacedAxioms}), the found concepts are
+	 * reduced by means of a {@link MostSpecificConceptSet}.
+	 * 
+	 * @param <C>   extends {@link OWLClassExpression}
+	 * @param ind   An {@link OWLIndividual} instance
+	 * @param nodes A {@link Set} of {@link ConceptNode} elements for {@link C}
+	 *              instances representing the top-nodes of a hierarchy
+	 * @return A {@link Set} of {@link C} elements
+	 * 
+	 */
+	<C extends OWLClassExpression> Set<C> getMostSpecificExRestsForIndividual(OWLIndividual ind,
+			Set<ConceptNode<C>> nodes) {
+		MostSpecificConceptSet<C> results = new MostSpecificConceptSet<>(this);
+		collectMostSpecificConsforInd(ind, nodes, new IdentityHashMap<>(), results);
+		return new HashSet<>(results);
 	}
 
 	/**
 	 * Go through sorted nodes representing concepts {@code D} and select most
-	 * specific ones for which {@code D(ind)} holds.
+	 * specific ones for which {@code D(ind)} holds. The hierarchy is traversed
+	 * top-down, where the sub-nodes of a node are only considered if
+	 * {@code D(ind)} holds for the node (since it holds for none of its
+	 * sub-concepts otherwise) and every node is only checked once, even if it is
+	 * reachable from several super-nodes. The concepts of the lowest nodes for
+	 * which {@code D(ind)} holds are selected without further subsumption checks.
 	 * 
 	 * @param ind   An {@link OWLIndividual} instance
 	 * @param nodes A {@link Set} of {@link ConceptNode} elements for
@@ -496,20 +1338,97 @@ public class OntologyHandler {
 	 */
 	public Set<OWLClassExpression> getMostSpecificConsforInd(OWLIndividual ind,
 			Set<ConceptNode<OWLClassExpression>> nodes) {
-		// sets to collect most specific related concepts
-		Set<OWLClassExpression> concepts = new HashSet<>();
+		return getMostSpecificConsforInd(ind, nodes, true);
+	}
+
+	/**
+	 * Go through nodes representing concepts {@code D} and select most specific
+	 * ones for which {@code D(ind)} holds, where the traversal of
+	 * {@link #getMostSpecificConsforInd(OWLIndividual, Set)} is only relied on for
+	 * a sorted hierarchy. Otherwise, the found concepts are reduced to the most
+	 * specific ones by means of a {@link MostSpecificConceptSet}.
+	 * 
+	 * @param ind    An {@link OWLIndividual} instance
+	 * @param nodes  A {@link Set} of {@link ConceptNode} elements for
+	 *               {@link OWLClassExpression} instances
+	 * @param sorted {@code true} if {@code nodes} are the top-nodes of a sorted
+	 *               hierarchy, else {@code false} (e.g. if sorting is not applied
+	 *               by {@link com.ai.cre.algo.RefExpRetrieval})
+	 * @return A {@link Set} of {@link OWLClassExpression} elements
+	 */
+	public Set<OWLClassExpression> getMostSpecificConsforInd(OWLIndividual ind,
+			Set<ConceptNode<OWLClassExpression>> nodes, boolean sorted) {
+		if (sorted) {
+			// sets to collect most specific related concepts
+			Set<OWLClassExpression> concepts = new HashSet<>();
+			collectMostSpecificConsforInd(ind, nodes, new IdentityHashMap<>(), concepts);
+			return concepts;
+		}
+		MostSpecificConceptSet<OWLClassExpression> concepts = new MostSpecificConceptSet<>(this);
+		collectMostSpecificConsforInd(ind, nodes, new IdentityHashMap<>(), concepts);
+		return new HashSet<>(concepts);
+	}
+
+	/**
+	 * Collect the concepts of the lowest nodes below (and including) the given
+	 * nodes for which {@code D(ind)} holds (see
+	 * {@link #getMostSpecificConsforInd})
+	 * 
+	 * @param <C>      extends {@link OWLClassExpression}
+	 * @param ind      An {@link OWLIndividual} instance
+	 * @param nodes    A {@link Set} of {@link ConceptNode} elements
+	 * @param visited  A {@link Map} relating every already checked node to the
+	 *                 result of its check
+	 * @param concepts A {@link Set} to which the found concepts are added
+	 * @return {@code true} if {@code D(ind)} holds for at least one of the given
+	 *         nodes, else {@code false}
+	 */
+	private <C extends OWLClassExpression> boolean collectMostSpecificConsforInd(OWLIndividual ind,
+			Set<ConceptNode<C>> nodes, Map<ConceptNode<C>, Boolean> visited, Set<C> concepts) {
+		boolean found = false;
+		for (ConceptNode<C> node : nodes) {
+			Boolean holds = visited.get(node);
+			if (holds == null) {
+				// check if D(ind) holds for the concept D of current node
+				holds = checkClassAssertion(node.getConcept(), ind);
+				visited.put(node, holds);
+				// the node's concept is most specific if it holds for no sub-node
+				if (holds && !collectMostSpecificConsforInd(ind, node.subs, visited, concepts)) {
+					concepts.add(node.getConcept());
+				}
+			}
+			found |= holds;
+		}
+		return found;
+	}
 
-		for (ConceptNode<OWLClassExpression> node : nodes) {
-			// get concept of node
-			OWLClassExpression con = node.getConcept();
-			// check if D(ind) holds for ∀R.D of current node
-			if (reasoner.isEntailed(factory.getOWLClassAssertionAxiom(con, ind))) {
-				addConceptIfMostSpecific(concepts, con);
+	/**
+	 * Get the existential restrictions returned by
+	 * {@link #getPotentialLeftSideExistRestrictions()} sorted in a hierarchy based
+	 * on subsumption by means of the strategy set by {@link #setNodeSorter} (or
+	 * as separate nodes if none is set), which is created on first access and
+	 * discarded when {@link #ontology} changes
+	 * 
+	 * @return An unmodifiable {@link Set} of {@link ConceptNode} elements for
+	 *         {@link OWLObjectSomeValuesFrom} instances representing the top-nodes
+	 *         of the hierarchy
+	 */
+	public Set<ConceptNode<OWLObjectSomeValuesFrom>> getLeftSideExistRestrictionNodes() {
+		Set<ConceptNode<OWLObjectSomeValuesFrom>> nodes = leftSideExistRestrictionNodes;
+		if (nodes == null) {
+			synchronized (this) {
+				nodes = leftSideExistRestrictionNodes;
+				if (nodes == null) {
+					ConceptNodeSet<OWLObjectSomeValuesFrom> rest_nodes = new ConceptNodeSet<>();
+					getPotentialLeftSideExistRestrictions().forEach(rest -> rest_nodes.add(new ConceptNode<>(rest)));
+					nodes = rest_nodes.isEmpty() || nodeSorter == null ? rest_nodes
+							: nodeSorter.sort(this, rest_nodes);
+					nodes = Collections.unmodifiableSet(nodes);
+					leftSideExistRestrictionNodes = nodes;
+				}
 			}
-			// consider sub-nodes
-			concepts.addAll(getMostSpecificConsforInd(ind, node.subs));
 		}
-		return concepts;
+		return nodes;
 	}
 
 	/**
@@ -585,10 +1504,10 @@ public class OntologyHandler {
 	 *         specific concepts {@code C} with {@code C(ind)} in ABox
 	 */
 	public Set<OWLClassExpression> getMostSpecificABoxConcepts(OWLIndividual ind) {
-		Set<OWLClassExpression> mostSpecConcepts = new HashSet<>();
-		ontology.classAssertionAxioms(ind)
-				.forEach(as -> addConceptIfMostSpecific(mostSpecConcepts, as.getClassExpression()));
-		return mostSpecConcepts;
+		MostSpecificConceptSet<OWLClassExpression> mostSpecConcepts = new MostSpecificConceptSet<>(this);
+		ontology.classAssertionAxioms(ind).forEach(as -> mostSpecConcepts.add(as.getClassExpression()));
+		// callers extend the returned set by arbitrary concepts
+		return new HashSet<>(mostSpecConcepts);
 	}
 
 	/**
@@ -605,10 +1524,13 @@ public class OntologyHandler {
 	 *               to be added
 	 */
 	public <T extends OWLClassExpression> void addConceptIfMostSpecific(Set<T> conSet, T newCon) {
-		if (newCon != null) {
+		if (conSet instanceof MostSpecificConceptSet) {
+			conSet.add(newCon);
+		} else if (newCon != null) {
 			boolean no_sub_found = true;
 			boolean no_super_found = true;
-			for (OWLClassExpression setCon : new HashSet<>(conSet)) {
+			for (Iterator<T> it = conSet.iterator(); it.hasNext();) {
+				T setCon = it.next();
 				// D ⊑ C
 				if (no_super_found && checkIfSubClass(setCon, newCon)) {
 					// new concept is not most specific -> must not be added
@@ -618,7 +1540,7 @@ public class OntologyHandler {
 				else if (checkIfSubClass(newCon, setCon)) {
 					// new concept is most specific because it cannot be a superclass of the other
 					// concepts due to being a subclass for a previously most specific concept
-					conSet.remove(setCon);
+					it.remove();
 					no_super_found = false;
 					// do not stop process in order to remove other subclasses if present
 				}
@@ -638,10 +1560,7 @@ public class OntologyHandler {
 	 *         {@code concept_set} as operands
 	 */
 	public OWLClassExpression createConjunction(Set<? extends OWLClassExpression> concept_set) {
-		if (concept_set.size() == 1) {
-			return concept_set.iterator().next();
-		}
-		return factory.getOWLObjectIntersectionOf(concept_set);
+		return conceptInterner.getConjunction(concept_set);
 	}
 
 	/**
@@ -656,7 +1575,18 @@ public class OntologyHandler {
 	 *         {@code fillers}
 	 */
 	public OWLObjectAllValuesFrom createUnivRestriction(OWLObjectProperty role, Set<OWLClassExpression> fillers) {
-		return factory.getOWLObjectAllValuesFrom(role, createConjunction(fillers));
+		return conceptInterner.intern(factory.getOWLObjectAllValuesFrom(role, createConjunction(fillers)));
+	}
+
+	/**
+	 * Create the existential restriction {@code ∃R.(TOP)} for a given role
+	 * {@code R}, which subsumes every existential restriction using {@code R}
+	 * 
+	 * @param role An {@link OWLObjectProperty} instance
+	 * @return An {@link OWLObjectSomeValuesFrom} object
+	 */
+	public OWLObjectSomeValuesFrom createRoleRestriction(OWLObjectProperty role) {
+		return conceptInterner.intern(factory.getOWLObjectSomeValuesFrom(role, factory.getOWLThing()));
 	}
 
 	/**
@@ -672,13 +1602,13 @@ public class OntologyHandler {
 	 */
 	public OWLObjectSomeValuesFrom combineToExistRestriction(OWLObjectSomeValuesFrom ex_rest,
 			OWLObjectAllValuesFrom role_con) {
+		OWLObjectIntersectionOf filler;
 		if (role_con == null) {
-			return factory.getOWLObjectSomeValuesFrom(ex_rest.getProperty(),
-					getMostSpecificConjunction(ex_rest.getFiller(), null));
+			filler = getMostSpecificConjunction(ex_rest.getFiller(), null);
 		} else {
-			return factory.getOWLObjectSomeValuesFrom(ex_rest.getProperty(),
-					getMostSpecificConjunction(ex_rest.getFiller(), role_con.getFiller()));
+			filler = getMostSpecificConjunction(ex_rest.getFiller(), role_con.getFiller());
 		}
+		return conceptInterner.intern(factory.getOWLObjectSomeValuesFrom(ex_rest.getProperty(), filler));
 	}
 
 	/**
@@ -695,34 +1625,21 @@ public class OntologyHandler {
 		boolean c_is_conjunction = c instanceof OWLObjectIntersectionOf;
 		boolean d_is_conjunction = d instanceof OWLObjectIntersectionOf;
 		Set<OWLClassExpression> conjuncts = new HashSet<>();
-
-		if (c_is_conjunction && d_is_conjunction) {
-			// get set of most specific conjuncts from C
-			for (OWLClassExpression con : c.asConjunctSet()) {
-				addConceptIfMostSpecific(conjuncts, con);
-			}
-			// consider conjuncts from D
-			for (OWLClassExpression con : d.asConjunctSet()) {
-				addConceptIfMostSpecific(conjuncts, con);
-			}
-		} else if (c_is_conjunction) {
-			for (OWLClassExpression con : c.asConjunctSet()) {
-				addConceptIfMostSpecific(conjuncts, con);
-			}
-			addConceptIfMostSpecific(conjuncts, d);
-		} else if (d_is_conjunction) {
-			for (OWLClassExpression con : d.asConjunctSet()) {
-				addConceptIfMostSpecific(conjuncts, con);
-			}
-			addConceptIfMostSpecific(conjuncts, c);
-		} else {
-			conjuncts.add(c);
-			if (d != null) {
-				conjuncts.add(d);
-			}
+		conjuncts.add(c);
+		if (d != null) {
+			conjuncts.add(d);
 		}
 
-		return factory.getOWLObjectIntersectionOf(conjuncts);
+		if (c_is_conjunction || d_is_conjunction) {
+			// get set of most specific conjuncts from C and D, which is only computed
+			// once for the same (flattened) conjuncts
+			return conceptInterner.getMostSpecificConjunction(conjuncts, normalized -> {
+				MostSpecificConceptSet<OWLClassExpression> most_specific = new MostSpecificConceptSet<>(this);
+				most_specific.addAll(normalized);
+				return most_specific;
+			});
+		}
+		return conceptInterner.intern(factory.getOWLObjectIntersectionOf(conjuncts));
 	}
 
 	/**
@@ -744,7 +1661,7 @@ public class OntologyHandler {
 			// check if same role
 			if (role.equals(rest.getProperty())) {
 				// check if related filler concepts are equivalent w.r.t. ontology
-				if (reasoner.isEntailed(factory.getOWLEquivalentClassesAxiom(filler, rest.getFiller()))) {
+				if (checkIfEquivalentClass(filler, rest.getFiller())) {
 					return false;
 				}
 			}
@@ -767,8 +1684,7 @@ public class OntologyHandler {
 	 */
 	public boolean checkIfRoleAssertionPresent(OWLObjectProperty role, OWLIndividual a, OWLClassExpression b_concept) {
 		// get role assertions R(a,b) for given individual a and role R
-		for (OWLObjectPropertyAssertionAxiom ax : this.ontology.objectPropertyAssertionAxioms(a)
-				.filter(ax -> ax.getProperty().equals(role)).collect(Collectors.toList())) {
+		for (OWLObjectPropertyAssertionAxiom ax : getRoleAssertionIndex().getAssertionsWithSubject(a, role)) {
 			// check if C(b) holds w.r.t. ontology for b_concept C
 			if (checkClassAssertion(b_concept, ax.getObject())) {
 				return true;
@@ -788,7 +1704,15 @@ public class OntologyHandler {
 	 *         {@code false}
 	 */
 	public boolean checkClassAssertion(OWLClassExpression concept, OWLIndividual ind) {
-		return reasoner.isEntailed(factory.getOWLClassAssertionAxiom(concept, ind));
+		// look up the inferred types of named individuals
+		if (useRealization) {
+			RealizationTable table = getRealizationTable();
+			Boolean holds = table == null ? null : table.isInstance(concept, ind);
+			if (holds != null) {
+				return holds;
+			}
+		}
+		return isEntailed(factory.getOWLClassAssertionAxiom(concept, ind));
 	}
 
 	/**
@@ -799,8 +1723,7 @@ public class OntologyHandler {
 	 *         use {@code ind} as subject
 	 */
 	public Set<OWLObjectPropertyAssertionAxiom> getRoleAssertions(OWLIndividual ind) {
-		return new HashSet<OWLObjectPropertyAssertionAxiom>(
-				ontology.objectPropertyAssertionAxioms(ind).collect(Collectors.toSet()));
+		return new HashSet<OWLObjectPropertyAssertionAxiom>(getRoleAssertionIndex().getAssertionsWithSubject(ind));
 	}
 
 	/**
@@ -818,11 +1741,15 @@ public class OntologyHandler {
 	 * @return {@code true} if {@code new_con} was added to list, else {@code false}
 	 */
 	public <C extends OWLClassExpression> boolean addExRestIfMinimal(Collection<C> list, C new_con) {
+		if (list instanceof MostSpecificConceptSet) {
+			return list.add(new_con);
+		}
 		if (new_con != null) {
 			boolean no_sub_found = true;
 			if (new_con instanceof OWLObjectSomeValuesFrom) {
 				boolean no_super_found = true;
-				for (C setCon : new HashSet<>(list)) {
+				for (Iterator<C> it = list.iterator(); it.hasNext();) {
+					C setCon = it.next();
 					// D is role-concept-subsumed by C
 					if (no_super_found && checkRoleConceptSubsumption(setCon, new_con)) {
 						// new concept is not minimal -> must not be added
@@ -833,7 +1760,7 @@ public class OntologyHandler {
 						// new concept is minimal because it cannot role-concept-subsume another
 						// restriction due to being role-concept-subsumed by a previously minimal
 						// concept
-						list.remove(setCon);
+						it.remove();
 						no_super_found = false;
 						// do not stop process in order to remove other non-minimal elements if present
 					}
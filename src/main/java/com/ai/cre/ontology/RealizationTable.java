@@ -0,0 +1,203 @@
+package com.ai.cre.ontology;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.ClassExpressionType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * A table of the realized ABox of an ontology, i.e., of the inferred atomic
+ * types of each named individual and (inversely) of the instances of each
+ * atomic concept, that answers class assertion checks {@code A(a)} without
+ * further reasoner calls. Checks for conjunctions and disjunctions are answered
+ * by means of their operands where possible.
+ *
+ */
+public class RealizationTable {
+
+	/**
+	 * Rough number of bytes needed for one entry of a {@link HashMap} or
+	 * {@link HashSet}
+	 */
+	private static final int ENTRY_BYTES = 48;
+
+	/**
+	 * The inferred atomic types (including TOP) of every named individual
+	 */
+	private final Map<OWLIndividual, Set<OWLClass>> types = new HashMap<>();
+
+	/**
+	 * The named individuals inferred to be instances of every atomic concept
+	 * with at least one instance
+	 */
+	private final Map<OWLClass, Set<OWLIndividual>> instances = new HashMap<>();
+
+	/**
+	 * The atomic concepts for which the table is complete, i.e., the concepts in
+	 * the signature of the ontology
+	 */
+	private final Set<OWLClass> classes;
+
+	/**
+	 * Time (in nanoseconds) needed to create the table
+	 */
+	private final long buildTime;
+
+	/**
+	 * Realize the ontology by means of the given reasoner (if not done already)
+	 * and create the table for every named individual in its signature
+	 *
+	 * @param ontology An {@link OWLOntology}
+	 * @param reasoner An {@link OWLReasoner} for {@code ontology}
+	 */
+	public RealizationTable(OWLOntology ontology, OWLReasoner reasoner) {
+		long start = System.nanoTime();
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS);
+
+		classes = ontology.classesInSignature().collect(Collectors.toCollection(HashSet::new));
+		ontology.individualsInSignature().forEach(ind -> {
+			Set<OWLClass> ind_types = reasoner.getTypes(ind, false).entities()
+					.collect(Collectors.toCollection(HashSet::new));
+			types.put(ind, ind_types);
+			ind_types.forEach(cls -> instances.computeIfAbsent(cls, c -> new HashSet<>()).add(ind));
+		});
+		buildTime = System.nanoTime() - start;
+	}
+
+	/**
+	 * Check if {@code C(ind)} holds by means of the table
+	 *
+	 * @param concept An {@link OWLClassExpression}
+	 * @param ind     An {@link OWLIndividual}
+	 * @return {@link Boolean#TRUE} or {@link Boolean#FALSE} if the answer is
+	 *         known, or {@code null} if the reasoner has to be asked, i.e., if
+	 *         {@code ind} is anonymous or unknown or if {@code concept} is built
+	 *         from other expressions than atomic concepts, conjunctions and
+	 *         disjunctions
+	 */
+	public Boolean isInstance(OWLClassExpression concept, OWLIndividual ind) {
+		if (concept.isOWLThing()) {
+			return Boolean.TRUE;
+		}
+		Set<OWLClass> ind_types = types.get(ind);
+		if (ind_types == null) {
+			return null;
+		}
+		if (!concept.isAnonymous()) {
+			OWLClass cls = concept.asOWLClass();
+			if (ind_types.contains(cls)) {
+				return Boolean.TRUE;
+			}
+			return classes.contains(cls) || cls.isOWLNothing() ? Boolean.FALSE : null;
+		}
+		if (concept.getClassExpressionType() == ClassExpressionType.OBJECT_INTERSECTION_OF) {
+			// every conjunct has to hold
+			Boolean result = Boolean.TRUE;
+			for (OWLClassExpression conjunct : concept.asConjunctSet()) {
+				Boolean holds = isInstance(conjunct, ind);
+				if (holds == null) {
+					result = null;
+				} else if (!holds) {
+					return Boolean.FALSE;
+				}
+			}
+			return result;
+		}
+		if (concept.getClassExpressionType() == ClassExpressionType.OBJECT_UNION_OF) {
+			// a disjunct that holds suffices, while the reasoner is needed to show
+			// that the disjunction does not hold (e.g. for A ⊔ ¬A)
+			for (OWLClassExpression disjunct : concept.asDisjunctSet()) {
+				if (Boolean.TRUE.equals(isInstance(disjunct, ind))) {
+					return Boolean.TRUE;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Get the inferred atomic types of an individual
+	 *
+	 * @param ind An {@link OWLIndividual}
+	 * @return An unmodifiable {@link Set} of {@link OWLClass} elements (empty if
+	 *         {@code ind} is not contained in the table)
+	 */
+	public Set<OWLClass> getTypes(OWLIndividual ind) {
+		Set<OWLClass> ind_types = types.get(ind);
+		return ind_types == null ? Collections.emptySet() : Collections.unmodifiableSet(ind_types);
+	}
+
+	/**
+	 * Get the named individuals inferred to be instances of an atomic concept
+	 *
+	 * @param cls An {@link OWLClass}
+	 * @return An unmodifiable {@link Set} of {@link OWLIndividual} elements
+	 */
+	public Set<OWLIndividual> getInstances(OWLClass cls) {
+		Set<OWLIndividual> cls_instances = instances.get(cls);
+		return cls_instances == null ? Collections.emptySet() : Collections.unmodifiableSet(cls_instances);
+	}
+
+	/**
+	 * Check if an individual is contained in the table
+	 *
+	 * @param ind An {@link OWLIndividual}
+	 * @return {@code true} if {@link #isInstance} can answer checks for
+	 *         {@code ind}
+	 */
+	public boolean contains(OWLIndividual ind) {
+		return types.containsKey(ind);
+	}
+
+	/**
+	 * Get the number of individuals in the table
+	 *
+	 * @return An {@code int} value
+	 */
+	public int size() {
+		return types.size();
+	}
+
+	/**
+	 * Get the time needed to create the table
+	 *
+	 * @return A {@code long} value representing milliseconds
+	 */
+	public long getBuildTimeMillis() {
+		return buildTime / 1000000;
+	}
+
+	/**
+	 * Get a rough estimate of the memory occupied by the table (not including
+	 * the individuals and classes themselves)
+	 *
+	 * @return A {@code long} value representing bytes
+	 */
+	public long estimateMemoryBytes() {
+		long bytes = (long) (types.size() + instances.size() + classes.size()) * ENTRY_BYTES;
+		for (Set<OWLClass> ind_types : types.values()) {
+			bytes += (long) ind_types.size() * ENTRY_BYTES;
+		}
+		for (Set<OWLIndividual> cls_instances : instances.values()) {
+			bytes += (long) cls_instances.size() * ENTRY_BYTES;
+		}
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "RealizationTable[individuals=" + types.size() + ", classes=" + instances.size() + ", build time="
+				+ getBuildTimeMillis() + " ms, ~" + estimateMemoryBytes() / 1024 + " KiB]";
+	}
+
+}
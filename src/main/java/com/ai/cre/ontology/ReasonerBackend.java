@@ -0,0 +1,67 @@
+package com.ai.cre.ontology;
+
+import org.semanticweb.HermiT.ReasonerFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+import uk.ac.manchester.cs.jfact.JFactFactory;
+
+/**
+ * A reasoner that can be used for one or more {@link ReasonerPhase} of the
+ * algorithm, given by an {@link OWLReasonerFactory}. Besides the predefined
+ * backends {@link #HERMIT} and {@link #JFACT}, any other OWL API reasoner can be
+ * plugged in by creating a backend for its factory.
+ *
+ */
+public class ReasonerBackend {
+
+	/**
+	 * The HermiT reasoner (used by default)
+	 */
+	public static final ReasonerBackend HERMIT = new ReasonerBackend("HermiT", new ReasonerFactory());
+
+	/**
+	 * The JFact reasoner, which is often faster for classifying larger
+	 * ontologies
+	 */
+	public static final ReasonerBackend JFACT = new ReasonerBackend("JFact", new JFactFactory());
+
+	private final String name;
+
+	private final OWLReasonerFactory factory;
+
+	/**
+	 * 
+	 * @param name    A {@link String} identifying the backend
+	 * @param factory An {@link OWLReasonerFactory} creating the reasoners
+	 */
+	public ReasonerBackend(String name, OWLReasonerFactory factory) {
+		this.name = name;
+		this.factory = factory;
+	}
+
+	/**
+	 * Create a new reasoner for the given ontology
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 * @return An {@link OWLReasoner} that should be disposed if no longer needed
+	 */
+	public OWLReasoner createReasoner(OWLOntology ontology) {
+		return factory.createReasoner(ontology);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public OWLReasonerFactory getFactory() {
+		return factory;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
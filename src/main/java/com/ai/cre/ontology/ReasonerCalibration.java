@@ -0,0 +1,188 @@
+package com.ai.cre.ontology;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * Measures how fast different {@link ReasonerBackend}s perform a small sample
+ * of representative tasks for each {@link ReasonerPhase} on a given ontology,
+ * in order to select the fastest backend per phase for that ontology:
+ * <ul>
+ * <li>{@link ReasonerPhase#ENTAILMENT}: subsumption checks between concepts
+ * occurring in the subclass axioms of the ontology</li>
+ * <li>{@link ReasonerPhase#CLASSIFICATION}: classification of the ontology</li>
+ * <li>{@link ReasonerPhase#REALIZATION}: class assertion checks for individuals
+ * and concepts of the ontology</li>
+ * </ul>
+ * The sample is drawn with a fixed seed, such that every backend performs the
+ * same checks. Every backend performs the tasks once before they are measured,
+ * such that class loading and JIT compilation do not favor the backends
+ * measured last.
+ *
+ */
+public class ReasonerCalibration {
+
+	/**
+	 * Number of checks performed for each of the phases
+	 * {@link ReasonerPhase#ENTAILMENT} and {@link ReasonerPhase#REALIZATION} if no
+	 * other size is specified
+	 */
+	public static final int DEFAULT_SAMPLE_SIZE = 50;
+
+	private final OWLOntology ontology;
+
+	private final List<OWLAxiom> subsumptions = new ArrayList<>();
+
+	private final List<OWLAxiom> assertions = new ArrayList<>();
+
+	/**
+	 * Measured times (in nanoseconds) for each phase and backend
+	 */
+	private final Map<ReasonerPhase, Map<ReasonerBackend, Long>> times = new EnumMap<>(ReasonerPhase.class);
+
+	/**
+	 * Create a calibration with {@link #DEFAULT_SAMPLE_SIZE} checks per phase
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 */
+	public ReasonerCalibration(OWLOntology ontology) {
+		this(ontology, DEFAULT_SAMPLE_SIZE, 42);
+	}
+
+	/**
+	 * 
+	 * @param ontology   An {@link OWLOntology}
+	 * @param sampleSize An {@code int} stating the number of checks per phase
+	 * @param seed       A {@code long} value used to draw the sample
+	 */
+	public ReasonerCalibration(OWLOntology ontology, int sampleSize, long seed) {
+		this.ontology = ontology;
+		OWLDataFactory factory = ontology.getOWLOntologyManager().getOWLDataFactory();
+		Random random = new Random(seed);
+
+		// concepts used in subclass axioms, i.e., the kind of concepts that are
+		// compared while sorting and constructing
+		List<OWLClassExpression> concepts = ontology.axioms(AxiomType.SUBCLASS_OF)
+				.flatMap(ax -> ax.nestedClassExpressions()).distinct().sorted().collect(Collectors.toList());
+		List<OWLIndividual> individuals = ontology.individualsInSignature().sorted().collect(Collectors.toList());
+		if (!concepts.isEmpty()) {
+			for (int i = 0; i < sampleSize; i++) {
+				subsumptions.add(factory.getOWLSubClassOfAxiom(concepts.get(random.nextInt(concepts.size())),
+						concepts.get(random.nextInt(concepts.size()))));
+				if (!individuals.isEmpty()) {
+					assertions.add(factory.getOWLClassAssertionAxiom(concepts.get(random.nextInt(concepts.size())),
+							individuals.get(random.nextInt(individuals.size()))));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Perform the sampled tasks with every given backend (after a warm-up round
+	 * whose times are discarded) and select the fastest backend for each phase
+	 * 
+	 * @param backends A non-empty {@link Collection} of {@link ReasonerBackend}
+	 *                 objects
+	 * @return A {@link Map} from each {@link ReasonerPhase} to the fastest
+	 *         {@link ReasonerBackend}
+	 */
+	public Map<ReasonerPhase, ReasonerBackend> calibrate(Collection<ReasonerBackend> backends) {
+		// warm-up round
+		for (ReasonerBackend backend : backends) {
+			measure(backend);
+		}
+		times.clear();
+		for (ReasonerBackend backend : backends) {
+			measure(backend);
+		}
+		Map<ReasonerPhase, ReasonerBackend> selected = new EnumMap<>(ReasonerPhase.class);
+		times.forEach((phase, phase_times) -> selected.put(phase,
+				Collections.min(phase_times.entrySet(), Map.Entry.comparingByValue()).getKey()));
+		return selected;
+	}
+
+	/**
+	 * Measure the time needed by one backend for the sampled tasks of each phase
+	 * (a backend that fails is assigned the maximal time)
+	 * 
+	 * @param backend A {@link ReasonerBackend}
+	 */
+	private void measure(ReasonerBackend backend) {
+		OWLReasoner reasoner = null;
+		try {
+			reasoner = createLoadedReasoner(backend);
+			record(ReasonerPhase.ENTAILMENT, backend, timeChecks(reasoner, subsumptions));
+			record(ReasonerPhase.REALIZATION, backend, timeChecks(reasoner, assertions));
+			// use a fresh reasoner since the checks may have computed parts of the
+			// hierarchy already
+			reasoner.dispose();
+			reasoner = createLoadedReasoner(backend);
+			long start = System.nanoTime();
+			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+			record(ReasonerPhase.CLASSIFICATION, backend, System.nanoTime() - start);
+		} catch (Exception e) {
+			e.printStackTrace();
+			for (ReasonerPhase phase : ReasonerPhase.values()) {
+				times.computeIfAbsent(phase, p -> new HashMap<>()).putIfAbsent(backend, Long.MAX_VALUE);
+			}
+		} finally {
+			if (reasoner != null) {
+				reasoner.dispose();
+			}
+		}
+	}
+
+	private OWLReasoner createLoadedReasoner(ReasonerBackend backend) {
+		OWLReasoner reasoner = backend.createReasoner(ontology);
+		// some reasoners load the ontology only on the first request
+		reasoner.isConsistent();
+		return reasoner;
+	}
+
+	private static long timeChecks(OWLReasoner reasoner, List<OWLAxiom> axioms) {
+		long start = System.nanoTime();
+		for (OWLAxiom axiom : axioms) {
+			reasoner.isEntailed(axiom);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private void record(ReasonerPhase phase, ReasonerBackend backend, long time) {
+		times.computeIfAbsent(phase, p -> new HashMap<>()).put(backend, time);
+	}
+
+	/**
+	 * Get the time a backend needed for the sampled tasks of a phase
+	 * 
+	 * @param phase   A {@link ReasonerPhase}
+	 * @param backend A {@link ReasonerBackend}
+	 * @return A {@link Long} value representing nanoseconds or {@code null} if
+	 *         the backend has not been measured
+	 */
+	public Long getTime(ReasonerPhase phase, ReasonerBackend backend) {
+		Map<ReasonerBackend, Long> phase_times = times.get(phase);
+		return phase_times == null ? null : phase_times.get(backend);
+	}
+
+	@Override
+	public String toString() {
+		return "ReasonerCalibration" + times;
+	}
+
+}
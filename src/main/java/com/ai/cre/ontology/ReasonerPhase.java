@@ -0,0 +1,23 @@
+package com.ai.cre.ontology;
+
+/**
+ * The kinds of reasoning tasks for which an {@link OntologyHandler} may use
+ * different {@link ReasonerBackend}s
+ *
+ */
+public enum ReasonerPhase {
+	/**
+	 * entailment checks of subsumptions and equivalences between concepts
+	 */
+	ENTAILMENT,
+	/**
+	 * classification of the ontology extended by the restrictions that are
+	 * sorted by {@link com.ai.cre.algo.NodeSorter}
+	 */
+	CLASSIFICATION,
+	/**
+	 * checks of class assertions, i.e., if an individual is an instance of a
+	 * concept
+	 */
+	REALIZATION
+}
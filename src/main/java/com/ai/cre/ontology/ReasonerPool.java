@@ -0,0 +1,320 @@
+package com.ai.cre.ontology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * A bounded pool of reasoners for the same ontology. Since reasoner instances
+ * must not be shared across threads, each thread checks out its own reasoner
+ * (for a single entailment check or for a whole task) and returns it afterwards.
+ * Reasoners are created on first demand, such that at most {@link #maxSize}
+ * instances exist at any time; threads requesting a reasoner while all of them
+ * are checked out have to wait.
+ *
+ */
+public class ReasonerPool {
+
+	/**
+	 * Maximal number of reasoners used if no other size is specified, i.e., one
+	 * reasoner per available processor
+	 */
+	public static final int DEFAULT_MAX_SIZE = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The ontology of the pooled reasoners
+	 */
+	private final OWLOntology ontology;
+
+	/**
+	 * The backend used to create new reasoners
+	 */
+	private final ReasonerBackend backend;
+
+	/**
+	 * Maximal number of reasoners of the pool
+	 */
+	private final int maxSize;
+
+	/**
+	 * One permit for each reasoner that can still be checked out
+	 */
+	private final Semaphore permits;
+
+	/**
+	 * Reasoners that have been created and are currently not checked out, where
+	 * the most recently returned one is checked out first
+	 */
+	private final ConcurrentLinkedDeque<OWLReasoner> idle = new ConcurrentLinkedDeque<>();
+
+	/**
+	 * Counter for the calls of {@link #flush()}
+	 */
+	private final AtomicLong revision = new AtomicLong();
+
+	/**
+	 * The value of {@link #revision} every created reasoner has been flushed for
+	 */
+	private final Map<OWLReasoner, Long> revisions = new ConcurrentHashMap<>();
+
+	private final AtomicInteger created = new AtomicInteger();
+	private final LongAdder checkouts = new LongAdder();
+	private final LongAdder waits = new LongAdder();
+
+	private volatile boolean disposed;
+
+	/**
+	 * Create a pool with {@link #DEFAULT_MAX_SIZE} reasoners of the given backend
+	 *
+	 * @param ontology An {@link OWLOntology}
+	 * @param backend  A {@link ReasonerBackend}
+	 */
+	public ReasonerPool(OWLOntology ontology, ReasonerBackend backend) {
+		this(ontology, backend, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a pool with at most {@code maxSize} reasoners of the given backend,
+	 * where no reasoner is created before it is needed (see {@link #prewarm(int)})
+	 *
+	 * @param ontology An {@link OWLOntology}
+	 * @param backend  A {@link ReasonerBackend}
+	 * @param maxSize  A positive {@code int} stating the maximal number of
+	 *                 reasoners
+	 */
+	public ReasonerPool(OWLOntology ontology, ReasonerBackend backend, int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("maximal pool size must be positive: " + maxSize);
+		}
+		this.ontology = ontology;
+		this.backend = backend;
+		this.maxSize = maxSize;
+		this.permits = new Semaphore(maxSize);
+	}
+
+	/**
+	 * Check out a reasoner, waiting until one is available if all reasoners are
+	 * in use. The reasoner must be returned by means of
+	 * {@link #release(OWLReasoner)} and must not be used by another thread in the
+	 * meantime.
+	 *
+	 * @return An {@link OWLReasoner} for the pool's ontology
+	 */
+	public OWLReasoner borrow() {
+		if (disposed) {
+			throw new IllegalStateException("reasoner pool has been disposed");
+		}
+		if (!permits.tryAcquire()) {
+			waits.increment();
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("waiting for a reasoner was interrupted", e);
+			}
+		}
+		checkouts.increment();
+		return take();
+	}
+
+	/**
+	 * Get an idle reasoner or create a new one, where the caller must already hold
+	 * a permit. An idle reasoner is flushed first if {@link #flush()} has been
+	 * called since it was created or flushed last. If the pool has been disposed
+	 * in the meantime, the reasoner is disposed and the permit is returned.
+	 *
+	 * @return An {@link OWLReasoner}
+	 */
+	private OWLReasoner take() {
+		long current = revision.get();
+		OWLReasoner reasoner = idle.pollFirst();
+		if (reasoner != null) {
+			if (revisions.get(reasoner) < current) {
+				reasoner.flush();
+			}
+		} else {
+			// holding a permit while no reasoner is idle means that less than
+			// maxSize reasoners exist
+			try {
+				reasoner = backend.createReasoner(ontology);
+			} catch (RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+			created.incrementAndGet();
+		}
+		if (disposed) {
+			// dispose() may have missed a reasoner that was polled or created
+			// concurrently
+			discard(reasoner);
+			permits.release();
+			throw new IllegalStateException("reasoner pool has been disposed");
+		}
+		revisions.put(reasoner, current);
+		return reasoner;
+	}
+
+	/**
+	 * Let every reasoner of the pool take the pending changes of the ontology into
+	 * account, where checked out reasoners are flushed on their next check out
+	 * (since they must not be used by another thread in the meantime)
+	 */
+	public void flush() {
+		revision.incrementAndGet();
+	}
+
+	/**
+	 * Return a reasoner checked out by means of {@link #borrow()}
+	 *
+	 * @param reasoner An {@link OWLReasoner}
+	 */
+	public void release(OWLReasoner reasoner) {
+		if (disposed) {
+			discard(reasoner);
+		} else {
+			idle.addFirst(reasoner);
+			// dispose() may have drained the idle reasoners before the reasoner
+			// was added, in which case it is not disposed by anyone else
+			if (disposed && idle.remove(reasoner)) {
+				discard(reasoner);
+			}
+		}
+		permits.release();
+	}
+
+	/**
+	 * Dispose a reasoner that is not returned to the pool
+	 *
+	 * @param reasoner An {@link OWLReasoner}
+	 */
+	private void discard(OWLReasoner reasoner) {
+		revisions.remove(reasoner);
+		reasoner.dispose();
+	}
+
+	/**
+	 * Apply a function to a checked out reasoner, which is returned to the pool
+	 * afterwards
+	 *
+	 * @param <T>      The result type of {@code function}
+	 * @param function A {@link Function} using an {@link OWLReasoner}
+	 * @return The result of {@code function}
+	 */
+	public <T> T apply(Function<OWLReasoner, T> function) {
+		OWLReasoner reasoner = borrow();
+		try {
+			return function.apply(reasoner);
+		} finally {
+			release(reasoner);
+		}
+	}
+
+	/**
+	 * Check if a given axiom is entailed by means of a checked out reasoner
+	 *
+	 * @param axiom An {@link OWLAxiom}
+	 * @return {@code true} if {@code axiom} is entailed, else {@code false}
+	 */
+	public boolean isEntailed(OWLAxiom axiom) {
+		return apply(reasoner -> reasoner.isEntailed(axiom));
+	}
+
+	/**
+	 * Make sure that (at least) {@code count} reasoners exist and have classified
+	 * the ontology, such that the first checks of concurrent threads do not have
+	 * to wait for the initialization of their reasoner. The reasoners are warmed
+	 * up in parallel.
+	 *
+	 * @param count An {@code int} value, which is capped by the maximal size of
+	 *              the pool
+	 */
+	public void prewarm(int count) {
+		List<OWLReasoner> reasoners = new ArrayList<>();
+		try {
+			// check out reasoners without waiting for reasoners in use
+			for (int i = 0; i < count && permits.tryAcquire(); i++) {
+				reasoners.add(take());
+			}
+			reasoners.parallelStream().forEach(reasoner -> reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY));
+		} finally {
+			reasoners.forEach(reasoner -> release(reasoner));
+		}
+	}
+
+	/**
+	 * Get the backend used to create the reasoners of the pool
+	 *
+	 * @return A {@link ReasonerBackend}
+	 */
+	public ReasonerBackend getBackend() {
+		return backend;
+	}
+
+	/**
+	 * Get the maximal number of reasoners
+	 *
+	 * @return A positive {@code int} value
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the number of reasoners created so far
+	 *
+	 * @return An {@code int} value between 0 and {@link #getMaxSize()}
+	 */
+	public int getCreatedCount() {
+		return created.get();
+	}
+
+	/**
+	 * Get the number of reasoners that are currently not checked out
+	 *
+	 * @return A non-negative {@code int} value
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * Get the number of check outs that had to wait because every reasoner was in
+	 * use, which indicates that a larger pool may speed up the computation
+	 *
+	 * @return A non-negative {@code long} value
+	 */
+	public long getWaitCount() {
+		return waits.sum();
+	}
+
+	/**
+	 * Dispose every idle reasoner of the pool, while checked out reasoners are
+	 * disposed when they are returned
+	 */
+	public void dispose() {
+		disposed = true;
+		OWLReasoner reasoner;
+		while ((reasoner = idle.pollFirst()) != null) {
+			discard(reasoner);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ReasonerPool[backend=" + backend + ", max size=" + maxSize + ", created=" + created.get() + ", idle="
+				+ idle.size() + ", checkouts=" + checkouts.sum() + ", waits=" + waits.sum() + "]";
+	}
+
+}
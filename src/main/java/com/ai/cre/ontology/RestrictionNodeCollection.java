@@ -1,11 +1,17 @@
 package com.ai.cre.ontology;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
 import org.semanticweb.owlapi.model.OWLProperty;
 
@@ -15,6 +21,15 @@ import com.ai.cre.representation.ConceptNodeSet;
 /**
  * A class to store {@link ConceptNode} objects that represent existential and
  * universal restrictions each provided in separate collections
+ * <p>
+ * Equivalent existential restrictions are represented by a single node, where a
+ * new restriction is only checked for equivalence against the nodes in its
+ * bucket, i.e., nodes whose restrictions share the role, the filler's type and
+ * the atomic concepts in the filler's signature. Equivalent restrictions of
+ * different buckets (e.g. {@code ∃R.A} and {@code ∃R.(B ⊓ C)} with
+ * {@code A ≡ B ⊓ C}) are merged by sorting the restrictions (see
+ * {@link ConceptNodeSorter}) or, if they are not sorted, by
+ * {@link #mergeEquivalentExistNodes()}. The collection is not thread-safe.
  */
 public class RestrictionNodeCollection {
 
@@ -39,6 +54,23 @@ public class RestrictionNodeCollection {
 	 */
 	public HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> univ_restrictions;
 
+	/**
+	 * The nodes of {@link #exist_restrictions} grouped by the bucket key of their
+	 * restrictions (see {@link #getBucketKey(OWLObjectSomeValuesFrom)}), which is
+	 * rebuilt if {@link #exist_restrictions} has been modified directly
+	 */
+	private HashMap<List<Object>, List<ConceptNode<OWLObjectSomeValuesFrom>>> exist_buckets;
+
+	/**
+	 * The set {@link #exist_buckets} has been built for
+	 */
+	private ConceptNodeSet<OWLObjectSomeValuesFrom> indexed_set;
+
+	/**
+	 * Number of nodes in {@link #exist_buckets}
+	 */
+	private int indexed_count;
+
 	/**
 	 * Create a {@link RestrictionNodeCollection} with empty collections for both
 	 * existential and universal restrictions represented by {@link ConceptNode}
@@ -55,23 +87,111 @@ public class RestrictionNodeCollection {
 
 	/**
 	 * Create a {@link ConceptNode} for the given existential restriction and add it
-	 * to the collection {@link #exist_restrictions}
+	 * to the collection {@link #exist_restrictions} unless an equivalent
+	 * restriction is already present
 	 * 
 	 * @param ex_rest A {@link OWLObjectSomeValuesFrom} object
 	 */
 	public void addExistRestriction(OWLObjectSomeValuesFrom ex_rest) {
-		boolean no_equiv = true;
-		Iterator<ConceptNode<OWLObjectSomeValuesFrom>> iterator = this.exist_restrictions.iterator();
-		// add new ex_rest to an already present node if concepts are equivalent
-		while (no_equiv && iterator.hasNext()) {
-			ConceptNode<OWLObjectSomeValuesFrom> node = iterator.next();
-			no_equiv = !ontologyHandler.addIfEquivalent(ex_rest, node.concepts);
+		addExistNode(new ConceptNode<OWLObjectSomeValuesFrom>(ex_rest));
+	}
+
+	/**
+	 * Add a node of existential restrictions to {@link #exist_restrictions} unless
+	 * an already present node represents equivalent restrictions
+	 * 
+	 * @param new_node A {@link ConceptNode} for {@link OWLObjectSomeValuesFrom}
+	 *                 objects
+	 */
+	private void addExistNode(ConceptNode<OWLObjectSomeValuesFrom> new_node) {
+		OWLObjectSomeValuesFrom ex_rest = new_node.getConcept();
+		// only nodes in the same bucket are compared, equivalent nodes of other
+		// buckets are merged afterwards (see mergeEquivalentExistNodes)
+		List<ConceptNode<OWLObjectSomeValuesFrom>> bucket = getExistBuckets()
+				.computeIfAbsent(getBucketKey(ex_rest), k -> new ArrayList<>());
+		for (ConceptNode<OWLObjectSomeValuesFrom> node : bucket) {
+			if (node.concepts.containsAll(new_node.concepts)) {
+				return;
+			}
+			// an equivalent restriction is not minimal w.r.t. the node's restrictions
+			// (see OntologyHandler#addExRestIfMinimal), i.e., it is represented by them
+			if (ontologyHandler.checkIfEquivalentClass(node.getConcept(), ex_rest)) {
+				return;
+			}
 		}
-		if (no_equiv) {
-			// create new node for ex_rest
-			this.exist_restrictions.add(new ConceptNode<OWLObjectSomeValuesFrom>(ex_rest));
+		if (exist_restrictions.add(new_node)) {
+			bucket.add(new_node);
+			indexed_count++;
 		}
+	}
 
+	/**
+	 * Remove every node of {@link #exist_restrictions} that represents
+	 * restrictions equivalent to those of a node in another bucket (and using the
+	 * same role), which is required if the nodes are not sorted by subsumption
+	 * afterwards. Of equivalent nodes, the one visited first is kept. Since the
+	 * removed restrictions are not remembered, this should be done once every
+	 * restriction has been added.
+	 */
+	public void mergeEquivalentExistNodes() {
+		// the kept nodes of each role with their bucket keys
+		HashMap<OWLObjectPropertyExpression, IdentityHashMap<ConceptNode<OWLObjectSomeValuesFrom>, List<Object>>> kept = new HashMap<>();
+		List<ConceptNode<OWLObjectSomeValuesFrom>> removed = new ArrayList<>();
+		for (ConceptNode<OWLObjectSomeValuesFrom> node : exist_restrictions) {
+			OWLObjectSomeValuesFrom ex_rest = node.getConcept();
+			List<Object> key = getBucketKey(ex_rest);
+			IdentityHashMap<ConceptNode<OWLObjectSomeValuesFrom>, List<Object>> role_nodes = kept
+					.computeIfAbsent(ex_rest.getProperty(), r -> new IdentityHashMap<>());
+			// nodes of the same bucket have already been compared when added
+			boolean equivalent = role_nodes.entrySet().stream()
+					.anyMatch(other -> !key.equals(other.getValue())
+							&& ontologyHandler.checkIfEquivalentClass(other.getKey().getConcept(), ex_rest));
+			if (equivalent) {
+				removed.add(node);
+			} else {
+				role_nodes.put(node, key);
+			}
+		}
+		if (!removed.isEmpty()) {
+			exist_restrictions.removeAll(removed);
+			// rebuild the buckets on next access
+			exist_buckets = null;
+		}
+	}
+
+	/**
+	 * Get the key of the bucket of an existential restriction {@code ∃R.D}, which
+	 * consists of {@code R}, the type of {@code D} and the atomic concepts in the
+	 * signature of {@code D}
+	 * 
+	 * @param ex_rest An {@link OWLObjectSomeValuesFrom}
+	 * @return A {@link List} of {@link Object} elements
+	 */
+	private static List<Object> getBucketKey(OWLObjectSomeValuesFrom ex_rest) {
+		OWLClassExpression filler = ex_rest.getFiller();
+		return Arrays.asList(ex_rest.getProperty(), filler.getClassExpressionType(),
+				filler.classesInSignature().collect(Collectors.toSet()));
+	}
+
+	/**
+	 * Get the buckets of the nodes in {@link #exist_restrictions}, which are
+	 * rebuilt if nodes have been added or removed without
+	 * {@link #addExistRestriction(OWLObjectSomeValuesFrom)}
+	 * 
+	 * @return A {@link HashMap} using bucket keys to access {@link List} objects of
+	 *         {@link ConceptNode} elements
+	 */
+	private HashMap<List<Object>, List<ConceptNode<OWLObjectSomeValuesFrom>>> getExistBuckets() {
+		if (exist_buckets == null || indexed_set != exist_restrictions
+				|| indexed_count != exist_restrictions.size()) {
+			exist_buckets = new HashMap<>();
+			for (ConceptNode<OWLObjectSomeValuesFrom> node : exist_restrictions) {
+				exist_buckets.computeIfAbsent(getBucketKey(node.getConcept()), k -> new ArrayList<>()).add(node);
+			}
+			indexed_set = exist_restrictions;
+			indexed_count = exist_restrictions.size();
+		}
+		return exist_buckets;
 	}
 
 	/**
@@ -98,14 +218,14 @@ public class RestrictionNodeCollection {
 
 	/**
 	 * Merge the object with the given {@link RestrictionNodeCollection} by adding
-	 * the {@code other}'s restrictions if not {@code null}
+	 * the {@code other}'s restrictions if not {@code null} (or the object itself)
 	 * 
 	 * @param other A {@link RestrictionNodeCollection}
 	 */
 	public void mergeWith(RestrictionNodeCollection other) {
-		if (other != null) {
-			// add existential restrictions
-			this.exist_restrictions.addAll(other.exist_restrictions);
+		if (other != null && other != this) {
+			// add existential restrictions (merging nodes of equivalent ones)
+			other.exist_restrictions.forEach(node -> addExistNode(node));
 			// add every role-specific collection of universal restrictions
 			other.univ_restrictions.forEach((role, col) -> this.mergeUnivRestsForRole(role, col));
 
@@ -0,0 +1,432 @@
+package com.ai.cre.ontology;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+/**
+ * A taxonomy of registered class expressions (e.g. restrictions, fillers and
+ * queries) that answers subsumption checks between them by lookups instead of
+ * separate entailment checks. Every registered expression {@code C} is named by
+ * a fresh atom {@code A ≡ C} in a copy of the TBox and RBox of an ontology,
+ * where the atomic concepts of the ontology are replaced by means of an
+ * {@link AtomicConceptReplacer} (such that only the fresh atoms are
+ * classified), and the copy is classified once. Since subsumptions only follow
+ * from the copy if they follow from the ontology, positive answers are always
+ * reliable, while negative answers are only given if every axiom of the
+ * ontology could be translated (see
+ * {@link AtomicConceptReplacer#isFullyReplaceable}) and the TBox does not
+ * contain nominals (whose instances may be constrained by the ABox, which is
+ * not copied). Expressions containing nominals are not registered for the same
+ * reason.
+ * <p>
+ * Expressions registered after a classification are pending: checks involving
+ * them are not answered (i.e., they are left to the reasoner) until the
+ * taxonomy is classified again, which happens on {@link #classify()} or on a
+ * lookup once {@link #BATCH_SIZE} expressions are pending. A lookup never waits
+ * for a classification performed by another thread, such that the copy is
+ * classified by one thread while the other ones continue with their checks. The
+ * taxonomy is thread-safe.
+ *
+ */
+public class RestrictionTaxonomy {
+
+	/**
+	 * Number of pending expressions that makes a lookup classify the taxonomy
+	 * again
+	 */
+	public static final int BATCH_SIZE = 64;
+
+	/**
+	 * Prefix of the names of the fresh atoms
+	 */
+	private static final String ATOM_PREFIX = "TAXONOMY-ATOM";
+
+	/**
+	 * The ontology whose TBox is classified
+	 */
+	private final OWLOntology source;
+
+	private final OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	private final OWLDataFactory factory = manager.getOWLDataFactory();
+	private final AtomicConceptReplacer replacer = new AtomicConceptReplacer(factory);
+
+	/**
+	 * The copy of the TBox of {@link #source} extended by the definitions of the
+	 * classified fresh atoms, which is only modified while holding
+	 * {@link #classification_lock}
+	 */
+	private final OWLOntology ontology;
+
+	/**
+	 * The backend used to classify {@link #ontology}
+	 */
+	private final ReasonerBackend backend;
+
+	/**
+	 * State if every logical TBox and RBox axiom of {@link #source} is contained
+	 * in {@link #ontology} and no nominals occur in them, such that negative
+	 * answers are reliable
+	 */
+	private final boolean complete;
+
+	/**
+	 * Lock held while {@link #ontology} is classified, where lookups do not wait
+	 * for it
+	 */
+	private final ReentrantLock classification_lock = new ReentrantLock();
+
+	/**
+	 * A reasoner for {@link #ontology}, created on first classification
+	 */
+	private OWLReasoner reasoner;
+
+	/**
+	 * The fresh atom of every registered expression
+	 */
+	private final Map<OWLClassExpression, OWLClass> atoms = new ConcurrentHashMap<>();
+
+	/**
+	 * The id of every fresh atom, i.e., the number used to name it
+	 */
+	private final Map<OWLClass, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * The definitions of the pending fresh atoms, which are added to
+	 * {@link #ontology} on the next classification
+	 */
+	private final Map<OWLClass, OWLAxiom> pending = new LinkedHashMap<>();
+
+	/**
+	 * The result of the last classification
+	 */
+	private volatile Classification classification = new Classification(Map.of(), Set.of());
+
+	/**
+	 * Number used to name the next fresh atom
+	 */
+	private int next_atom;
+
+	private volatile int classifications;
+	private final LongAdder lookups = new LongAdder();
+
+	/**
+	 * The subsumers of the classified fresh atoms, which is not changed after its
+	 * creation
+	 */
+	private static class Classification {
+
+		/**
+		 * The ids of the fresh atoms subsuming (or being equivalent to) every
+		 * classified fresh atom
+		 */
+		private final Map<OWLClass, BitSet> subsumers;
+
+		/**
+		 * The unsatisfiable fresh atoms
+		 */
+		private final Set<OWLClass> unsatisfiable;
+
+		private Classification(Map<OWLClass, BitSet> subsumers, Set<OWLClass> unsatisfiable) {
+			this.subsumers = subsumers;
+			this.unsatisfiable = unsatisfiable;
+		}
+
+		private boolean contains(OWLClass atom) {
+			return subsumers.containsKey(atom);
+		}
+
+	}
+
+	/**
+	 * Create an empty taxonomy for the given ontology
+	 *
+	 * @param source  An {@link OWLOntology}
+	 * @param backend The {@link ReasonerBackend} used for classification
+	 * @throws OWLOntologyCreationException if the copy of the TBox cannot be
+	 *                                      created
+	 */
+	public RestrictionTaxonomy(OWLOntology source, ReasonerBackend backend) throws OWLOntologyCreationException {
+		this.source = source;
+		this.backend = backend;
+		this.ontology = manager.createOntology();
+		manager.addAxioms(ontology, replacer.getReplacedAxioms(source).stream());
+		// the ABox is not copied, but may entail subsumptions between nominals
+		this.complete = replacer.isFullyReplaceable(source);
+	}
+
+	/**
+	 * Register an expression by naming it with a fresh atom, where the atom is
+	 * pending until the next classification. Expressions that cannot be
+	 * translated by the {@link AtomicConceptReplacer} or contain nominals are not
+	 * registered.
+	 *
+	 * @param concept An {@link OWLClassExpression}
+	 * @return {@code true} if {@code concept} has been registered, else
+	 *         {@code false} (if it has been registered before or cannot be
+	 *         translated)
+	 */
+	public synchronized boolean add(OWLClassExpression concept) {
+		if (atoms.containsKey(concept) || AtomicConceptReplacer.containsNominals(concept)) {
+			return false;
+		}
+		OWLClassExpression replaced = concept.accept(replacer);
+		if (!replacer.isFullyReplaced(replaced)) {
+			return false;
+		}
+		OWLClass atom;
+		int id;
+		// skip names that are already taken
+		do {
+			id = next_atom++;
+			atom = factory.getOWLClass(ATOM_PREFIX + id);
+		} while (source.containsClassInSignature(atom.getIRI()));
+		ids.put(atom, id);
+		pending.put(atom, factory.getOWLEquivalentClassesAxiom(atom, replaced));
+		atoms.put(concept, atom);
+		return true;
+	}
+
+	/**
+	 * Register several expressions at once (see {@link #add(OWLClassExpression)})
+	 *
+	 * @param concepts A {@link Collection} of {@link OWLClassExpression} elements
+	 */
+	public synchronized void addAll(Collection<? extends OWLClassExpression> concepts) {
+		concepts.forEach(con -> add(con));
+	}
+
+	/**
+	 * Check if an expression has been registered
+	 *
+	 * @param concept An {@link OWLClassExpression}
+	 * @return {@code true} if {@code concept} is named by a fresh atom
+	 */
+	public boolean contains(OWLClassExpression concept) {
+		return atoms.containsKey(concept);
+	}
+
+	/**
+	 * Check if {@code c ⊑ d} holds by means of the taxonomy. If one of the
+	 * expressions is pending, the taxonomy is only classified again if
+	 * {@link #BATCH_SIZE} expressions are pending and no other thread is
+	 * classifying it.
+	 *
+	 * @param c An {@link OWLClassExpression}
+	 * @param d An {@link OWLClassExpression}
+	 * @return {@link Boolean#TRUE} if both expressions are classified and
+	 *         {@code c ⊑ d} follows from the taxonomy, {@link Boolean#FALSE} if it
+	 *         does not and the taxonomy is complete (see {@link #isComplete()}),
+	 *         else {@code null}
+	 */
+	public Boolean isSubClass(OWLClassExpression c, OWLClassExpression d) {
+		OWLClass atom_c = atoms.get(c);
+		OWLClass atom_d = atoms.get(d);
+		if (atom_c == null || atom_d == null) {
+			return null;
+		}
+		Classification current = classification;
+		if (!current.contains(atom_c) || !current.contains(atom_d)) {
+			if (getPendingCount() < BATCH_SIZE || !classification_lock.tryLock()) {
+				return null;
+			}
+			try {
+				classifyPending();
+			} finally {
+				classification_lock.unlock();
+			}
+			current = classification;
+			if (!current.contains(atom_c) || !current.contains(atom_d)) {
+				return null;
+			}
+		}
+		lookups.increment();
+		if (atom_c.equals(atom_d) || current.unsatisfiable.contains(atom_c)) {
+			return Boolean.TRUE;
+		}
+		if (current.subsumers.get(atom_c).get(ids.get(atom_d))) {
+			return Boolean.TRUE;
+		}
+		// the subsumption may follow from axioms missing in the copy
+		return complete ? Boolean.FALSE : null;
+	}
+
+	/**
+	 * Classify the pending expressions, waiting for a classification performed by
+	 * another thread
+	 */
+	public void classify() {
+		classification_lock.lock();
+		try {
+			classifyPending();
+		} finally {
+			classification_lock.unlock();
+		}
+	}
+
+	/**
+	 * Add the definitions of the pending atoms to {@link #ontology} and classify
+	 * it, where {@link #classification_lock} must be held
+	 */
+	private void classifyPending() {
+		Map<OWLClass, OWLAxiom> definitions;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			definitions = new HashMap<>(pending);
+			pending.clear();
+		}
+		manager.addAxioms(ontology, definitions.values().stream());
+		if (reasoner == null) {
+			reasoner = backend.createReasoner(ontology);
+		} else {
+			// take the definitions of the new atoms into account
+			reasoner.flush();
+		}
+		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+		Set<OWLClass> classified = new HashSet<>(classification.subsumers.keySet());
+		classified.addAll(definitions.keySet());
+		// the subsumers are computed at once, such that lookups do not need the
+		// reasoner
+		Map<OWLClass, BitSet> subsumers = new HashMap<>();
+		for (OWLClass atom : classified) {
+			BitSet atom_subsumers = new BitSet();
+			atom_subsumers.set(ids.get(atom));
+			Stream.concat(reasoner.getSuperClasses(atom, false).entities(),
+					reasoner.getEquivalentClasses(atom).entities()).forEach(sup -> {
+						// only fresh atoms have an id
+						Integer sup_id = ids.get(sup);
+						if (sup_id != null) {
+							atom_subsumers.set(sup_id);
+						}
+					});
+			subsumers.put(atom, atom_subsumers);
+		}
+		classification = new Classification(subsumers,
+				reasoner.getUnsatisfiableClasses().entities().collect(Collectors.toSet()));
+		classifications++;
+	}
+
+	/**
+	 * Get the id of a registered expression, which does not change when the
+	 * taxonomy is classified again
+	 *
+	 * @param concept An {@link OWLClassExpression}
+	 * @return A non-negative {@code int} value or {@code -1} if {@code concept}
+	 *         is not registered
+	 */
+	public int getId(OWLClassExpression concept) {
+		OWLClass atom = atoms.get(concept);
+		return atom == null ? -1 : ids.get(atom);
+	}
+
+	/**
+	 * Get the ids (see {@link #getId}) of the registered expressions that subsume
+	 * (or are equivalent to) a classified expression w.r.t. the last
+	 * classification, including the expression itself. These are all of them
+	 * only if the taxonomy is complete (see {@link #isComplete()}).
+	 *
+	 * @param concept An {@link OWLClassExpression}
+	 * @return A copy of the {@link BitSet} of the ids or {@code null} if
+	 *         {@code concept} is not registered, pending or unsatisfiable
+	 */
+	public BitSet getAncestors(OWLClassExpression concept) {
+		OWLClass atom = atoms.get(concept);
+		Classification current = classification;
+		if (atom == null || !current.contains(atom) || current.unsatisfiable.contains(atom)) {
+			return null;
+		}
+		return (BitSet) current.subsumers.get(atom).clone();
+	}
+
+	/**
+	 * Get the number of expressions registered since the last classification
+	 *
+	 * @return A non-negative {@code int} value
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Check if every logical TBox and RBox axiom of the ontology has been
+	 * translated and no nominals occur in them, such that {@link #isSubClass}
+	 * also answers negative checks
+	 *
+	 * @return {@code true} if the taxonomy is complete, else {@code false}
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Get the number of registered expressions
+	 *
+	 * @return A non-negative {@code int} value
+	 */
+	public int size() {
+		return atoms.size();
+	}
+
+	/**
+	 * Get the number of classifications performed so far
+	 *
+	 * @return A non-negative {@code int} value
+	 */
+	public int getClassificationCount() {
+		return classifications;
+	}
+
+	/**
+	 * Get the number of subsumption checks answered by the taxonomy
+	 *
+	 * @return A non-negative {@code long} value
+	 */
+	public long getLookupCount() {
+		return lookups.sum();
+	}
+
+	/**
+	 * Release the reasoner and the copy of the TBox
+	 */
+	public void dispose() {
+		classification_lock.lock();
+		try {
+			if (reasoner != null) {
+				reasoner.dispose();
+				reasoner = null;
+			}
+			manager.removeOntology(ontology);
+		} finally {
+			classification_lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "RestrictionTaxonomy[atoms=" + atoms.size() + ", complete=" + complete + ", classifications=" + classifications + ", lookups="
+				+ lookups.sum() + "]";
+	}
+
+}
@@ -0,0 +1,307 @@
+package com.ai.cre.ontology;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+
+/**
+ * An index of the role assertions {@code R(a,b)} of an ontology's ABox that
+ * allows to access them by their subject {@code a} or their object {@code b}
+ * (and the used role {@code R}) without scanning the whole ABox
+ *
+ */
+public class RoleAssertionIndex {
+
+	/**
+	 * Rough number of bytes needed for one entry of a {@link ConcurrentHashMap}
+	 * (node, table slot and key/value references)
+	 */
+	private static final int ENTRY_BYTES = 48;
+
+	/**
+	 * Rough number of bytes needed for an empty {@link ConcurrentHashMap}
+	 */
+	private static final int MAP_BYTES = 64;
+
+	/**
+	 * The ontology whose role assertions are indexed
+	 */
+	private final OWLOntology ontology;
+
+	/**
+	 * Role assertions {@code R(a,b)} accessible by subject {@code a} and role
+	 * {@code R} (replaced as a whole on every rebuild)
+	 */
+	private volatile Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> bySubject = new ConcurrentHashMap<>();
+
+	/**
+	 * Role assertions {@code R(a,b)} accessible by object {@code b} and role
+	 * {@code R} (replaced as a whole on every rebuild)
+	 */
+	private volatile Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> byObject = new ConcurrentHashMap<>();
+
+	/**
+	 * Time (in nanoseconds) needed for the last (re)build of the index
+	 */
+	private volatile long buildTime;
+
+	/**
+	 * Create an index for every role assertion of the given ontology
+	 *
+	 * @param ontology An {@link OWLOntology}
+	 */
+	public RoleAssertionIndex(OWLOntology ontology) {
+		this.ontology = ontology;
+		rebuild();
+	}
+
+	/**
+	 * Discard the current index and create it again from the ontology's ABox.
+	 * The new index is built aside and swapped in afterwards, such that
+	 * concurrent readers keep using the current one until then.
+	 */
+	public synchronized void rebuild() {
+		long start = System.nanoTime();
+		Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> new_subjects = new ConcurrentHashMap<>();
+		Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> new_objects = new ConcurrentHashMap<>();
+		ontology.axioms(AxiomType.OBJECT_PROPERTY_ASSERTION).forEach(ax -> add(new_subjects, new_objects, ax));
+		bySubject = new_subjects;
+		byObject = new_objects;
+		buildTime = System.nanoTime() - start;
+	}
+
+	/**
+	 * Update the index based on changes of the indexed ontology, i.e., add or
+	 * remove affected role assertions
+	 *
+	 * @param changes A {@link List} of {@link OWLOntologyChange} objects
+	 */
+	public synchronized void applyChanges(List<? extends OWLOntologyChange> changes) {
+		for (OWLOntologyChange change : changes) {
+			if (change.isAxiomChange() && change.getOntology() == ontology
+					&& change.getAxiom() instanceof OWLObjectPropertyAssertionAxiom) {
+				OWLObjectPropertyAssertionAxiom ax = (OWLObjectPropertyAssertionAxiom) change.getAxiom();
+				if (change.isAddAxiom()) {
+					add(bySubject, byObject, ax);
+				} else if (change.isRemoveAxiom()) {
+					remove(ax);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add a role assertion {@code R(a,b)} to the index
+	 *
+	 * @param subjects The index by subject
+	 * @param objects  The index by object
+	 * @param ax       An {@link OWLObjectPropertyAssertionAxiom}
+	 */
+	private static void add(Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> subjects,
+			Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> objects, OWLObjectPropertyAssertionAxiom ax) {
+		subjects.computeIfAbsent(ax.getSubject(), i -> new ConcurrentHashMap<>())
+				.computeIfAbsent(ax.getProperty(), r -> ConcurrentHashMap.newKeySet()).add(ax);
+		objects.computeIfAbsent(ax.getObject(), i -> new ConcurrentHashMap<>())
+				.computeIfAbsent(ax.getProperty(), r -> ConcurrentHashMap.newKeySet()).add(ax);
+	}
+
+	/**
+	 * Remove a role assertion {@code R(a,b)} from the index
+	 *
+	 * @param ax An {@link OWLObjectPropertyAssertionAxiom}
+	 */
+	private void remove(OWLObjectPropertyAssertionAxiom ax) {
+		remove(bySubject, ax.getSubject(), ax);
+		remove(byObject, ax.getObject(), ax);
+	}
+
+	private static void remove(
+			Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> index,
+			OWLIndividual ind, OWLObjectPropertyAssertionAxiom ax) {
+		Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>> role_map = index.get(ind);
+		if (role_map != null) {
+			Set<OWLObjectPropertyAssertionAxiom> assertions = role_map.get(ax.getProperty());
+			if (assertions != null) {
+				assertions.remove(ax);
+				// drop empty entries
+				if (assertions.isEmpty()) {
+					role_map.remove(ax.getProperty());
+					if (role_map.isEmpty()) {
+						index.remove(ind);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get every role assertion {@code R(a,b)} for a given individual {@code a}
+	 *
+	 * @param subject An {@link OWLIndividual}
+	 * @return An unmodifiable {@link Set} of {@link OWLObjectPropertyAssertionAxiom}
+	 *         objects that use {@code subject} as subject (a snapshot that is not
+	 *         updated on later changes of the ontology)
+	 */
+	public Set<OWLObjectPropertyAssertionAxiom> getAssertionsWithSubject(OWLIndividual subject) {
+		return collectAll(bySubject.get(subject));
+	}
+
+	/**
+	 * Get every role assertion {@code R(a,b)} for a given role {@code R} and
+	 * individual {@code a}
+	 *
+	 * @param subject An {@link OWLIndividual}
+	 * @param role    An {@link OWLObjectPropertyExpression}
+	 * @return An unmodifiable {@link Set} of {@link OWLObjectPropertyAssertionAxiom}
+	 *         objects (a snapshot that is not updated on later changes of the
+	 *         ontology)
+	 */
+	public Set<OWLObjectPropertyAssertionAxiom> getAssertionsWithSubject(OWLIndividual subject,
+			OWLObjectPropertyExpression role) {
+		return get(bySubject.get(subject), role);
+	}
+
+	/**
+	 * Get every role assertion {@code R(a,b)} for a given individual {@code b}
+	 *
+	 * @param object An {@link OWLIndividual}
+	 * @return An unmodifiable {@link Set} of {@link OWLObjectPropertyAssertionAxiom}
+	 *         objects that use {@code object} as object (a snapshot that is not
+	 *         updated on later changes of the ontology)
+	 */
+	public Set<OWLObjectPropertyAssertionAxiom> getAssertionsWithObject(OWLIndividual object) {
+		return collectAll(byObject.get(object));
+	}
+
+	/**
+	 * Get every role assertion {@code R(a,b)} for a given role {@code R} and
+	 * individual {@code b}
+	 *
+	 * @param object An {@link OWLIndividual}
+	 * @param role   An {@link OWLObjectPropertyExpression}
+	 * @return An unmodifiable {@link Set} of {@link OWLObjectPropertyAssertionAxiom}
+	 *         objects (a snapshot that is not updated on later changes of the
+	 *         ontology)
+	 */
+	public Set<OWLObjectPropertyAssertionAxiom> getAssertionsWithObject(OWLIndividual object,
+			OWLObjectPropertyExpression role) {
+		return get(byObject.get(object), role);
+	}
+
+	/**
+	 * Get every individual {@code b} with {@code R(a,b)} for given role {@code R}
+	 * and individual {@code a}
+	 *
+	 * @param subject An {@link OWLIndividual}
+	 * @param role    An {@link OWLObjectPropertyExpression}
+	 * @return A {@link Set} of {@link OWLIndividual} objects
+	 */
+	public Set<OWLIndividual> getObjects(OWLIndividual subject, OWLObjectPropertyExpression role) {
+		return getAssertionsWithSubject(subject, role).stream().map(ax -> ax.getObject()).collect(Collectors.toSet());
+	}
+
+	/**
+	 * Get every individual {@code a} with {@code R(a,b)} for given role {@code R}
+	 * and individual {@code b}
+	 *
+	 * @param object An {@link OWLIndividual}
+	 * @param role   An {@link OWLObjectPropertyExpression}
+	 * @return A {@link Set} of {@link OWLIndividual} objects
+	 */
+	public Set<OWLIndividual> getSubjects(OWLIndividual object, OWLObjectPropertyExpression role) {
+		return getAssertionsWithObject(object, role).stream().map(ax -> ax.getSubject()).collect(Collectors.toSet());
+	}
+
+	private static Set<OWLObjectPropertyAssertionAxiom> get(
+			Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>> role_map,
+			OWLObjectPropertyExpression role) {
+		if (role_map == null) {
+			return Collections.emptySet();
+		}
+		Set<OWLObjectPropertyAssertionAxiom> assertions = role_map.get(role);
+		if (assertions == null) {
+			return Collections.emptySet();
+		}
+		// a copy, such that the result is not affected by later changes of the
+		// ontology
+		return Collections.unmodifiableSet(new HashSet<>(assertions));
+	}
+
+	private static Set<OWLObjectPropertyAssertionAxiom> collectAll(
+			Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>> role_map) {
+		if (role_map == null) {
+			return Collections.emptySet();
+		}
+		// always a copy, independent of the number of roles, such that the result
+		// is not affected by later changes of the ontology
+		Set<OWLObjectPropertyAssertionAxiom> assertions = new HashSet<>();
+		role_map.values().forEach(set -> assertions.addAll(set));
+		return Collections.unmodifiableSet(assertions);
+	}
+
+	/**
+	 * Get the number of indexed role assertions
+	 *
+	 * @return An {@code int} value
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>> role_map : bySubject.values()) {
+			for (Set<OWLObjectPropertyAssertionAxiom> assertions : role_map.values()) {
+				size += assertions.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Get the time needed for the last (re)build of the index
+	 *
+	 * @return A {@code long} value representing milliseconds
+	 */
+	public long getBuildTimeMillis() {
+		return buildTime / 1000000;
+	}
+
+	/**
+	 * Get a rough estimate of the memory occupied by the index structures (not
+	 * including the indexed axioms themselves, which are shared with the
+	 * ontology)
+	 *
+	 * @return A {@code long} value representing bytes
+	 */
+	public long estimateMemoryBytes() {
+		return estimateMemoryBytes(bySubject) + estimateMemoryBytes(byObject);
+	}
+
+	private static long estimateMemoryBytes(
+			Map<OWLIndividual, Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>>> index) {
+		long bytes = MAP_BYTES;
+		for (Map<OWLObjectPropertyExpression, Set<OWLObjectPropertyAssertionAxiom>> role_map : index.values()) {
+			bytes += ENTRY_BYTES + MAP_BYTES;
+			for (Set<OWLObjectPropertyAssertionAxiom> assertions : role_map.values()) {
+				bytes += ENTRY_BYTES + MAP_BYTES + (long) assertions.size() * ENTRY_BYTES;
+			}
+		}
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return "RoleAssertionIndex[assertions=" + size() + ", subjects=" + bySubject.size() + ", objects="
+				+ byObject.size() + ", build time=" + getBuildTimeMillis() + " ms, ~" + estimateMemoryBytes() / 1024
+				+ " KiB]";
+	}
+
+}
@@ -0,0 +1,203 @@
+package com.ai.cre.ontology;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLObjectUnionOf;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+/**
+ * A sound but incomplete check of subsumptions {@code C ⊑ D} that only
+ * considers the structure of the concepts and the told subsumers of atomic
+ * concepts (i.e., the concepts {@code E} with {@code A ⊑ E} or {@code A ≡ E}
+ * stated in the ontology), such that many checks can be decided without a
+ * reasoner, e.g., {@code C ⊓ D ⊑ C}, {@code C ⊑ TOP} or
+ * {@code ∃R.(D ⊓ E) ⊑ ∃R.D}. If the check fails, the subsumption may still be
+ * entailed and has to be checked by a reasoner.
+ *
+ */
+public class StructuralSubsumptionChecker {
+
+	/**
+	 * The stated super-concepts of each atomic concept, split into conjuncts
+	 */
+	private final Map<OWLClass, Set<OWLClassExpression>> toldSubsumers = new HashMap<>();
+
+	/**
+	 * The transitive closure of {@link #toldSubsumers}, computed on demand
+	 */
+	private final Map<OWLClass, Set<OWLClassExpression>> closures = new ConcurrentHashMap<>();
+
+	/**
+	 * Number of subsumptions that could be proven
+	 */
+	private final LongAdder proven = new LongAdder();
+
+	/**
+	 * Collect the told subsumers of every atomic concept of the given ontology
+	 * 
+	 * @param ontology An {@link OWLOntology}
+	 */
+	public StructuralSubsumptionChecker(OWLOntology ontology) {
+		ontology.axioms(AxiomType.SUBCLASS_OF).forEach(ax -> {
+			if (!ax.getSubClass().isAnonymous()) {
+				addToldSubsumer(ax.getSubClass().asOWLClass(), ax.getSuperClass());
+			}
+		});
+		ontology.axioms(AxiomType.EQUIVALENT_CLASSES).forEach(ax -> ax.namedClasses()
+				.forEach(cls -> ax.classExpressions().filter(ce -> !ce.equals(cls))
+						.forEach(ce -> addToldSubsumer(cls, ce))));
+	}
+
+	private void addToldSubsumer(OWLClass cls, OWLClassExpression sup) {
+		toldSubsumers.computeIfAbsent(cls, c -> new HashSet<>()).addAll(sup.asConjunctSet());
+	}
+
+	/**
+	 * Check if {@code c ⊑ d} can be proven structurally
+	 * 
+	 * @param c An {@link OWLClassExpression}
+	 * @param d An {@link OWLClassExpression}
+	 * @return {@code true} if {@code c ⊑ d} is entailed by every ontology
+	 *         containing the told subsumptions, {@code false} if this is unknown
+	 */
+	public boolean isSubClass(OWLClassExpression c, OWLClassExpression d) {
+		if (subsumes(c, d, true)) {
+			proven.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Check if {@code c ≡ d} can be proven structurally
+	 * 
+	 * @param c An {@link OWLClassExpression}
+	 * @param d An {@link OWLClassExpression}
+	 * @return {@code true} if {@code c ⊑ d} and {@code d ⊑ c} could be proven,
+	 *         {@code false} if this is unknown
+	 */
+	public boolean isEquivalent(OWLClassExpression c, OWLClassExpression d) {
+		if (subsumes(c, d, true) && subsumes(d, c, true)) {
+			proven.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Recursively check if {@code c ⊑ d} holds based on the structure of both
+	 * concepts
+	 * 
+	 * @param c       An {@link OWLClassExpression}
+	 * @param d       An {@link OWLClassExpression}
+	 * @param useTold A {@code boolean} stating if the told subsumers of {@code c}
+	 *                may be considered (which is disabled when checking the told
+	 *                subsumers themselves to ensure termination)
+	 * @return {@code true} if the subsumption could be proven, else {@code false}
+	 */
+	private boolean subsumes(OWLClassExpression c, OWLClassExpression d, boolean useTold) {
+		if (c.equals(d) || d.isOWLThing() || c.isOWLNothing()) {
+			return true;
+		}
+		// C ⊑ D_1 ⊓ ... ⊓ D_n if C ⊑ D_i for every D_i
+		if (d instanceof OWLObjectIntersectionOf) {
+			return ((OWLObjectIntersectionOf) d).operands().allMatch(d_i -> subsumes(c, d_i, useTold));
+		}
+		// C_1 ⊔ ... ⊔ C_n ⊑ D if C_i ⊑ D for every C_i
+		if (c instanceof OWLObjectUnionOf) {
+			return ((OWLObjectUnionOf) c).operands().allMatch(c_i -> subsumes(c_i, d, useTold));
+		}
+		// C_1 ⊓ ... ⊓ C_n ⊑ D if C_i ⊑ D for some C_i
+		if (c instanceof OWLObjectIntersectionOf
+				&& ((OWLObjectIntersectionOf) c).operands().anyMatch(c_i -> subsumes(c_i, d, useTold))) {
+			return true;
+		}
+		// C ⊑ D_1 ⊔ ... ⊔ D_n if C ⊑ D_i for some D_i
+		if (d instanceof OWLObjectUnionOf
+				&& ((OWLObjectUnionOf) d).operands().anyMatch(d_i -> subsumes(c, d_i, useTold))) {
+			return true;
+		}
+		// ∃R.E ⊑ ∃R.F and ∀R.E ⊑ ∀R.F if E ⊑ F
+		if (c instanceof OWLObjectSomeValuesFrom && d instanceof OWLObjectSomeValuesFrom) {
+			OWLObjectSomeValuesFrom c_ex = (OWLObjectSomeValuesFrom) c;
+			OWLObjectSomeValuesFrom d_ex = (OWLObjectSomeValuesFrom) d;
+			if (c_ex.getProperty().equals(d_ex.getProperty()) && subsumes(c_ex.getFiller(), d_ex.getFiller(), true)) {
+				return true;
+			}
+		}
+		if (c instanceof OWLObjectAllValuesFrom && d instanceof OWLObjectAllValuesFrom) {
+			OWLObjectAllValuesFrom c_all = (OWLObjectAllValuesFrom) c;
+			OWLObjectAllValuesFrom d_all = (OWLObjectAllValuesFrom) d;
+			if (c_all.getProperty().equals(d_all.getProperty())
+					&& subsumes(c_all.getFiller(), d_all.getFiller(), true)) {
+				return true;
+			}
+		}
+		// A ⊑ D if some told subsumer of A is subsumed by D
+		if (useTold && !c.isAnonymous()) {
+			Set<OWLClassExpression> told = getToldClosure(c.asOWLClass());
+			if (told.contains(d)) {
+				return true;
+			}
+			for (OWLClassExpression sup : told) {
+				if (sup.isAnonymous() && subsumes(sup, d, false)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get every concept that is a (transitive) told subsumer of an atomic concept
+	 * 
+	 * @param cls An {@link OWLClass}
+	 * @return An unmodifiable {@link Set} of {@link OWLClassExpression} objects
+	 */
+	private Set<OWLClassExpression> getToldClosure(OWLClass cls) {
+		Set<OWLClassExpression> closure = closures.get(cls);
+		if (closure == null) {
+			if (!toldSubsumers.containsKey(cls)) {
+				return Collections.emptySet();
+			}
+			closure = new HashSet<>();
+			Queue<OWLClass> queue = new ArrayDeque<>();
+			queue.add(cls);
+			while (!queue.isEmpty()) {
+				for (OWLClassExpression sup : toldSubsumers.getOrDefault(queue.poll(), Collections.emptySet())) {
+					if (closure.add(sup) && !sup.isAnonymous()) {
+						queue.add(sup.asOWLClass());
+					}
+				}
+			}
+			closure = Collections.unmodifiableSet(closure);
+			closures.put(cls, closure);
+		}
+		return closure;
+	}
+
+	/**
+	 * Get the number of subsumptions and equivalences proven by this checker so
+	 * far, i.e., the number of entailment checks that did not have to be passed to a reasoner
+	 * 
+	 * @return A non-negative {@code long} value
+	 */
+	public long getProvenCount() {
+		return proven.sum();
+	}
+
+}
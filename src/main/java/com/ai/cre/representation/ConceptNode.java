@@ -1,7 +1,10 @@
 package com.ai.cre.representation;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.semanticweb.owlapi.model.OWLClassExpression;
 
@@ -29,6 +32,12 @@ public class ConceptNode<C extends OWLClassExpression> {
 	 */
 	public ConceptNodeSet<C> supers;
 
+	/**
+	 * The concepts of every node below the node, computed on first access by
+	 * {@link #getDescendantConcepts()}
+	 */
+	private volatile Set<C> descendant_concepts;
+
 	public ConceptNode(C con) {
 		this.concepts = new LinkedList<>();
 		this.concepts.add(con);
@@ -77,6 +86,30 @@ public class ConceptNode<C extends OWLClassExpression> {
 		sub.supers.add(this);
 	}
 
+	/**
+	 * Get the concepts of every node reachable from the node via {@link #subs}
+	 * (excluding the node's own concepts), i.e., of every sub-concept w.r.t. the
+	 * order of a sorted hierarchy. The set is computed on first access, hence the
+	 * hierarchy below the node must not be changed afterwards (as for hierarchies
+	 * sorted by {@link com.ai.cre.algo.NodeSorter}).
+	 * 
+	 * @return An unmodifiable {@link Set} of {@link C} elements
+	 */
+	public Set<C> getDescendantConcepts() {
+		Set<C> descendants = descendant_concepts;
+		if (descendants == null) {
+			descendants = new HashSet<>();
+			for (ConceptNode<C> sub : subs) {
+				descendants.addAll(sub.concepts);
+				// descendants of shared sub-nodes are only computed once
+				descendants.addAll(sub.getDescendantConcepts());
+			}
+			descendants = Collections.unmodifiableSet(descendants);
+			descendant_concepts = descendants;
+		}
+		return descendants;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o == this) {
@@ -56,4 +56,9 @@ public class ConceptReferringExpression {
 		}
 	}
 
+	@Override
+	public int hashCode() {
+		return refExpString.hashCode();
+	}
+
 }
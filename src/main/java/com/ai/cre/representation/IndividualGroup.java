@@ -0,0 +1,53 @@
+package com.ai.cre.representation;
+
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLIndividual;
+
+/**
+ * A group of individuals that share the same most specific concepts and role
+ * assertions, such that the construction of concept referring expressions can
+ * be done for all of them at once
+ *
+ */
+public class IndividualGroup {
+
+	/**
+	 * A {@link Set} of {@link OWLClassExpression} elements representing the most
+	 * specific concepts shared by {@link #individuals}
+	 */
+	public Set<OWLClassExpression> concepts;
+
+	/**
+	 * An {@link OWLClassExpression} representing the conjunction of
+	 * {@link #concepts}
+	 */
+	public OWLClassExpression concept;
+
+	/**
+	 * A non-empty {@link Set} of {@link OWLIndividual} elements
+	 */
+	public Set<OWLIndividual> individuals;
+
+	public IndividualGroup(Set<OWLClassExpression> concepts, OWLClassExpression concept,
+			Set<OWLIndividual> individuals) {
+		this.concepts = concepts;
+		this.concept = concept;
+		this.individuals = individuals;
+	}
+
+	/**
+	 * Get a rough estimate of the effort needed to construct the referring
+	 * expressions for the group, which grows with the number of conjuncts of the
+	 * shared concept (since the more specific the concept is, the more
+	 * restrictions may apply to it). The number of individuals does not matter,
+	 * as the construction is done once for all of them.
+	 *
+	 * @return A positive {@code long} value
+	 */
+	public long getEstimatedCost() {
+		return concept.asConjunctSet().size();
+	}
+
+}
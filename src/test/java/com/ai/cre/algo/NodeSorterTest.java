@@ -1,5 +1,7 @@
 package com.ai.cre.algo;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -8,13 +10,20 @@ import java.util.Set;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 
 import com.ai.cre.algo.NodeSorter;
+import com.ai.cre.ontology.AtomicConceptReplacer;
 import com.ai.cre.ontology.OntologyHandler;
+import com.ai.cre.ontology.RestrictionNodeCollection;
 import com.ai.cre.ontology.StringConverter;
 import com.ai.cre.representation.ConceptNode;
 import com.ai.cre.representation.ConceptNodeSet;
@@ -99,4 +108,92 @@ public class NodeSorterTest {
 		}
 	}
 
+	@Test
+	public void testSortWithCardinalityRestriction() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLObjectProperty r = factory.getOWLObjectProperty("R");
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		// A ⊑ ≥1 R.B is translated and implies A ⊑ ∃R.B
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, factory.getOWLObjectMinCardinality(1, r, b)));
+		assertTrue(new AtomicConceptReplacer(factory).isFullyReplaceable(ontology));
+		OntologyHandler ontoHandler = new OntologyHandler(ontology);
+
+		ConceptNode<OWLClassExpression> na = new ConceptNode<>(a);
+		ConceptNode<OWLClassExpression> nb = new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(r, b));
+		Set<ConceptNode<OWLClassExpression>> sorted = NodeSorter.sortBySubsumptionUsingClassification(ontoHandler,
+				new ConceptNodeSet<>(Set.of(na, nb)));
+		assertEquals(Set.of(nb), sorted);
+		assertEquals(Set.of(na), nb.subs);
+		ontoHandler.dispose();
+	}
+
+	@Test
+	public void testSortWithNominals() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		OWLNamedIndividual x = factory.getOWLNamedIndividual("x");
+		// A ⊑ {x} and B(x) imply A ⊑ B, which does not follow from the TBox alone
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, factory.getOWLObjectOneOf(x)));
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(b, x));
+		assertFalse(new AtomicConceptReplacer(factory).isFullyReplaceable(ontology));
+		OntologyHandler ontoHandler = new OntologyHandler(ontology);
+
+		ConceptNode<OWLClassExpression> na = new ConceptNode<>(a);
+		ConceptNode<OWLClassExpression> nb = new ConceptNode<>(b);
+		Set<ConceptNode<OWLClassExpression>> sorted = NodeSorter.sortBySubsumptionUsingClassification(ontoHandler,
+				new ConceptNodeSet<>(Set.of(na, nb)));
+		assertEquals(Set.of(nb), sorted);
+		assertEquals(Set.of(na), nb.subs);
+		ontoHandler.dispose();
+	}
+
+	@Test
+	public void testSortAllBySubsumptionUsingClassification() {
+		OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+		OntologyHandler ontoHandler = new OntologyHandler(new File("resources/test/sort_example.owl"));
+		OWLObjectProperty r = factory.getOWLObjectProperty("R");
+
+		RestrictionNodeCollection restNodeCol = new RestrictionNodeCollection(ontoHandler);
+		// existential restrictions ∃R.A, ∃R.D, ∃R.F, ∃R.G
+		ConceptNode<OWLObjectSomeValuesFrom> a = new ConceptNode<>(
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLClass("A")));
+		ConceptNode<OWLObjectSomeValuesFrom> d = new ConceptNode<>(
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLClass("D")));
+		ConceptNode<OWLObjectSomeValuesFrom> f = new ConceptNode<>(
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLClass("F")));
+		ConceptNode<OWLObjectSomeValuesFrom> g = new ConceptNode<>(
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLClass("G")));
+		restNodeCol.exist_restrictions.addAll(Set.of(a, d, f, g));
+		// inner concepts ∃R.C and ∃R.D of universal restrictions with role R
+		ConceptNode<OWLClassExpression> uc = new ConceptNode<>(
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLClass("C")));
+		ConceptNode<OWLClassExpression> ud = new ConceptNode<>(
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLClass("D")));
+		restNodeCol.univ_restrictions.put(r, new ConceptNodeSet<>(Set.of(uc, ud)));
+
+		NodeSorter.sortAllBySubsumptionUsingClassification(ontoHandler, restNodeCol);
+
+		// ∃R.G is found underneath ∃R.A although ∃R.C only belongs to other hierarchy
+		assertEquals(1, restNodeCol.exist_restrictions.size());
+		assertTrue(restNodeCol.exist_restrictions.contains(a));
+		assertEquals(2, a.subs.size());
+		assertTrue(a.subs.contains(d));
+		assertTrue(a.subs.contains(g));
+		assertEquals(1, d.subs.size());
+		assertTrue(d.subs.contains(f));
+		assertTrue(g.subs.isEmpty());
+
+		// hierarchy for role R only contains its own nodes
+		ConceptNodeSet<OWLClassExpression> univ_nodes = restNodeCol.univ_restrictions.get(r);
+		assertEquals(2, univ_nodes.size());
+		assertTrue(uc.subs.isEmpty());
+		assertTrue(ud.subs.isEmpty());
+	}
+
 }
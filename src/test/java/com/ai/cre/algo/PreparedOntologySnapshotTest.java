@@ -0,0 +1,149 @@
+package com.ai.cre.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+
+import com.ai.cre.ontology.OntologyHandler;
+
+public class PreparedOntologySnapshotTest {
+
+	OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+
+	@Test
+	public void testSaveAndLoad() throws IOException {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		RefExpRetrieval retrieval = new RefExpRetrieval();
+		Path file = Files.createTempFile("prepared", ".snapshot");
+		try {
+			PreparedOntology prepared = retrieval.prepare(ontologyHandler);
+			PreparedOntologySnapshot.save(prepared, file);
+
+			PreparedOntology loaded = PreparedOntologySnapshot.load(ontologyHandler, file);
+			assertNotNull(loaded);
+			assertEquals(prepared.getIndividualGroups().size(), loaded.getIndividualGroups().size());
+			assertEquals(prepared.getMostSpecificConcepts(factory.getOWLNamedIndividual("c")),
+					loaded.getMostSpecificConcepts(factory.getOWLNamedIndividual("c")));
+
+			// loaded structures lead to the same answers
+			OWLClassExpression query = factory.getOWLThing();
+			Set<String> expected = new HashSet<>();
+			retrieval.getInstanceReferringExpressions(prepared, query).forEach(cre -> expected.add(cre.getString()));
+			Set<String> computed = new HashSet<>();
+			retrieval.getInstanceReferringExpressions(loaded, query).forEach(cre -> computed.add(cre.getString()));
+			assertEquals(expected, computed);
+
+			// snapshot is rejected after the ontology changed
+			ontologyHandler.ontology.getOWLOntologyManager().addAxiom(ontologyHandler.ontology, factory
+					.getOWLClassAssertionAxiom(factory.getOWLClass("A"), factory.getOWLNamedIndividual("new")));
+			assertNull(PreparedOntologySnapshot.load(ontologyHandler, file));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testNoTemporaryFileAfterFailedSave() throws IOException {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		PreparedOntology prepared = new RefExpRetrieval().prepare(ontologyHandler);
+		Path dir = Files.createTempDirectory("snapshots");
+		// a non-empty directory cannot be replaced by the snapshot
+		Path target = Files.createDirectory(dir.resolve("target"));
+		Path blocker = Files.createFile(target.resolve("blocker"));
+		try {
+			PreparedOntologySnapshot.save(prepared, target);
+			fail("snapshot replaced a non-empty directory");
+		} catch (IOException e) {
+			// temporary file has been removed
+			try (Stream<Path> files = Files.list(dir)) {
+				assertEquals(List.of(target), files.collect(Collectors.toList()));
+			}
+		} finally {
+			Files.delete(blocker);
+			Files.delete(target);
+			Files.delete(dir);
+			ontologyHandler.dispose();
+		}
+	}
+
+	@Test
+	public void testAnonymousIndividualsNotSupported() throws IOException {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		OWLOntology ontology = ontologyHandler.ontology;
+		assertTrue(PreparedOntologySnapshot.isSupported(ontology));
+		Path dir = Files.createTempDirectory("snapshots");
+		Path file = dir.resolve("prepared.snapshot");
+		try {
+			// the ids of anonymous individuals change on every parse
+			ontology.getOWLOntologyManager().addAxiom(ontology, factory
+					.getOWLClassAssertionAxiom(factory.getOWLClass("A"), factory.getOWLAnonymousIndividual()));
+			assertFalse(PreparedOntologySnapshot.isSupported(ontology));
+			RefExpRetrieval retrieval = new RefExpRetrieval();
+			PreparedOntology prepared = PreparedOntologySnapshot.loadOrPrepare(retrieval, ontologyHandler, file);
+			assertNotNull(prepared);
+			assertFalse(Files.exists(file));
+			try {
+				PreparedOntologySnapshot.save(prepared, file);
+				fail("snapshot of an ontology with anonymous individuals saved");
+			} catch (IllegalArgumentException e) {
+				assertFalse(Files.exists(file));
+			}
+		} finally {
+			Files.delete(dir);
+			ontologyHandler.dispose();
+		}
+	}
+
+	@Test
+	public void testNodeWithoutConceptsRejected() throws IOException {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/exist_retrieval_example.owl"));
+		PreparedOntology prepared = new RefExpRetrieval().prepare(ontologyHandler);
+		assertFalse(prepared.getRestrictionNodes().exist_restrictions.isEmpty());
+		Path file = Files.createTempFile("prepared", ".snapshot");
+		try {
+			PreparedOntologySnapshot.save(prepared, file);
+			// skip the header and the string table, then clear the concept count of
+			// the first existential restriction node
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+			buffer.position(9 + 32);
+			int strings = buffer.getInt();
+			for (int i = 0; i < strings; i++) {
+				int length = buffer.getInt();
+				buffer.position(buffer.position() + length);
+			}
+			buffer.getInt();
+			buffer.putInt(buffer.position(), 0);
+			Files.write(file, buffer.array());
+			try {
+				PreparedOntologySnapshot.load(ontologyHandler, file);
+				fail("node without concepts loaded");
+			} catch (IllegalArgumentException e) {
+				assertTrue(e.getMessage().contains("no concepts"));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+			ontologyHandler.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.ai.cre.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+import com.ai.cre.ontology.OntologyHandler;
+
+public class PreparedOntologyTest {
+
+	OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+
+	@Test
+	public void testPreparedQueries() {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		RefExpRetrieval retrieval = new RefExpRetrieval();
+		PreparedOntology prepared = retrieval.prepare(ontologyHandler);
+		assertFalse(prepared.isStale());
+
+		// prepared structures lead to the same answers for different queries
+		for (OWLClassExpression query : Set.of(factory.getOWLThing(), factory.getOWLClass("A"),
+				factory.getOWLClass("C"))) {
+			Set<String> expected = new HashSet<>();
+			retrieval.getInstanceReferringExpressions(ontologyHandler, query)
+					.forEach(cre -> expected.add(cre.getString()));
+			Set<String> computed = new HashSet<>();
+			retrieval.getInstanceReferringExpressions(prepared, query).forEach(cre -> computed.add(cre.getString()));
+			assertEquals(expected, computed);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testStalePreparation() {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		RefExpRetrieval retrieval = new RefExpRetrieval();
+		PreparedOntology prepared = retrieval.prepare(ontologyHandler);
+
+		// changing the ontology invalidates the prepared structures
+		ontologyHandler.ontology.getOWLOntologyManager().addAxiom(ontologyHandler.ontology, factory
+				.getOWLClassAssertionAxiom(factory.getOWLClass("A"), factory.getOWLNamedIndividual("new")));
+		assertTrue(prepared.isStale());
+		retrieval.getInstanceReferringExpressions(prepared, factory.getOWLThing());
+	}
+
+}
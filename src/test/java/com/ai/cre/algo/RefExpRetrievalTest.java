@@ -5,10 +5,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.apibinding.OWLManager;
@@ -18,11 +24,17 @@ import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLProperty;
 
 import com.ai.cre.algo.NodeSorter;
 import com.ai.cre.algo.RefExpRetrieval;
+import com.ai.cre.evaluation.PhaseMetrics;
+import com.ai.cre.evaluation.RetrievalListener;
+import com.ai.cre.evaluation.RetrievalMetrics;
+import com.ai.cre.evaluation.RetrievalPhase;
 import com.ai.cre.ontology.OntologyHandler;
 import com.ai.cre.ontology.RestrictionNodeCollection;
 import com.ai.cre.representation.ConceptNode;
@@ -74,6 +86,78 @@ public class RefExpRetrievalTest {
 		assertFalse(rests.contains(factory.getOWLObjectSomeValuesFrom(r, f)));
 	}
 
+	@Test
+	public void testHierarchyBasedMinimality() throws OWLOntologyCreationException {
+		// C ⊑ ∃R.A, A ⊑ B ⊑ E and E ⊑ F
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, factory.getOWLObjectSomeValuesFrom(r, a)));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(b, e));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(e, f));
+		OntologyHandler ontologyHandler = new OntologyHandler(ontology);
+		ConceptNodeSet<OWLObjectSomeValuesFrom> rests = new ConceptNodeSet<>();
+		for (OWLClass filler : List.of(a, b, e, f)) {
+			rests.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(r, filler)));
+		}
+		ConceptNodeSet<OWLObjectSomeValuesFrom> nodes = new ConceptNodeSet<>(
+				NodeSorter.sortBySubsumption(ontologyHandler, rests));
+
+		// only the most specific restriction of the chain ∃R.A ⊑ ∃R.B ⊑ ∃R.E ⊑ ∃R.F
+		// is minimal
+		Set<OWLObjectSomeValuesFrom> found = new RefExpRetrieval().considerSubExistRestrictions(ontologyHandler, c,
+				nodes, new HashSet<>());
+		assertEquals(Set.of(factory.getOWLObjectSomeValuesFrom(r, a)), found);
+		ontologyHandler.dispose();
+	}
+
+	@Test
+	public void testHierarchyBasedMinimalityWithEquivalentRestrictions() throws OWLOntologyCreationException {
+		// C ⊑ ∃R.A, A ⊑ B and ∃S.A ≡ ∃R.A
+		OWLOntology ontology = manager.createOntology();
+		OWLObjectSomeValuesFrom r_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		OWLObjectSomeValuesFrom r_b = factory.getOWLObjectSomeValuesFrom(r, b);
+		OWLObjectSomeValuesFrom s_a = factory.getOWLObjectSomeValuesFrom(s, a);
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, r_a));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		manager.addAxiom(ontology, factory.getOWLEquivalentClassesAxiom(s_a, r_a));
+		OntologyHandler ontologyHandler = new OntologyHandler(ontology);
+		// ∃R.B with the sub-node of the equivalent restrictions ∃S.A and ∃R.A
+		ConceptNode<OWLObjectSomeValuesFrom> node_b = new ConceptNode<>(r_b);
+		ConceptNode<OWLObjectSomeValuesFrom> node_a = new ConceptNode<>(s_a);
+		node_a.concepts.add(r_a);
+		node_b.addRelationToSub(node_a);
+		ConceptNodeSet<OWLObjectSomeValuesFrom> nodes = new ConceptNodeSet<>();
+		nodes.add(node_b);
+
+		// ∃R.B is not minimal due to ∃R.A, although the node is represented by ∃S.A
+		Set<OWLObjectSomeValuesFrom> found = new RefExpRetrieval().considerSubExistRestrictions(ontologyHandler, c,
+				nodes, new HashSet<>());
+		assertEquals(Set.of(s_a, r_a), found);
+		ontologyHandler.dispose();
+	}
+
+	@Test
+	public void testRoleGatedPruning() throws OWLOntologyCreationException {
+		// A ⊑ ∃R.B, while no concept is related via P
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, factory.getOWLObjectSomeValuesFrom(r, b)));
+		OntologyHandler ontologyHandler = new OntologyHandler(ontology);
+		OWLObjectProperty p = factory.getOWLObjectProperty("P");
+		ConceptNodeSet<OWLObjectSomeValuesFrom> nodes = new ConceptNodeSet<>();
+		nodes.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(r, b)));
+		nodes.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(p, c)));
+		nodes.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(p, d)));
+		nodes.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(p, e)));
+
+		long calls = ontologyHandler.getReasonerCallCount();
+		Set<OWLObjectSomeValuesFrom> rests = new RefExpRetrieval().considerSubExistRestrictions(ontologyHandler, a,
+				nodes, new HashSet<>());
+		assertEquals(Set.of(factory.getOWLObjectSomeValuesFrom(r, b)), rests);
+		// the restrictions with role P are skipped by one check of A ⊑ ∃P.(TOP)
+		assertTrue(ontologyHandler.getReasonerCallCount() - calls < nodes.size());
+		ontologyHandler.dispose();
+	}
+
 	@Test
 	public void testGetRoleConstraint() {
 		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/univ_retrieval_example.owl"));
@@ -123,4 +207,154 @@ public class RefExpRetrievalTest {
 
 	}
 
+	@Test
+	public void testParallelConstruction() {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		OWLClassExpression query = factory.getOWLThing();
+
+		Set<String> sequential = new HashSet<>();
+		new RefExpRetrieval().getInstanceReferringExpressions(ontologyHandler, query)
+				.forEach(cre -> sequential.add(cre.getString()));
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		Set<String> parallel = new HashSet<>();
+		try {
+			new RefExpRetrieval(true, executor).getInstanceReferringExpressions(ontologyHandler, query)
+					.forEach(cre -> parallel.add(cre.getString()));
+		} finally {
+			executor.shutdown();
+		}
+
+		assertFalse(sequential.isEmpty());
+		assertEquals(sequential, parallel);
+	}
+
+	@Test
+	public void testPreClassification() {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		OWLClassExpression query = factory.getOWLThing();
+
+		Set<String> expected = new HashSet<>();
+		new RefExpRetrieval().getInstanceReferringExpressions(ontologyHandler, query)
+				.forEach(cre -> expected.add(cre.getString()));
+
+		List<RetrievalMetrics> runs = new ArrayList<>();
+		RefExpRetrieval retrieval = new RefExpRetrieval();
+		retrieval.setPreClassification(true);
+		retrieval.setListener(new RetrievalListener() {
+			@Override
+			public void phaseFinished(PhaseMetrics metrics) {
+			}
+
+			@Override
+			public void runFinished(RetrievalMetrics metrics) {
+				runs.add(metrics);
+			}
+		});
+		Set<String> pre_classified = new HashSet<>();
+		retrieval.getInstanceReferringExpressions(ontologyHandler, query)
+				.forEach(cre -> pre_classified.add(cre.getString()));
+
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, pre_classified);
+		assertTrue(runs.get(0).getPhases().containsKey(RetrievalPhase.PRE_CLASSIFICATION));
+		// the taxonomy is only used during the construction
+		assertTrue(ontologyHandler.getRestrictionTaxonomy() == null);
+	}
+
+	@Test
+	public void testStreamInstanceReferringExpressions() {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		OWLClassExpression query = factory.getOWLThing();
+		Collection<ConceptReferringExpression> collected = new RefExpRetrieval()
+				.getInstanceReferringExpressions(ontologyHandler, query);
+
+		List<ConceptReferringExpression> streamed = new ArrayList<>();
+		new RefExpRetrieval().streamInstanceReferringExpressions(ontologyHandler, query, cre -> streamed.add(cre),
+				true);
+
+		// every answer is passed exactly once
+		assertEquals(collected.size(), streamed.size());
+		assertEquals(new HashSet<>(collected), new HashSet<>(streamed));
+	}
+
+	@Test
+	public void testListener() {
+		OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		OWLClassExpression query = factory.getOWLThing();
+
+		List<PhaseMetrics> finished = new ArrayList<>();
+		List<RetrievalMetrics> runs = new ArrayList<>();
+		RefExpRetrieval retrieval = new RefExpRetrieval();
+		retrieval.setListener(new RetrievalListener() {
+			@Override
+			public void phaseFinished(PhaseMetrics metrics) {
+				finished.add(metrics);
+			}
+
+			@Override
+			public void runFinished(RetrievalMetrics metrics) {
+				runs.add(metrics);
+			}
+		});
+		Collection<ConceptReferringExpression> answers = retrieval.getInstanceReferringExpressions(ontologyHandler,
+				query);
+
+		// nested public calls belong to the same run
+		assertEquals(1, runs.size());
+		RetrievalMetrics metrics = runs.get(0);
+		assertEquals(Set.of(RetrievalPhase.RESTRICTION_COLLECTION, RetrievalPhase.EXIST_SORTING,
+				RetrievalPhase.UNIV_SORTING, RetrievalPhase.MOST_SPECIFIC_CONCEPTS, RetrievalPhase.GROUPING,
+				RetrievalPhase.CONSTRUCTION), metrics.getPhases().keySet());
+		assertEquals(metrics.getPhases().size(), finished.size());
+		assertTrue(metrics.getTotalReasonerCalls() > 0);
+		assertTrue(metrics.get(RetrievalPhase.CONSTRUCTION).getAnswers() >= answers.size());
+		assertEquals(0, metrics.get(RetrievalPhase.GROUPING).getAnswers());
+
+		// nothing is recorded without listener
+		retrieval.setListener(null);
+		retrieval.getInstanceReferringExpressions(ontologyHandler, query);
+		assertEquals(1, runs.size());
+	}
+
+	@Test
+	public void testListenerForConcurrentRuns() throws Exception {
+		OWLClassExpression query = factory.getOWLThing();
+		List<RetrievalMetrics> runs = Collections.synchronizedList(new ArrayList<>());
+		RefExpRetrieval retrieval = new RefExpRetrieval();
+		retrieval.setListener(new RetrievalListener() {
+			@Override
+			public void phaseFinished(PhaseMetrics metrics) {
+			}
+
+			@Override
+			public void runFinished(RetrievalMetrics metrics) {
+				runs.add(metrics);
+			}
+		});
+
+		// runs on the same instance with own handlers (reasoners are not shared)
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		List<Future<Integer>> answers = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			answers.add(executor.submit(() -> {
+				OntologyHandler ontologyHandler = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+				try {
+					return retrieval.getInstanceReferringExpressions(ontologyHandler, query).size();
+				} finally {
+					ontologyHandler.dispose();
+				}
+			}));
+		}
+		int expected = answers.get(0).get();
+		assertEquals(expected, (int) answers.get(1).get());
+		executor.shutdown();
+
+		// every run is recorded on its own
+		assertEquals(2, runs.size());
+		long constructed = runs.get(0).get(RetrievalPhase.CONSTRUCTION).getAnswers();
+		assertTrue(constructed >= expected);
+		assertEquals(constructed, runs.get(1).get(RetrievalPhase.CONSTRUCTION).getAnswers());
+	}
+
 }
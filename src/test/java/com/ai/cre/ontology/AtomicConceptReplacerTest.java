@@ -0,0 +1,39 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+public class AtomicConceptReplacerTest {
+
+	@Test
+	public void test() {
+		OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+		AtomicConceptReplacer replacer = new AtomicConceptReplacer(factory);
+		OWLObjectProperty r = factory.getOWLObjectProperty("R");
+		OWLObjectProperty a = factory.getOWLObjectProperty("A");
+		OWLObjectProperty b = factory.getOWLObjectProperty("B");
+
+		// A ⊓ ∃R.(¬B ⊓ TOP)
+		OWLClassExpression concept = factory.getOWLObjectIntersectionOf(factory.getOWLClass("A"),
+				factory.getOWLObjectSomeValuesFrom(r, factory.getOWLObjectIntersectionOf(
+						factory.getOWLObjectComplementOf(factory.getOWLClass("B")), factory.getOWLThing())));
+
+		// ∃A.TOP ⊓ ∃R.(¬∃B.TOP ⊓ TOP)
+		OWLClassExpression expected = factory.getOWLObjectIntersectionOf(
+				factory.getOWLObjectSomeValuesFrom(a, factory.getOWLThing()),
+				factory.getOWLObjectSomeValuesFrom(r,
+						factory.getOWLObjectIntersectionOf(
+								factory.getOWLObjectComplementOf(
+										factory.getOWLObjectSomeValuesFrom(b, factory.getOWLThing())),
+								factory.getOWLThing())));
+
+		assertEquals(expected, concept.accept(replacer));
+		// TOP and BOTTOM are kept
+		assertEquals(factory.getOWLNothing(), factory.getOWLNothing().accept(replacer));
+	}
+}
@@ -0,0 +1,82 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.HermiT.Configuration;
+import org.semanticweb.HermiT.Reasoner;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+public class ClassHierarchyIndexTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+
+	OWLClass a = factory.getOWLClass("A");
+	OWLClass b = factory.getOWLClass("B");
+	OWLClass c = factory.getOWLClass("C");
+	OWLClass d = factory.getOWLClass("D");
+	OWLClass e = factory.getOWLClass("E");
+	OWLClass f = factory.getOWLClass("F");
+
+	private OWLOntology createOntology() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.createOntology();
+		// A ⊑ B, B ⊑ C, C ≡ E, D ⊑ BOTTOM, F ⊑ TOP
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(b, c));
+		manager.addAxiom(ontology, factory.getOWLEquivalentClassesAxiom(c, e));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(d, factory.getOWLNothing()));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(f, factory.getOWLThing()));
+		return ontology;
+	}
+
+	@Test
+	public void testIndexAgreesWithReasoner() throws OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		OWLReasoner reasoner = new Reasoner(new Configuration(), ontology);
+		ClassHierarchyIndex index = new ClassHierarchyIndex(ontology, reasoner);
+
+		List<OWLClass> classes = List.of(a, b, c, d, e, f, factory.getOWLThing(), factory.getOWLNothing());
+		for (OWLClass sub : classes) {
+			for (OWLClass sup : classes) {
+				assertEquals(sub + " ⊑ " + sup, reasoner.isEntailed(factory.getOWLSubClassOfAxiom(sub, sup)),
+						index.isSubClass(sub, sup));
+			}
+		}
+		// unknown classes are not answered
+		assertNull(index.isSubClass(a, factory.getOWLClass("G")));
+		reasoner.dispose();
+	}
+
+	@Test
+	public void testHandlerUsesIndex() throws OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		OntologyHandler ontoHandler = new OntologyHandler(ontology);
+		ontoHandler.setClassHierarchyIndex(true);
+		// make sure that complex checks are not answered structurally
+		ontoHandler.setStructuralChecks(false);
+
+		assertTrue(ontoHandler.checkIfSubClass(a, e));
+		assertFalse(ontoHandler.checkIfSubClass(a, f));
+		// complex expressions are still checked by the reasoner
+		assertTrue(ontoHandler.checkIfSubClass(a, factory.getOWLObjectIntersectionOf(b, c)));
+		assertEquals(1, ontoHandler.getReasonerCallCount());
+
+		// index is recomputed after changes
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, f));
+		assertTrue(ontoHandler.checkIfSubClass(a, f));
+
+		ontoHandler.dispose();
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectIntersectionOf;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+
+public class ConceptInternerTest {
+	OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+
+	OWLClass a = factory.getOWLClass("A");
+	OWLClass b = factory.getOWLClass("B");
+	OWLClass c = factory.getOWLClass("C");
+	OWLObjectProperty r = factory.getOWLObjectProperty("R");
+
+	@Test
+	public void testIntern() {
+		ConceptInterner interner = new ConceptInterner(factory);
+		OWLClassExpression ex_rest = interner.intern(factory.getOWLObjectSomeValuesFrom(r, a));
+		assertSame(ex_rest, interner.intern(factory.getOWLObjectSomeValuesFrom(r, a)));
+		OWLClassExpression conjunction = interner.getConjunction(Set.of(a, b));
+		assertSame(conjunction, interner.getConjunction(List.of(b, a)));
+		assertSame(a, interner.getConjunction(Set.of(a)));
+		assertEquals(3, interner.size());
+	}
+
+	@Test
+	public void testMostSpecificConjunction() {
+		ConceptInterner interner = new ConceptInterner(factory);
+		int[] reductions = new int[1];
+		// drop C as if it was more general than A
+		OWLObjectIntersectionOf reduced = interner.getMostSpecificConjunction(
+				Set.of(factory.getOWLObjectIntersectionOf(a, c), b), normalized -> {
+					reductions[0]++;
+					assertEquals(List.of(a, b, c), normalized);
+					return Set.of(a, b);
+				});
+		assertEquals(factory.getOWLObjectIntersectionOf(a, b), reduced);
+
+		// nested conjunctions are flattened, such that the reduction is reused
+		assertSame(reduced, interner.getMostSpecificConjunction(
+				List.of(c, factory.getOWLObjectIntersectionOf(b, a)), normalized -> Set.of(c)));
+		assertEquals(1, reductions[0]);
+		assertEquals(1, interner.getHitCount());
+		assertEquals(1, interner.getMissCount());
+
+		interner.clearReductions();
+		assertEquals(factory.getOWLObjectIntersectionOf(c),
+				interner.getMostSpecificConjunction(List.of(a, b, c), normalized -> Set.of(c)));
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+
+import com.ai.cre.ontology.EntailmentCache.EvictionPolicy;
+
+public class EntailmentCacheTest {
+	OWLDataFactory factory = OWLManager.createOWLOntologyManager().getOWLDataFactory();
+	OWLClass a = factory.getOWLClass("A");
+	OWLClass b = factory.getOWLClass("B");
+	OWLClass c = factory.getOWLClass("C");
+	OWLAxiom ab = factory.getOWLSubClassOfAxiom(a, b);
+	OWLAxiom bc = factory.getOWLSubClassOfAxiom(b, c);
+	OWLAxiom ac = factory.getOWLSubClassOfAxiom(a, c);
+
+	@Test
+	public void testHitsAndMisses() {
+		EntailmentCache cache = new EntailmentCache(10, EvictionPolicy.LRU);
+		assertTrue(cache.isEntailed(ab, ax -> true));
+		// stored (positive and negative) results are used instead of calling the check
+		assertTrue(cache.isEntailed(ab, ax -> false));
+		assertFalse(cache.isEntailed(bc, ax -> false));
+		assertFalse(cache.isEntailed(bc, ax -> true));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testEviction() {
+		// LRU keeps recently accessed entries
+		EntailmentCache lru = new EntailmentCache(2, EvictionPolicy.LRU);
+		lru.put(ab, true);
+		lru.put(bc, true);
+		lru.get(ab);
+		lru.put(ac, true);
+		assertEquals(1, lru.getEvictionCount());
+		assertTrue(lru.get(ab));
+		assertNull(lru.get(bc));
+
+		// FIFO removes the oldest entry regardless of accesses
+		EntailmentCache fifo = new EntailmentCache(2, EvictionPolicy.FIFO);
+		fifo.put(ab, true);
+		fifo.put(bc, true);
+		fifo.get(ab);
+		fifo.put(ac, true);
+		assertEquals(1, fifo.getEvictionCount());
+		assertNull(fifo.get(ab));
+		assertTrue(fifo.get(bc));
+	}
+
+	@Test
+	public void testCachedSubClassChecks() {
+		OntologyHandler ontoHandler = new OntologyHandler(new File("resources/test/test_ontology.owl"));
+		ontoHandler.setEntailmentCache(100, EvictionPolicy.LRU);
+		// E ⊑ F is told, so it would not reach the cache otherwise
+		ontoHandler.setStructuralChecks(false);
+		OWLClass e = factory.getOWLClass("E");
+		OWLClass f = factory.getOWLClass("F");
+
+		assertTrue(ontoHandler.checkIfSubClass(e, f));
+		assertFalse(ontoHandler.checkIfSubClass(f, e));
+		assertTrue(ontoHandler.checkIfSubClass(e, f));
+		assertFalse(ontoHandler.checkIfSubClass(f, e));
+		assertEquals(2, ontoHandler.getEntailmentCache().getHitCount());
+		assertEquals(2, ontoHandler.getEntailmentCache().getMissCount());
+
+		// disable caching
+		ontoHandler.setEntailmentCache(0, EvictionPolicy.LRU);
+		assertNull(ontoHandler.getEntailmentCache());
+		assertTrue(ontoHandler.checkIfSubClass(e, f));
+	}
+
+}
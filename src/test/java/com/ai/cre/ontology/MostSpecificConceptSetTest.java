@@ -0,0 +1,193 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class MostSpecificConceptSetTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+
+	OWLClass a = factory.getOWLClass("A");
+	OWLClass b = factory.getOWLClass("B");
+	OWLClass c = factory.getOWLClass("C");
+	OWLClass d = factory.getOWLClass("D");
+	OWLObjectProperty r = factory.getOWLObjectProperty("R");
+	OWLObjectProperty s = factory.getOWLObjectProperty("S");
+
+	private OWLOntology createOntology() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.createOntology();
+		// A ⊑ B, B ⊑ C
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(b, c));
+		manager.addAxiom(ontology, factory.getOWLDeclarationAxiom(d));
+		return ontology;
+	}
+
+	private OntologyHandler createHandler() throws OWLOntologyCreationException {
+		return new OntologyHandler(createOntology());
+	}
+
+	@Test
+	public void testMostSpecificConcepts() throws OWLOntologyCreationException {
+		OntologyHandler handler = createHandler();
+		MostSpecificConceptSet<OWLClassExpression> set = new MostSpecificConceptSet<>(handler);
+		assertTrue(set.add(c));
+		assertTrue(set.add(d));
+		// B replaces C, A replaces B
+		assertTrue(set.add(b));
+		assertTrue(set.add(a));
+		assertEquals(Set.of(a, d), set);
+		// more general and contained concepts are not added
+		assertFalse(set.add(c));
+		long checks = set.getCheckCount();
+		assertFalse(set.add(a));
+		assertEquals(checks, set.getCheckCount());
+		assertEquals(Set.of(a, d), set);
+
+		// same result as for a plain set
+		Set<OWLClassExpression> plain = new HashSet<>();
+		for (OWLClassExpression con : new OWLClassExpression[] { c, d, b, a, c }) {
+			handler.addConceptIfMostSpecific(plain, con);
+		}
+		assertEquals(plain, set);
+
+		set.remove(a);
+		assertTrue(set.add(c));
+		assertEquals(Set.of(c, d), set);
+		handler.dispose();
+	}
+
+	@Test
+	public void testIndexedAtomicConcepts() throws OWLOntologyCreationException {
+		OntologyHandler handler = createHandler();
+		handler.setClassHierarchyIndex(true);
+		MostSpecificConceptSet<OWLClassExpression> set = new MostSpecificConceptSet<>(handler);
+		for (OWLClassExpression con : new OWLClassExpression[] { c, d, b, a, c, factory.getOWLThing() }) {
+			set.add(con);
+		}
+		assertEquals(Set.of(a, d), set);
+		// atomic concepts are pruned by means of the index
+		assertEquals(0, set.getCheckCount());
+
+		// other concepts are still compared to the atomic elements
+		OWLClassExpression r_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		assertTrue(set.add(r_a));
+		assertTrue(set.getCheckCount() > 0);
+		assertFalse(set.add(factory.getOWLObjectIntersectionOf(a, c)));
+		assertTrue(set.add(factory.getOWLObjectIntersectionOf(a, d)));
+		assertEquals(Set.of(factory.getOWLObjectIntersectionOf(a, d), r_a), set);
+
+		// removed atomic elements no longer prune their ancestors
+		set.clear();
+		set.add(a);
+		set.remove(a);
+		assertTrue(set.add(b));
+		assertEquals(Set.of(b), set);
+		handler.dispose();
+	}
+
+	@Test
+	public void testMinimalExistentialRestrictions() throws OWLOntologyCreationException {
+		OntologyHandler handler = createHandler();
+		MostSpecificConceptSet<OWLClassExpression> set = new MostSpecificConceptSet<>(handler, true);
+		OWLClassExpression r_b = factory.getOWLObjectSomeValuesFrom(r, b);
+		OWLClassExpression r_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		OWLClassExpression s_c = factory.getOWLObjectSomeValuesFrom(s, c);
+		assertTrue(set.add(r_b));
+		// restrictions using other roles are not compared
+		assertTrue(set.add(s_c));
+		assertEquals(0, set.getCheckCount());
+		assertTrue(set.add(r_a));
+		assertFalse(set.add(r_b));
+		// other concepts are always kept
+		assertTrue(set.add(c));
+		assertEquals(Set.of(r_a, s_c, c), set);
+		handler.dispose();
+	}
+
+	@Test
+	public void testClassifiedComplexConcepts() throws OWLOntologyCreationException {
+		OWLOntology ontology = createOntology();
+		OntologyHandler handler = new OntologyHandler(ontology);
+		OWLClassExpression r_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		OWLClassExpression r_b = factory.getOWLObjectSomeValuesFrom(r, b);
+		OWLClassExpression r_c = factory.getOWLObjectSomeValuesFrom(r, c);
+		OWLClassExpression a_d = factory.getOWLObjectIntersectionOf(a, d);
+		OWLClassExpression b_d = factory.getOWLObjectIntersectionOf(b, d);
+		OWLClassExpression s_d = factory.getOWLObjectSomeValuesFrom(s, d);
+		List<OWLClassExpression> concepts = List.of(r_c, b_d, r_b, s_d, a_d, r_a, r_c, b_d);
+
+		// same result as for a plain set
+		Set<OWLClassExpression> plain = new HashSet<>();
+		concepts.forEach(con -> handler.addConceptIfMostSpecific(plain, con));
+		MostSpecificConceptSet<OWLClassExpression> unclassified = new MostSpecificConceptSet<>(handler);
+		unclassified.addAll(concepts);
+		assertEquals(plain, unclassified);
+		assertTrue(unclassified.getCheckCount() > 0);
+
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+		taxonomy.addAll(concepts);
+		taxonomy.classify();
+		assertTrue(taxonomy.isComplete());
+		handler.setRestrictionTaxonomy(taxonomy);
+		MostSpecificConceptSet<OWLClassExpression> set = new MostSpecificConceptSet<>(handler);
+		set.addAll(concepts);
+		assertEquals(Set.of(r_a, a_d, s_d), set);
+		// complex concepts are pruned by means of the taxonomy
+		assertEquals(0, set.getCheckCount());
+
+		// unclassified concepts are still compared to the classified elements
+		OWLClassExpression r_a_d = factory.getOWLObjectSomeValuesFrom(r, a_d);
+		assertTrue(set.add(r_a_d));
+		assertTrue(set.getCheckCount() > 0);
+		assertEquals(Set.of(r_a_d, a_d, s_d), set);
+
+		// removed elements no longer prune their ancestors
+		set.clear();
+		set.add(r_a);
+		set.remove(r_a);
+		assertTrue(set.add(r_b));
+		assertEquals(Set.of(r_b), set);
+		taxonomy.dispose();
+		handler.dispose();
+	}
+
+	@Test
+	public void testIndexedFillers() throws OWLOntologyCreationException {
+		OntologyHandler handler = createHandler();
+		handler.setClassHierarchyIndex(true);
+		MostSpecificConceptSet<OWLClassExpression> set = new MostSpecificConceptSet<>(handler, true);
+		OWLClassExpression r_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		OWLClassExpression r_b = factory.getOWLObjectSomeValuesFrom(r, b);
+		OWLClassExpression r_c = factory.getOWLObjectSomeValuesFrom(r, c);
+		OWLClassExpression r_d = factory.getOWLObjectSomeValuesFrom(r, d);
+		assertTrue(set.add(r_b));
+		assertTrue(set.add(r_d));
+		assertFalse(set.add(r_c));
+		assertTrue(set.add(r_a));
+		assertEquals(Set.of(r_a, r_d), set);
+		// atomic fillers are compared by means of the index
+		assertEquals(0, set.getCheckCount());
+
+		// complex fillers are still compared by subsumption checks
+		assertFalse(set.add(factory.getOWLObjectSomeValuesFrom(r, factory.getOWLObjectUnionOf(a, d))));
+		assertTrue(set.getCheckCount() > 0);
+		handler.dispose();
+	}
+
+}
@@ -7,6 +7,7 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.apibinding.OWLManager;
@@ -22,7 +23,9 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLProperty;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
 
+import com.ai.cre.algo.NodeSorter;
 import com.ai.cre.ontology.OntologyHandler;
 import com.ai.cre.ontology.RestrictionNodeCollection;
 import com.ai.cre.representation.ConceptNode;
@@ -87,6 +90,25 @@ public class OntologyHandlerTest {
 
 	}
 
+	@Test
+	public void testGetPotentialRightSideRestrictionsInParallel() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		ontoHandler.setForkJoinPool(pool);
+		RestrictionNodeCollection restNodeCol = ontoHandler.getPotentialRightSideRestrictionNodes();
+		pool.shutdown();
+		// same restrictions as collected sequentially
+		assertEquals(3, restNodeCol.exist_restrictions.size());
+		assertTrue(restNodeCol
+				.containsExistRest(factory.getOWLObjectSomeValuesFrom(s, factory.getOWLObjectComplementOf(c))));
+		assertTrue(restNodeCol
+				.containsExistRest(factory.getOWLObjectSomeValuesFrom(r, factory.getOWLObjectSomeValuesFrom(s, b))));
+		assertTrue(restNodeCol.containsExistRest(factory.getOWLObjectSomeValuesFrom(s, b)));
+		assertEquals(2, restNodeCol.univ_restrictions.get(r).size());
+		assertEquals(1, restNodeCol.univ_restrictions.get(s).size());
+		// the handler of the merged collection must still be usable
+		assertTrue(restNodeCol.ontologyHandler == ontoHandler);
+	}
+
 	@Test
 	public void testGetIndividuals() {
 		Set<OWLIndividual> inds = ontoHandler.getIndividuals();
@@ -160,6 +182,190 @@ public class OntologyHandlerTest {
 
 	}
 
+	@Test
+	public void testMostSpecificConceptsForChain() throws OWLOntologyCreationException {
+		// R(x,y), R(y,z), A(z) and the loop S(u,v), S(v,u), where R(w,u) depends on it
+		OWLOntology ontology = manager.createOntology();
+		OWLIndividual x = factory.getOWLNamedIndividual("x");
+		OWLIndividual y = factory.getOWLNamedIndividual("y");
+		OWLIndividual z = factory.getOWLNamedIndividual("z");
+		OWLIndividual u = factory.getOWLNamedIndividual("u");
+		OWLIndividual v = factory.getOWLNamedIndividual("v");
+		OWLIndividual w = factory.getOWLNamedIndividual("w");
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(r, x, y));
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(r, y, z));
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(a, z));
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(s, u, v));
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(s, v, u));
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(r, w, u));
+		OntologyHandler oh = new OntologyHandler(ontology);
+
+		HashMap<OWLIndividual, Set<OWLClassExpression>> results = oh
+				.getMostSpecificConceptsForIndividuals(Set.of(x, y, z, u, v, w), new HashMap<>());
+		assertEquals(Set.of(a), results.get(z));
+		assertEquals(Set.of(factory.getOWLObjectSomeValuesFrom(r, a)), results.get(y));
+		assertEquals(Set.of(factory.getOWLObjectSomeValuesFrom(r, factory.getOWLObjectSomeValuesFrom(r, a))),
+				results.get(x));
+		// individuals depending on the loop only get restrictions with TOP as filler
+		assertEquals(Set.of(factory.getOWLObjectSomeValuesFrom(s, factory.getOWLThing())), results.get(u));
+		assertEquals(Set.of(factory.getOWLObjectSomeValuesFrom(r, factory.getOWLThing())), results.get(w));
+		oh.dispose();
+	}
+
+	@Test
+	public void testGetMostSpecificConsforInd() throws OWLOntologyCreationException {
+		// A ⊑ B, C ⊑ B and A(x)
+		OWLOntology ontology = manager.createOntology();
+		OWLIndividual x = factory.getOWLNamedIndividual("x");
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, b));
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(a, x));
+		OntologyHandler oh = new OntologyHandler(ontology);
+
+		// B with the subs A and C sharing the sub A ⊓ C, and D with the sub D ⊓ E
+		ConceptNode<OWLClassExpression> node_b = new ConceptNode<>(b);
+		ConceptNode<OWLClassExpression> node_a = new ConceptNode<>(a);
+		ConceptNode<OWLClassExpression> node_c = new ConceptNode<>(c);
+		ConceptNode<OWLClassExpression> node_ac = new ConceptNode<>(factory.getOWLObjectIntersectionOf(a, c));
+		ConceptNode<OWLClassExpression> node_d = new ConceptNode<>(d);
+		ConceptNode<OWLClassExpression> node_de = new ConceptNode<>(factory.getOWLObjectIntersectionOf(d, e));
+		node_b.addRelationToSub(node_a);
+		node_b.addRelationToSub(node_c);
+		node_a.addRelationToSub(node_ac);
+		node_c.addRelationToSub(node_ac);
+		node_d.addRelationToSub(node_de);
+		ConceptNodeSet<OWLClassExpression> nodes = new ConceptNodeSet<>();
+		nodes.add(node_b);
+		nodes.add(node_d);
+
+		long calls = oh.getReasonerCallCount();
+		assertEquals(Set.of(a), oh.getMostSpecificConsforInd(x, nodes));
+		// A ⊓ C is only checked once and D ⊓ E is not checked at all
+		assertTrue(oh.getReasonerCallCount() - calls <= 5);
+		oh.dispose();
+	}
+
+	@Test
+	public void testGetMostSpecificConsforIndWithoutSorting() throws OWLOntologyCreationException {
+		// C ⊑ ∀R.A, C ⊑ ∀R.E, A ⊑ E, C(x) and R(x,y)
+		OWLOntology ontology = manager.createOntology();
+		OWLIndividual x = factory.getOWLNamedIndividual("x");
+		OWLIndividual y = factory.getOWLNamedIndividual("y");
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, factory.getOWLObjectAllValuesFrom(r, a)));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(c, factory.getOWLObjectAllValuesFrom(r, e)));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, e));
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(c, x));
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(r, x, y));
+		OntologyHandler oh = new OntologyHandler(ontology);
+
+		// the unsorted filler nodes do not have any sub-nodes
+		HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> univ_rests = oh
+				.getPotentialRightSideRestrictionNodes().univ_restrictions;
+		ConceptNodeSet<OWLClassExpression> nodes = univ_rests.get(r);
+		assertEquals(Set.of(a), oh.getMostSpecificConsforInd(y, nodes, false));
+
+		HashMap<OWLIndividual, Set<OWLClassExpression>> results = oh
+				.getMostSpecificConceptsForIndividuals(Set.of(x, y), univ_rests, false);
+		assertTrue(results.get(y).contains(a));
+		assertFalse(results.get(y).contains(e));
+
+		// same result as for the sorted hierarchy
+		HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> sorted_rests = new HashMap<>();
+		univ_rests.forEach((role, role_nodes) -> sorted_rests.put(role,
+				new ConceptNodeSet<>(NodeSorter.sortBySubsumption(oh, new ConceptNodeSet<>(role_nodes)))));
+		assertEquals(results, oh.getMostSpecificConceptsForIndividuals(Set.of(x, y), sorted_rests));
+		oh.dispose();
+	}
+
+	@Test
+	public void testGetLeftSideExistRestrictionNodes() throws OWLOntologyCreationException {
+		// ∃R.A ⊑ C, ∃R.B ⊑ D and A ⊑ B
+		OWLOntology ontology = manager.createOntology();
+		OWLObjectSomeValuesFrom ex_rest_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		OWLObjectSomeValuesFrom ex_rest_b = factory.getOWLObjectSomeValuesFrom(r, b);
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(ex_rest_a, c));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(ex_rest_b, d));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		OntologyHandler oh = new OntologyHandler(ontology);
+		// without a sorter, every restriction forms its own node
+		assertEquals(2, oh.getLeftSideExistRestrictionNodes().size());
+		oh.setNodeSorter(NodeSorter.SUBSUMPTION_SORTER);
+
+		Set<ConceptNode<OWLObjectSomeValuesFrom>> nodes = oh.getLeftSideExistRestrictionNodes();
+		// ∃R.A is sorted below ∃R.B
+		assertEquals(1, nodes.size());
+		ConceptNode<OWLObjectSomeValuesFrom> top = nodes.iterator().next();
+		assertEquals(ex_rest_b, top.getConcept());
+		assertEquals(Set.of(ex_rest_a), top.getDescendantConcepts());
+		// the hierarchy is only created once per ontology
+		assertTrue(nodes == oh.getLeftSideExistRestrictionNodes());
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(e, c));
+		assertFalse(nodes == oh.getLeftSideExistRestrictionNodes());
+		oh.dispose();
+	}
+
+	@Test
+	public void testGetMostSpecificExRestsForIndividualWithIncompleteHierarchy()
+			throws OWLOntologyCreationException {
+		// A ⊑ B, R(x,y) and A(y)
+		OWLOntology ontology = manager.createOntology();
+		OWLIndividual x = factory.getOWLNamedIndividual("x");
+		OWLIndividual y = factory.getOWLNamedIndividual("y");
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(r, x, y));
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(a, y));
+		OntologyHandler oh = new OntologyHandler(ontology);
+
+		// a hierarchy missing ∃R.A ⊑ ∃R.B
+		OWLObjectSomeValuesFrom ex_rest_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		ConceptNodeSet<OWLObjectSomeValuesFrom> nodes = new ConceptNodeSet<>();
+		nodes.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(r, b)));
+		nodes.add(new ConceptNode<>(ex_rest_a));
+		// the found restrictions are still reduced to the most specific ones
+		assertEquals(Set.of(ex_rest_a), oh.getMostSpecificExRestsForIndividual(x, nodes));
+		oh.dispose();
+	}
+
+	@Test
+	public void testProvidedReasonerNotDisposed() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		OWLReasoner reasoner = ReasonerBackend.HERMIT.createReasoner(ontology);
+		OntologyHandler oh = new OntologyHandler(ontology, reasoner);
+		assertTrue(oh.checkIfSubClass(e, f));
+		// choosing another backend replaces the provided reasoner
+		oh.setReasonerBackend(ReasonerPhase.ENTAILMENT, ReasonerBackend.JFACT);
+		assertTrue(oh.checkIfSubClass(e, g));
+		oh.dispose();
+		// the provided reasoner is still usable by the caller
+		assertTrue(reasoner.isEntailed(factory.getOWLSubClassOfAxiom(e, f)));
+		reasoner.dispose();
+	}
+
+	@Test
+	public void testGetMostSpecificConceptsInParallel() {
+		OWLIndividual ind_e = factory.getOWLNamedIndividual("e");
+		HashMap<OWLProperty, ConceptNodeSet<OWLClassExpression>> univ_rests_nodes = new HashMap<>();
+		univ_rests_nodes.put(r, new ConceptNodeSet<>(Set.of(new ConceptNode<>(factory.getOWLClass("B1")))));
+		univ_rests_nodes.put(s, new ConceptNodeSet<>(Set.of(new ConceptNode<>(factory.getOWLClass("B3")))));
+		Set<OWLIndividual> inds = Set.of(ind_a, ind_b, ind_c, ind_d, ind_e);
+
+		OntologyHandler oh = new OntologyHandler(new File("resources/test/test_ontology2.owl"));
+		HashMap<OWLIndividual, Set<OWLClassExpression>> expected = oh.getMostSpecificConceptsForIndividuals(inds,
+				univ_rests_nodes);
+		// sorting the left-side restrictions does not change the results
+		oh.setNodeSorter(NodeSorter.SUBSUMPTION_SORTER);
+		assertEquals(expected, oh.getMostSpecificConceptsForIndividuals(inds, univ_rests_nodes));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		oh.setForkJoinPool(pool);
+		// worker handlers with own reasoners
+		assertEquals(expected, oh.getMostSpecificConceptsForIndividuals(inds, univ_rests_nodes));
+		// shared pool of reasoners
+		oh.setReasonerPool(2, false);
+		assertEquals(expected, oh.getMostSpecificConceptsForIndividuals(inds, univ_rests_nodes));
+		pool.shutdown();
+		oh.dispose();
+	}
+
 	@Test
 	public void testCreateUnivRestriction() {		
 		OWLObjectIntersectionOf bc = factory.getOWLObjectIntersectionOf(b, c);
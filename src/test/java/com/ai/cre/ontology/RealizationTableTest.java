@@ -0,0 +1,87 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class RealizationTableTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+	File of = new File("resources/test/test_ontology.owl");
+
+	@Test
+	public void testClassAssertions() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		OntologyHandler handler = new OntologyHandler(ontology);
+		OntologyHandler realized = new OntologyHandler(ontology);
+		realized.setRealizationTable(true);
+		RealizationTable table = realized.getRealizationTable();
+		assertEquals(ontology.individualsInSignature().count(), table.size());
+
+		List<OWLClass> classes = ontology.classesInSignature().collect(Collectors.toList());
+		long calls = realized.getReasonerCallCount();
+		for (OWLIndividual ind : handler.getIndividuals()) {
+			for (OWLClass c : classes) {
+				boolean expected = handler.checkClassAssertion(c, ind);
+				assertEquals(expected, realized.checkClassAssertion(c, ind));
+				assertEquals(expected, table.getInstances(c).contains(ind));
+				for (OWLClass d : classes) {
+					OWLClassExpression conjunction = factory.getOWLObjectIntersectionOf(c, d);
+					assertEquals(handler.checkClassAssertion(conjunction, ind),
+							realized.checkClassAssertion(conjunction, ind));
+				}
+			}
+		}
+		// atomic concepts and their conjunctions are answered by the table
+		assertEquals(calls, realized.getReasonerCallCount());
+
+		// other expressions are left to the reasoner
+		OWLClassExpression ex_rest = factory.getOWLObjectSomeValuesFrom(factory.getOWLObjectProperty("R"),
+				factory.getOWLThing());
+		OWLIndividual ind = handler.getIndividuals().iterator().next();
+		assertNull(table.isInstance(ex_rest, ind));
+		assertEquals(handler.checkClassAssertion(ex_rest, ind), realized.checkClassAssertion(ex_rest, ind));
+		assertTrue(realized.getReasonerCallCount() > calls);
+
+		// the table is discarded when it is disabled
+		realized.setRealizationTable(false);
+		assertNull(realized.getRealizationTable());
+		handler.dispose();
+		realized.dispose();
+	}
+
+	@Test
+	public void testTableAfterChange() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.createOntology();
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		OWLIndividual x = factory.getOWLNamedIndividual("x");
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(a, x));
+		OntologyHandler realized = new OntologyHandler(ontology);
+		realized.setRealizationTable(true);
+		assertFalse(realized.checkClassAssertion(b, x));
+
+		// the table is recomputed from the reasoner after it took the change into
+		// account
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		assertTrue(realized.checkClassAssertion(b, x));
+		assertTrue(realized.getRealizationTable().getInstances(b).contains(x));
+		realized.dispose();
+	}
+
+}
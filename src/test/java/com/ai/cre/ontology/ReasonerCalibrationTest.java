@@ -0,0 +1,66 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class ReasonerCalibrationTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	File of = new File("resources/test/test_ontology.owl");
+
+	@Test
+	public void testCalibrate() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		List<ReasonerBackend> backends = List.of(ReasonerBackend.HERMIT, ReasonerBackend.JFACT);
+		ReasonerCalibration calibration = new ReasonerCalibration(ontology, 10, 1);
+		Map<ReasonerPhase, ReasonerBackend> selected = calibration.calibrate(backends);
+
+		// a backend is selected for every phase based on the measured times
+		assertEquals(ReasonerPhase.values().length, selected.size());
+		for (ReasonerPhase phase : ReasonerPhase.values()) {
+			assertTrue(backends.contains(selected.get(phase)));
+			for (ReasonerBackend backend : backends) {
+				assertNotNull(calibration.getTime(phase, backend));
+				assertTrue(calibration.getTime(phase, selected.get(phase)) <= calibration.getTime(phase, backend));
+			}
+		}
+	}
+
+	@Test
+	public void testBackendsPerPhase() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		OntologyHandler hermit = new OntologyHandler(ontology);
+		OntologyHandler mixed = new OntologyHandler(ontology, ReasonerBackend.JFACT);
+		mixed.setReasonerBackend(ReasonerPhase.REALIZATION, ReasonerBackend.HERMIT);
+		assertEquals(ReasonerBackend.HERMIT, hermit.getReasonerBackend(ReasonerPhase.ENTAILMENT));
+		assertEquals(ReasonerBackend.JFACT, mixed.getReasonerBackend(ReasonerPhase.ENTAILMENT));
+		assertNull(mixed.getReasonerBackend(ReasonerPhase.CLASSIFICATION));
+
+		// every backend leads to the same results
+		mixed.setStructuralChecks(false);
+		hermit.setStructuralChecks(false);
+		ontology.classesInSignature().forEach(c -> {
+			ontology.classesInSignature().forEach(
+					d -> assertEquals(hermit.checkIfSubClass(c, d), mixed.checkIfSubClass(c, d)));
+			hermit.getIndividuals().forEach(
+					ind -> assertEquals(hermit.checkClassAssertion(c, ind), mixed.checkClassAssertion(c, ind)));
+		});
+
+		mixed.calibrateReasonerBackends();
+		assertNotNull(mixed.getReasonerBackend(ReasonerPhase.CLASSIFICATION));
+		hermit.dispose();
+		mixed.dispose();
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+public class ReasonerPoolTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	File of = new File("resources/test/test_ontology.owl");
+
+	@Test
+	public void testBorrowAndRelease() throws OWLOntologyCreationException, InterruptedException, ExecutionException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		ReasonerPool pool = new ReasonerPool(ontology, ReasonerBackend.HERMIT, 2);
+		// reasoners are created lazily
+		assertEquals(0, pool.getCreatedCount());
+		OWLReasoner r1 = pool.borrow();
+		OWLReasoner r2 = pool.borrow();
+		assertEquals(2, pool.getCreatedCount());
+		assertTrue(r1 != r2);
+
+		// a third check out has to wait for a returned reasoner
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<OWLReasoner> future = executor.submit(() -> pool.borrow());
+		Thread.sleep(100);
+		assertTrue(!future.isDone());
+		pool.release(r1);
+		assertSame(r1, future.get());
+		assertEquals(2, pool.getCreatedCount());
+		assertEquals(1, pool.getWaitCount());
+		executor.shutdown();
+
+		pool.release(r1);
+		pool.release(r2);
+		assertEquals(2, pool.getIdleCount());
+		pool.dispose();
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void testBorrowWaitingWhileDisposed() throws OWLOntologyCreationException, InterruptedException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		ReasonerPool pool = new ReasonerPool(ontology, ReasonerBackend.HERMIT, 1);
+		OWLReasoner r1 = pool.borrow();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<OWLReasoner> future = executor.submit(() -> pool.borrow());
+		Thread.sleep(100);
+		pool.dispose();
+		// the returned reasoner is disposed instead of being passed to the waiting
+		// thread
+		pool.release(r1);
+		try {
+			future.get();
+			fail("borrowing from a disposed pool should fail");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals(0, pool.getIdleCount());
+		executor.shutdown();
+	}
+
+	@Test
+	public void testFlush() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.createOntology();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		OntologyHandler handler = new OntologyHandler(ontology);
+		handler.setStructuralChecks(false);
+		handler.setReasonerPool(1, true);
+		assertFalse(handler.checkIfSubClass(a, b));
+
+		// the pooled reasoner is flushed when the ontology changes
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		assertTrue(handler.checkIfSubClass(a, b));
+		assertEquals(1, handler.getReasonerPool().getCreatedCount());
+		handler.dispose();
+	}
+
+	@Test
+	public void testPooledHandler() throws OWLOntologyCreationException, InterruptedException, ExecutionException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		OntologyHandler handler = new OntologyHandler(ontology);
+		OntologyHandler pooled = new OntologyHandler(ontology);
+		pooled.setStructuralChecks(false);
+		pooled.setEntailmentCache(1, EntailmentCache.EvictionPolicy.LRU);
+		pooled.setReasonerPool(3, true);
+		assertEquals(3, pooled.getReasonerPool().getCreatedCount());
+
+		// concurrent checks using the same handler and a worker handler
+		OntologyHandler worker = pooled.createWorkerHandler();
+		assertNull(worker.reasoner);
+		List<OWLClass> classes = ontology.classesInSignature().collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (OWLClass c : classes) {
+			List<Future<Boolean>> results = classes.stream()
+					.map(d -> executor.submit(() -> (d.hashCode() % 2 == 0 ? pooled : worker).checkIfSubClass(c, d)))
+					.collect(Collectors.toList());
+			for (int i = 0; i < classes.size(); i++) {
+				assertEquals(handler.checkIfSubClass(c, classes.get(i)), results.get(i).get());
+			}
+		}
+		executor.shutdown();
+		assertTrue(pooled.getReasonerPool().getCreatedCount() <= 3);
+
+		worker.dispose();
+		pooled.setReasonerPool(0, false);
+		assertNull(pooled.getReasonerPool());
+		handler.dispose();
+		pooled.dispose();
+	}
+
+}
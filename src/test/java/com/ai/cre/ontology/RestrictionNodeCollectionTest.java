@@ -1,19 +1,24 @@
 package com.ai.cre.ontology;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLObjectAllValuesFrom;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
 import org.semanticweb.owlapi.model.OWLObjectSomeValuesFrom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.model.OWLProperty;
 
 import com.ai.cre.ontology.OntologyHandler;
 import com.ai.cre.ontology.RestrictionNodeCollection;
+import com.ai.cre.representation.ConceptNode;
 
 public class RestrictionNodeCollectionTest {
 
@@ -108,4 +113,81 @@ public class RestrictionNodeCollectionTest {
 
 	}
 
+	@Test
+	public void testAddEquivalentExistRestriction() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		OWLObjectProperty r = factory.getOWLObjectProperty("R");
+		// A ⊑ B, thus ∃R.(A ⊔ B) ≡ ∃R.(B ⊔ (A ⊓ B))
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a, b));
+		OntologyHandler handler = new OntologyHandler(ontology);
+		RestrictionNodeCollection rnCol = new RestrictionNodeCollection(handler);
+
+		OWLObjectSomeValuesFrom ex_rest = factory.getOWLObjectSomeValuesFrom(r, factory.getOWLObjectUnionOf(a, b));
+		OWLObjectSomeValuesFrom equiv_rest = factory.getOWLObjectSomeValuesFrom(r,
+				factory.getOWLObjectUnionOf(b, factory.getOWLObjectIntersectionOf(a, b)));
+		rnCol.addExistRestriction(ex_rest);
+		// adding the same restriction again has no effect
+		rnCol.addExistRestriction(ex_rest);
+		assertEquals(1, rnCol.exist_restrictions.size());
+		// equivalent restrictions are represented by the present node
+		rnCol.addExistRestriction(equiv_rest);
+		assertEquals(1, rnCol.exist_restrictions.size());
+		assertTrue(rnCol.containsExistRest(ex_rest));
+		// restrictions of other buckets get their own nodes
+		rnCol.addExistRestriction(factory.getOWLObjectSomeValuesFrom(r, b));
+		rnCol.addExistRestriction(factory.getOWLObjectSomeValuesFrom(factory.getOWLObjectProperty("S"),
+				factory.getOWLObjectUnionOf(a, b)));
+		assertEquals(3, rnCol.exist_restrictions.size());
+
+		// nodes added directly are considered as well
+		rnCol.exist_restrictions.add(new ConceptNode<>(factory.getOWLObjectSomeValuesFrom(r, a)));
+		rnCol.addExistRestriction(factory.getOWLObjectSomeValuesFrom(r, a));
+		assertEquals(4, rnCol.exist_restrictions.size());
+		handler.dispose();
+	}
+
+	@Test
+	public void testMergeEquivalentExistNodes() throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLDataFactory factory = manager.getOWLDataFactory();
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		OWLClass c = factory.getOWLClass("C");
+		OWLObjectProperty r = factory.getOWLObjectProperty("R");
+		OWLObjectProperty s = factory.getOWLObjectProperty("S");
+		// A ≡ B ⊓ C, thus ∃R.A ≡ ∃R.(B ⊓ C)
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology,
+				factory.getOWLEquivalentClassesAxiom(a, factory.getOWLObjectIntersectionOf(b, c)));
+		OntologyHandler handler = new OntologyHandler(ontology);
+		RestrictionNodeCollection rnCol = new RestrictionNodeCollection(handler);
+
+		OWLObjectSomeValuesFrom r_a = factory.getOWLObjectSomeValuesFrom(r, a);
+		OWLObjectSomeValuesFrom r_bc = factory.getOWLObjectSomeValuesFrom(r,
+				factory.getOWLObjectIntersectionOf(b, c));
+		OWLObjectSomeValuesFrom s_bc = factory.getOWLObjectSomeValuesFrom(s,
+				factory.getOWLObjectIntersectionOf(b, c));
+		rnCol.addExistRestriction(r_a);
+		rnCol.addExistRestriction(r_bc);
+		rnCol.addExistRestriction(s_bc);
+		rnCol.addExistRestriction(factory.getOWLObjectSomeValuesFrom(r, b));
+		// the restrictions belong to different buckets
+		assertEquals(4, rnCol.exist_restrictions.size());
+
+		// without sorting, equivalent restrictions of different buckets are merged
+		// afterwards
+		rnCol.mergeEquivalentExistNodes();
+		assertEquals(3, rnCol.exist_restrictions.size());
+		assertTrue(rnCol.containsExistRest(r_a) != rnCol.containsExistRest(r_bc));
+		assertTrue(rnCol.containsExistRest(s_bc));
+		// merging again has no effect
+		rnCol.mergeEquivalentExistNodes();
+		assertEquals(3, rnCol.exist_restrictions.size());
+		handler.dispose();
+	}
+
 }
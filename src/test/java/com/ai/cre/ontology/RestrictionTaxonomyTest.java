@@ -0,0 +1,196 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class RestrictionTaxonomyTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+	File of = new File("resources/test/test_ontology.owl");
+
+	OWLClass a = factory.getOWLClass("A");
+	OWLClass b = factory.getOWLClass("B");
+	OWLClass c = factory.getOWLClass("C");
+	OWLClass e = factory.getOWLClass("E");
+	OWLClass f = factory.getOWLClass("F");
+	OWLObjectProperty r = factory.getOWLObjectProperty("R");
+	OWLObjectProperty s = factory.getOWLObjectProperty("S");
+
+	@Test
+	public void testIsSubClass() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		OntologyHandler handler = new OntologyHandler(ontology);
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+
+		List<OWLClassExpression> concepts = List.of(e, f, factory.getOWLObjectSomeValuesFrom(r, e),
+				factory.getOWLObjectSomeValuesFrom(r, f), factory.getOWLObjectAllValuesFrom(s, c),
+				factory.getOWLObjectIntersectionOf(a, factory.getOWLObjectSomeValuesFrom(s, b)),
+				factory.getOWLThing());
+		taxonomy.addAll(concepts);
+		assertEquals(concepts.size(), taxonomy.size());
+		taxonomy.classify();
+		// every lookup agrees with the reasoner
+		for (OWLClassExpression sub : concepts) {
+			for (OWLClassExpression sup : concepts) {
+				assertEquals(handler.checkIfSubClass(sub, sup), taxonomy.isSubClass(sub, sup));
+			}
+		}
+		assertEquals(1, taxonomy.getClassificationCount());
+
+		// unregistered expressions are left to the reasoner
+		assertNull(taxonomy.isSubClass(a, e));
+		// expressions registered later are left to the reasoner until they are
+		// classified
+		OWLClassExpression filler = factory.getOWLObjectIntersectionOf(e, c);
+		assertTrue(taxonomy.add(filler));
+		assertFalse(taxonomy.add(filler));
+		assertNull(taxonomy.isSubClass(filler, f));
+		assertEquals(1, taxonomy.getPendingCount());
+		taxonomy.classify();
+		assertEquals(0, taxonomy.getPendingCount());
+		assertTrue(taxonomy.isSubClass(filler, f));
+		assertFalse(taxonomy.isSubClass(f, filler));
+		assertEquals(2, taxonomy.getClassificationCount());
+		taxonomy.dispose();
+		handler.dispose();
+	}
+
+	@Test
+	public void testDomainAndDisjointness() throws OWLOntologyCreationException {
+		// domain(R) = A and E, F disjoint
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLObjectPropertyDomainAxiom(r, a));
+		manager.addAxiom(ontology, factory.getOWLDisjointClassesAxiom(e, f));
+		OntologyHandler handler = new OntologyHandler(ontology);
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+		assertTrue(taxonomy.isComplete());
+
+		OWLClassExpression ex_rest = factory.getOWLObjectSomeValuesFrom(r, b);
+		OWLClassExpression conjunction = factory.getOWLObjectIntersectionOf(e, f);
+		List<OWLClassExpression> concepts = List.of(a, b, c, ex_rest, conjunction);
+		taxonomy.addAll(concepts);
+		taxonomy.classify();
+		for (OWLClassExpression sub : concepts) {
+			for (OWLClassExpression sup : concepts) {
+				assertEquals(handler.checkIfSubClass(sub, sup), taxonomy.isSubClass(sub, sup));
+			}
+		}
+		assertTrue(taxonomy.isSubClass(ex_rest, a));
+		assertTrue(taxonomy.isSubClass(conjunction, c));
+		taxonomy.dispose();
+		handler.dispose();
+	}
+
+	@Test
+	public void testIncompleteTaxonomy() throws OWLOntologyCreationException {
+		// the key of A cannot be translated
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLHasKeyAxiom(a, r));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(e, f));
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+		assertFalse(taxonomy.isComplete());
+
+		OWLClassExpression ex_rest = factory.getOWLObjectSomeValuesFrom(r, b);
+		taxonomy.addAll(List.of(a, e, f, ex_rest));
+		taxonomy.classify();
+		// positive answers are kept, while negative ones are left to the reasoner
+		assertTrue(taxonomy.isSubClass(e, f));
+		assertNull(taxonomy.isSubClass(a, ex_rest));
+		assertNull(taxonomy.isSubClass(f, e));
+		// cardinality restrictions are translated
+		assertTrue(taxonomy.add(factory.getOWLObjectMinCardinality(2, r, b)));
+		taxonomy.dispose();
+	}
+
+	@Test
+	public void testBatchClassification() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.createOntology();
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(e, f));
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+		taxonomy.addAll(List.of(e, f));
+		taxonomy.classify();
+		OWLClassExpression ex_rest_e = factory.getOWLObjectSomeValuesFrom(r, e);
+		OWLClassExpression ex_rest_f = factory.getOWLObjectSomeValuesFrom(r, f);
+		taxonomy.addAll(List.of(ex_rest_e, ex_rest_f));
+		// pending expressions do not cause a classification on their own
+		assertNull(taxonomy.isSubClass(ex_rest_e, ex_rest_f));
+		assertTrue(taxonomy.isSubClass(e, f));
+		assertEquals(1, taxonomy.getClassificationCount());
+		// but a complete batch does
+		for (int i = taxonomy.getPendingCount(); i < RestrictionTaxonomy.BATCH_SIZE; i++) {
+			taxonomy.add(factory.getOWLObjectSomeValuesFrom(s, factory.getOWLClass("X" + i)));
+		}
+		assertTrue(taxonomy.isSubClass(ex_rest_e, ex_rest_f));
+		assertEquals(2, taxonomy.getClassificationCount());
+		assertEquals(0, taxonomy.getPendingCount());
+		taxonomy.dispose();
+	}
+
+	@Test
+	public void testNominals() throws OWLOntologyCreationException {
+		// E ⊑ ∃R.{i} with F(i) implies E ⊑ ∃R.F, which requires the ABox
+		OWLOntology ontology = manager.createOntology();
+		OWLNamedIndividual i = factory.getOWLNamedIndividual("i");
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(e, factory.getOWLObjectHasValue(r, i)));
+		manager.addAxiom(ontology, factory.getOWLClassAssertionAxiom(f, i));
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+		assertFalse(taxonomy.isComplete());
+
+		OWLClassExpression ex_rest = factory.getOWLObjectSomeValuesFrom(r, f);
+		taxonomy.addAll(List.of(e, ex_rest));
+		taxonomy.classify();
+		assertNull(taxonomy.isSubClass(e, ex_rest));
+		// expressions containing nominals are not registered
+		assertFalse(taxonomy.add(factory.getOWLObjectOneOf(i)));
+		taxonomy.dispose();
+	}
+
+	@Test
+	public void testHandlerLookups() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+		OntologyHandler handler = new OntologyHandler(ontology);
+		RestrictionTaxonomy taxonomy = new RestrictionTaxonomy(ontology, ReasonerBackend.HERMIT);
+		OWLClassExpression ex_rest_e = factory.getOWLObjectSomeValuesFrom(r, e);
+		OWLClassExpression ex_rest_f = factory.getOWLObjectSomeValuesFrom(r, f);
+		taxonomy.add(ex_rest_e);
+		taxonomy.add(ex_rest_f);
+		taxonomy.classify();
+		handler.setRestrictionTaxonomy(taxonomy);
+		// make sure that the checks are not answered structurally
+		handler.setStructuralChecks(false);
+
+		long calls = handler.getReasonerCallCount();
+		assertTrue(handler.checkIfSubClass(ex_rest_e, ex_rest_f));
+		assertFalse(handler.checkIfSubClass(ex_rest_f, ex_rest_e));
+		// answered by the taxonomy
+		assertEquals(calls, handler.getReasonerCallCount());
+		assertEquals(2, taxonomy.getLookupCount());
+
+		// the taxonomy is shared with worker handlers
+		OntologyHandler worker = handler.createWorkerHandler();
+		assertTrue(worker.getRestrictionTaxonomy() == taxonomy);
+		worker.dispose();
+		// and discarded when the ontology changes
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(f, e));
+		assertNull(handler.getRestrictionTaxonomy());
+		taxonomy.dispose();
+		handler.dispose();
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class RoleAssertionIndexTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+	File of = new File("resources/test/test_ontology.owl");
+	// roles in ontology
+	OWLObjectProperty r = factory.getOWLObjectProperty("R");
+	OWLObjectProperty s = factory.getOWLObjectProperty("S");
+	// individuals in ontology
+	OWLIndividual ind_a = factory.getOWLNamedIndividual("a");
+	OWLIndividual ind_b = factory.getOWLNamedIndividual("b");
+	OWLIndividual ind_c = factory.getOWLNamedIndividual("c");
+	OWLIndividual ind_d = factory.getOWLNamedIndividual("d");
+
+	@Test
+	public void testIndexAccess() {
+		// role assertions: R(a,b), R(a,c), S(a,d), R(b,d)
+		RoleAssertionIndex index = new OntologyHandler(of).getRoleAssertionIndex();
+		assertEquals(4, index.size());
+		assertEquals(3, index.getAssertionsWithSubject(ind_a).size());
+		assertEquals(Set.of(ind_b, ind_c), index.getObjects(ind_a, r));
+		assertEquals(Set.of(ind_d), index.getObjects(ind_a, s));
+		assertEquals(Set.of(ind_a), index.getSubjects(ind_d, s));
+		assertEquals(Set.of(ind_b), index.getSubjects(ind_d, r));
+		assertEquals(2, index.getAssertionsWithObject(ind_d).size());
+		assertTrue(index.getAssertionsWithSubject(ind_d).isEmpty());
+		assertTrue(index.getAssertionsWithObject(ind_a).isEmpty());
+	}
+
+	@Test
+	public void testIndexPatchedOnChange() {
+		try {
+			OWLOntology ontology = manager.loadOntologyFromOntologyDocument(of);
+			OntologyHandler ontoHandler = new OntologyHandler(ontology);
+			RoleAssertionIndex index = ontoHandler.getRoleAssertionIndex();
+
+			// add S(c,a)
+			OWLObjectPropertyAssertionAxiom sca = factory.getOWLObjectPropertyAssertionAxiom(s, ind_c, ind_a);
+			manager.addAxiom(ontology, sca);
+			assertEquals(5, index.size());
+			assertEquals(Set.of(sca), index.getAssertionsWithSubject(ind_c));
+			assertEquals(Set.of(ind_c), index.getSubjects(ind_a, s));
+
+			// remove R(b,d)
+			manager.removeAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(r, ind_b, ind_d));
+			assertEquals(4, index.size());
+			assertTrue(index.getAssertionsWithSubject(ind_b).isEmpty());
+			assertTrue(ontoHandler.checkIfRoleAssertionPresent(s, ind_c, factory.getOWLClass("A")));
+
+			// assertions of an individual are a snapshot, independent of its number of
+			// roles
+			Set<OWLObjectPropertyAssertionAxiom> of_c = index.getAssertionsWithSubject(ind_c);
+			Set<OWLObjectPropertyAssertionAxiom> of_a = index.getAssertionsWithSubject(ind_a);
+			Set<OWLObjectPropertyAssertionAxiom> s_of_c = index.getAssertionsWithSubject(ind_c, s);
+			Set<OWLObjectPropertyAssertionAxiom> s_of_b = index.getAssertionsWithObject(ind_b, s);
+			manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(s, ind_c, ind_b));
+			manager.addAxiom(ontology, factory.getOWLObjectPropertyAssertionAxiom(s, ind_a, ind_b));
+			assertEquals(1, of_c.size());
+			assertEquals(3, of_a.size());
+			assertEquals(2, index.getAssertionsWithSubject(ind_c).size());
+			// as well as the assertions of an individual and a role
+			assertEquals(Set.of(sca), s_of_c);
+			assertTrue(s_of_b.isEmpty());
+			assertEquals(2, index.getAssertionsWithSubject(ind_c, s).size());
+
+			// a rebuild does not affect previously returned assertions
+			index.rebuild();
+			assertEquals(6, index.size());
+			assertEquals(1, of_c.size());
+			assertEquals(2, index.getAssertionsWithObject(ind_b, s).size());
+
+			ontoHandler.dispose();
+		} catch (OWLOntologyCreationException e) {
+			e.printStackTrace();
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.ai.cre.ontology;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class StructuralSubsumptionCheckerTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+
+	OWLClass a = factory.getOWLClass("A");
+	OWLClass b = factory.getOWLClass("B");
+	OWLClass c = factory.getOWLClass("C");
+	OWLClass d = factory.getOWLClass("D");
+	OWLClass e = factory.getOWLClass("E");
+	OWLObjectProperty r = factory.getOWLObjectProperty("R");
+	OWLObjectProperty s = factory.getOWLObjectProperty("S");
+
+	private OWLOntology createOntology() throws OWLOntologyCreationException {
+		OWLOntology ontology = manager.createOntology();
+		// A ⊑ B ⊓ ∃R.C, B ⊑ D, E ≡ ∃S.A
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(a,
+				factory.getOWLObjectIntersectionOf(b, factory.getOWLObjectSomeValuesFrom(r, c))));
+		manager.addAxiom(ontology, factory.getOWLSubClassOfAxiom(b, d));
+		manager.addAxiom(ontology, factory.getOWLEquivalentClassesAxiom(e, factory.getOWLObjectSomeValuesFrom(s, a)));
+		return ontology;
+	}
+
+	@Test
+	public void testStructuralSubsumptions() throws OWLOntologyCreationException {
+		StructuralSubsumptionChecker checker = new StructuralSubsumptionChecker(createOntology());
+		OWLClassExpression c_and_d = factory.getOWLObjectIntersectionOf(c, d);
+
+		// C ⊑ C, C ⊑ TOP, BOTTOM ⊑ C, C ⊓ D ⊑ C
+		assertTrue(checker.isSubClass(c, c));
+		assertTrue(checker.isSubClass(c, factory.getOWLThing()));
+		assertTrue(checker.isSubClass(factory.getOWLNothing(), c));
+		assertTrue(checker.isSubClass(c_and_d, c));
+		assertFalse(checker.isSubClass(c, c_and_d));
+		// ∃R.(C ⊓ D) ⊑ ∃R.C, but not ∃S.(C ⊓ D) ⊑ ∃R.C
+		assertTrue(checker.isSubClass(factory.getOWLObjectSomeValuesFrom(r, c_and_d),
+				factory.getOWLObjectSomeValuesFrom(r, c)));
+		assertFalse(checker.isSubClass(factory.getOWLObjectSomeValuesFrom(s, c_and_d),
+				factory.getOWLObjectSomeValuesFrom(r, c)));
+		// ∀R.(C ⊓ D) ⊑ ∀R.D
+		assertTrue(checker.isSubClass(factory.getOWLObjectAllValuesFrom(r, c_and_d),
+				factory.getOWLObjectAllValuesFrom(r, d)));
+		// C ⊑ C ⊔ D
+		assertTrue(checker.isSubClass(c, factory.getOWLObjectUnionOf(c, d)));
+
+		// told subsumers: A ⊑ D (via B) and A ⊑ ∃R.C, E ⊑ ∃S.D
+		assertTrue(checker.isSubClass(a, d));
+		assertTrue(checker.isSubClass(a,
+				factory.getOWLObjectIntersectionOf(d, factory.getOWLObjectSomeValuesFrom(r, c))));
+		assertTrue(checker.isSubClass(e, factory.getOWLObjectSomeValuesFrom(s, d)));
+		assertTrue(checker.isSubClass(factory.getOWLObjectSomeValuesFrom(r, a),
+				factory.getOWLObjectSomeValuesFrom(r, b)));
+		assertFalse(checker.isSubClass(d, a));
+
+		assertTrue(checker.isEquivalent(c_and_d, factory.getOWLObjectIntersectionOf(d, c, factory.getOWLThing())));
+		assertEquals(12, checker.getProvenCount());
+	}
+
+	@Test
+	public void testHandlerAvoidsReasonerCalls() throws OWLOntologyCreationException {
+		OntologyHandler ontoHandler = new OntologyHandler(createOntology());
+		ontoHandler.setEntailmentCache(0, EntailmentCache.EvictionPolicy.LRU);
+
+		assertTrue(ontoHandler.checkIfSubClass(a, d));
+		assertTrue(ontoHandler.checkRoleConceptSubsumption(factory.getOWLObjectSomeValuesFrom(r, a),
+				factory.getOWLObjectSomeValuesFrom(r, b)));
+		assertEquals(0, ontoHandler.getReasonerCallCount());
+		assertEquals(2, ontoHandler.getStructuralChecker().getProvenCount());
+
+		// E ⊑ ∃S.∃R.C follows from told subsumers as well
+		assertTrue(ontoHandler.checkIfSubClass(e,
+				factory.getOWLObjectSomeValuesFrom(s, factory.getOWLObjectSomeValuesFrom(r, c))));
+		assertEquals(0, ontoHandler.getReasonerCallCount());
+
+		// undecided checks are passed to the reasoner
+		assertFalse(ontoHandler.checkIfSubClass(d, a));
+		assertEquals(1, ontoHandler.getReasonerCallCount());
+
+		// without structural checks, every check is passed to the reasoner
+		ontoHandler.setStructuralChecks(false);
+		assertTrue(ontoHandler.checkIfSubClass(a, d));
+		assertEquals(2, ontoHandler.getReasonerCallCount());
+		ontoHandler.dispose();
+	}
+
+}
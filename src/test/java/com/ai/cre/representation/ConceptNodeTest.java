@@ -0,0 +1,41 @@
+package com.ai.cre.representation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+public class ConceptNodeTest {
+	OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	OWLDataFactory factory = manager.getOWLDataFactory();
+
+	@Test
+	public void testGetDescendantConcepts() {
+		OWLClass a = factory.getOWLClass("A");
+		OWLClass b = factory.getOWLClass("B");
+		OWLClass c = factory.getOWLClass("C");
+		OWLClass d = factory.getOWLClass("D");
+		// A with subs B and C, which share the sub D
+		ConceptNode<OWLClass> node_a = new ConceptNode<>(a);
+		ConceptNode<OWLClass> node_b = new ConceptNode<>(b);
+		ConceptNode<OWLClass> node_c = new ConceptNode<>(c);
+		ConceptNode<OWLClass> node_d = new ConceptNode<>(d);
+		node_a.addRelationToSub(node_b);
+		node_a.addRelationToSub(node_c);
+		node_b.addRelationToSub(node_d);
+		node_c.addRelationToSub(node_d);
+
+		assertEquals(Set.of(b, c, d), node_a.getDescendantConcepts());
+		assertEquals(Set.of(d), node_b.getDescendantConcepts());
+		assertTrue(node_d.getDescendantConcepts().isEmpty());
+		// the set of a shared sub-node is computed once
+		assertTrue(node_b.getDescendantConcepts() == node_b.getDescendantConcepts());
+	}
+
+}